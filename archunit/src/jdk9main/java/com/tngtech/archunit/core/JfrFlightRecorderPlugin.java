@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.HasDescription;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Resolved via {@link PluginLoader}
+ */
+@SuppressWarnings("unused")
+@Internal
+public class JfrFlightRecorderPlugin implements FlightRecorderPlugin {
+    private static final Span NO_OP_SPAN = () -> {
+    };
+
+    @Override
+    public Span startImportPhase(String phaseName) {
+        ImportPhaseEvent event = new ImportPhaseEvent();
+        if (!event.isEnabled()) {
+            return NO_OP_SPAN;
+        }
+        event.phase = phaseName;
+        event.begin();
+        return event::commit;
+    }
+
+    @Override
+    public ClassResolutionSpan startClassResolution(String typeName) {
+        ClassResolutionEvent event = new ClassResolutionEvent();
+        if (!event.isEnabled()) {
+            return resolved -> {
+            };
+        }
+        event.typeName = typeName;
+        event.begin();
+        return resolved -> {
+            event.resolved = resolved;
+            event.commit();
+        };
+    }
+
+    @Override
+    public ClassResolutionBatchSpan startClassResolutionBatch(int numberOfTypes) {
+        ClassResolutionBatchEvent event = new ClassResolutionBatchEvent();
+        if (!event.isEnabled()) {
+            return numberOfResolvedTypes -> {
+            };
+        }
+        event.numberOfTypes = numberOfTypes;
+        event.begin();
+        return numberOfResolvedTypes -> {
+            event.numberOfResolvedTypes = numberOfResolvedTypes;
+            event.commit();
+        };
+    }
+
+    @Override
+    public RuleEvaluationSpan startRuleEvaluation(HasDescription rule) {
+        RuleEvaluationEvent event = new RuleEvaluationEvent();
+        if (!event.isEnabled()) {
+            return (numberOfObjects, numberOfViolations) -> {
+            };
+        }
+        event.rule = rule.getDescription();
+        event.begin();
+        return (numberOfObjects, numberOfViolations) -> {
+            event.numberOfObjects = numberOfObjects;
+            event.numberOfViolations = numberOfViolations;
+            event.commit();
+        };
+    }
+
+    @Override
+    public Span startViolationStoreAccess(String operation, HasDescription rule) {
+        ViolationStoreAccessEvent event = new ViolationStoreAccessEvent();
+        if (!event.isEnabled()) {
+            return NO_OP_SPAN;
+        }
+        event.operation = operation;
+        event.rule = rule.getDescription();
+        event.begin();
+        return event::commit;
+    }
+
+    @Name("com.tngtech.archunit.ImportPhase")
+    @Label("Import Phase")
+    @Description("One phase of importing classes via ClassFileImporter")
+    @Category({"ArchUnit", "Import"})
+    @StackTrace(false)
+    static class ImportPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tngtech.archunit.ClassResolution")
+    @Label("Class Resolution")
+    @Description("Resolution of a single class missing from the imported locations via the configured ClassResolver")
+    @Category({"ArchUnit", "Import"})
+    @StackTrace(false)
+    static class ClassResolutionEvent extends Event {
+        @Label("Type Name")
+        String typeName;
+
+        @Label("Resolved")
+        @Description("Whether the class could be resolved, otherwise it is imported as a stub")
+        boolean resolved;
+    }
+
+    @Name("com.tngtech.archunit.ClassResolutionBatch")
+    @Label("Class Resolution Batch")
+    @Description("Resolution of all classes missing after one iteration of the dependency resolution via the configured ClassResolver")
+    @Category({"ArchUnit", "Import"})
+    @StackTrace(false)
+    static class ClassResolutionBatchEvent extends Event {
+        @Label("Number of Types")
+        int numberOfTypes;
+
+        @Label("Number of Resolved Types")
+        int numberOfResolvedTypes;
+    }
+
+    @Name("com.tngtech.archunit.RuleEvaluation")
+    @Label("Rule Evaluation")
+    @Description("Evaluation of an ArchRule against imported classes")
+    @Category({"ArchUnit", "Rules"})
+    static class RuleEvaluationEvent extends Event {
+        @Label("Rule")
+        String rule;
+
+        @Label("Number of Objects")
+        @Description("The number of objects the rule has checked")
+        int numberOfObjects;
+
+        @Label("Number of Violations")
+        int numberOfViolations;
+    }
+
+    @Name("com.tngtech.archunit.ViolationStoreAccess")
+    @Label("Violation Store Access")
+    @Description("Reading or writing the stored violations of a FreezingArchRule")
+    @Category({"ArchUnit", "Rules"})
+    static class ViolationStoreAccessEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Rule")
+        String rule;
+    }
+}
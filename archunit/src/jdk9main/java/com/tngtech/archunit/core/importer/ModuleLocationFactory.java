@@ -21,6 +21,7 @@ import java.lang.module.ModuleFinder;
 import java.lang.module.ModuleReader;
 import java.lang.module.ModuleReference;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -168,6 +169,22 @@ class ModuleLocationFactory implements Location.Factory {
                             String.format("Entry %s parsed from JRT location %s could not be opened. This is most likely a bug.", entry, location))));
         }
 
+        // the module reader knows the size of the entry, so there is no need to copy a stream into a growing buffer
+        @Override
+        public byte[] readContent() {
+            return doWithModuleReader(moduleReference, moduleReader -> {
+                ByteBuffer buffer = moduleReader.read(entry.toString()).orElseThrow(() -> new IllegalStateException(
+                        String.format("Entry %s parsed from JRT location %s could not be read. This is most likely a bug.", entry, location)));
+                try {
+                    byte[] content = new byte[buffer.remaining()];
+                    buffer.get(content);
+                    return content;
+                } finally {
+                    moduleReader.release(buffer);
+                }
+            });
+        }
+
         @Override
         public URI getUri() {
             return location.asURI();
@@ -0,0 +1,97 @@
+package com.tngtech.archunit.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JfrFlightRecorderPluginTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void is_loaded_for_current_platform() {
+        assertThat(FlightRecorderPlugin.Loader.loadForCurrentPlatform()).isInstanceOf(JfrFlightRecorderPlugin.class);
+    }
+
+    @Test
+    public void records_import_phases_and_rule_evaluations() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.tngtech.archunit.ImportPhase");
+            recording.enable("com.tngtech.archunit.RuleEvaluation");
+            recording.start();
+
+            JavaClasses classes = new ClassFileImporter().importClasses(getClass(), Recording.class);
+            noClasses().should().haveSimpleName("Recording").as("no recordings").evaluate(classes);
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        assertThat(events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.tngtech.archunit.ImportPhase"))
+                .map(event -> event.getString("phase")))
+                .contains("PARSE_CLASS_FILES", "RESOLVE_DEPENDENCIES", "CREATE_REVERSE_DEPENDENCIES")
+                .doesNotContain("SCAN_LOCATIONS");
+
+        RecordedEvent ruleEvaluation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.tngtech.archunit.RuleEvaluation"))
+                .findFirst().get();
+        assertThat(ruleEvaluation.getString("rule")).isEqualTo("no recordings");
+        assertThat(ruleEvaluation.getInt("numberOfObjects")).isEqualTo(2);
+        assertThat(ruleEvaluation.getInt("numberOfViolations")).isEqualTo(1);
+    }
+
+    @Test
+    public void records_rule_evaluations_that_fail_with_an_exception() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.tngtech.archunit.RuleEvaluation");
+            recording.start();
+
+            JavaClasses classes = new ClassFileImporter().importClasses(getClass());
+            ArchRule rule = classes().should(new ArchCondition<JavaClass>("fail") {
+                @Override
+                public void check(JavaClass item, ConditionEvents events) {
+                    throw new IllegalStateException("condition failed");
+                }
+            }).as("failing rule");
+            assertThatThrownBy(() -> rule.evaluate(classes)).isInstanceOf(IllegalStateException.class);
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        assertThat(events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.tngtech.archunit.RuleEvaluation"))
+                .map(event -> event.getString("rule")))
+                .containsExactly("failing rule");
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = temporaryFolder.newFile("recording.jfr").toPath();
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.tngtech.archunit."))
+                .collect(toList());
+    }
+}
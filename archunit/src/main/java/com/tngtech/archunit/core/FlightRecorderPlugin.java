@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.HasDescription;
+
+import static com.tngtech.archunit.core.PluginLoader.JavaVersion.JAVA_11;
+
+/**
+ * Reports what ArchUnit is doing (e.g. importing classes or evaluating rules) as events to the Java Flight Recorder,
+ * so that a recording of a build shows ArchUnit's own spans next to CPU, allocation and GC events.
+ * On platforms without the Java Flight Recorder all spans are discarded right away.
+ * If the Java Flight Recorder is available, but the respective event is not enabled, starting a span costs
+ * as much as checking this, i.e. spans should always be started unconditionally.
+ */
+@Internal
+public interface FlightRecorderPlugin {
+    Span startImportPhase(String phaseName);
+
+    ClassResolutionSpan startClassResolution(String typeName);
+
+    ClassResolutionBatchSpan startClassResolutionBatch(int numberOfTypes);
+
+    RuleEvaluationSpan startRuleEvaluation(HasDescription rule);
+
+    Span startViolationStoreAccess(String operation, HasDescription rule);
+
+    @Internal
+    interface Span {
+        void end();
+    }
+
+    @Internal
+    interface ClassResolutionSpan {
+        void end(boolean resolved);
+    }
+
+    @Internal
+    interface ClassResolutionBatchSpan {
+        void end(int numberOfResolvedTypes);
+    }
+
+    @Internal
+    interface RuleEvaluationSpan {
+        void end(int numberOfObjects, int numberOfViolations);
+    }
+
+    @Internal
+    class Loader {
+        private static final PluginLoader<FlightRecorderPlugin> pluginLoader = PluginLoader
+                .forType(FlightRecorderPlugin.class)
+                .ifVersionGreaterOrEqualTo(JAVA_11).load("com.tngtech.archunit.core.JfrFlightRecorderPlugin")
+                .fallback(new NoOpFlightRecorderPlugin());
+
+        public static FlightRecorderPlugin loadForCurrentPlatform() {
+            return pluginLoader.load();
+        }
+
+        private static class NoOpFlightRecorderPlugin implements FlightRecorderPlugin {
+            private static final Span NO_OP_SPAN = () -> {
+            };
+
+            @Override
+            public Span startImportPhase(String phaseName) {
+                return NO_OP_SPAN;
+            }
+
+            @Override
+            public ClassResolutionSpan startClassResolution(String typeName) {
+                return resolved -> {
+                };
+            }
+
+            @Override
+            public ClassResolutionBatchSpan startClassResolutionBatch(int numberOfTypes) {
+                return numberOfResolvedTypes -> {
+                };
+            }
+
+            @Override
+            public RuleEvaluationSpan startRuleEvaluation(HasDescription rule) {
+                return (numberOfObjects, numberOfViolations) -> {
+                };
+            }
+
+            @Override
+            public Span startViolationStoreAccess(String operation, HasDescription rule) {
+                return NO_OP_SPAN;
+            }
+        }
+    }
+}
@@ -28,6 +28,8 @@ import com.tngtech.archunit.core.domain.AccessTarget.ConstructorCallTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.ConstructorReferenceTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.MethodCallTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.MethodReferenceTarget;
+import com.tngtech.archunit.core.domain.Source.ContentHash;
+import com.tngtech.archunit.core.domain.Source.Md5sum;
 import com.tngtech.archunit.core.importer.DomainBuilders;
 import com.tngtech.archunit.core.importer.DomainBuilders.CodeUnitAccessTargetBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilder;
@@ -63,9 +65,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 @Internal
 public class DomainObjectCreationContext {
     public static JavaClasses createJavaClasses(
-            Map<String, JavaClass> selectedClasses, Collection<JavaClass> allClasses, ImportContext importContext) {
+            Map<String, JavaClass> selectedClasses, Collection<JavaClass> allClasses, ImportContext importContext, Runnable onAllClassesCompleted) {
 
-        return JavaClasses.of(selectedClasses, allClasses, importContext);
+        return JavaClasses.of(selectedClasses, allClasses, importContext, onAllClassesCompleted);
     }
 
     public static JavaClass createJavaClass(JavaClassBuilder builder) {
@@ -172,6 +174,22 @@ public class DomainObjectCreationContext {
         return new Source(uri, sourceFileName, md5InClassSourcesEnabled);
     }
 
+    public static Source createSource(URI uri, Optional<String> sourceFileName, Md5sum md5sum, Optional<ContentHash> contentHash) {
+        return new Source(uri, sourceFileName, md5sum, contentHash);
+    }
+
+    public static Md5sum createMd5sum(Optional<byte[]> content) {
+        return Md5sum.of(content);
+    }
+
+    public static Md5sum createDisabledMd5sum() {
+        return Md5sum.DISABLED;
+    }
+
+    public static Optional<byte[]> readSourceContent(URI uri) {
+        return Source.read(uri);
+    }
+
     public static ReferencedClassObject createReferencedClassObject(JavaCodeUnit codeUnit, JavaClass javaClass, int lineNumber, boolean declaredInLambda) {
         return ReferencedClassObject.from(codeUnit, javaClass, lineNumber, declaredInLambda);
     }
@@ -68,4 +68,15 @@ public interface ImportContext {
     Set<InstanceofCheck> createInstanceofChecksFor(JavaCodeUnit codeUnit);
 
     JavaClass resolveClass(String fullyQualifiedClassName);
+
+    /**
+     * @return Whether the code of all classes of this import has been imported (compare {@code import.detail.code})
+     */
+    boolean isCodeImported();
+
+    /**
+     * @return Whether the instanceof checks of all classes of this import have been imported
+     *         (compare {@code import.detail.instanceofChecks})
+     */
+    boolean areInstanceofChecksImported();
 }
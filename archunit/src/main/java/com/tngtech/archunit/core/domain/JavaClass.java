@@ -646,6 +646,18 @@ public final class JavaClass
         return members.getInstanceofChecks();
     }
 
+    boolean isCodeImported() {
+        return members.allCodeUnitsMatch(JavaCodeUnit::isCodeImported);
+    }
+
+    boolean areInstanceofChecksImported() {
+        return members.allCodeUnitsMatch(JavaCodeUnit::areInstanceofChecksImported);
+    }
+
+    boolean areReferencedClassObjectsImported() {
+        return members.allCodeUnitsMatch(JavaCodeUnit::areReferencedClassObjectsImported);
+    }
+
     @PublicAPI(usage = ACCESS)
     public Set<ReferencedClassObject> getReferencedClassObjects() {
         return members.getReferencedClassObjects();
@@ -41,7 +41,7 @@ class JavaClassDependencies {
     private Supplier<Set<Dependency>> createDirectDependenciesFromClassSupplier() {
         return memoize(() ->
                 Streams.concat(
-                        dependenciesFromAccesses(javaClass.getAccessesFromSelf()),
+                        dependenciesFromAccessesFromSelf(),
                         inheritanceDependenciesFromSelf(),
                         fieldDependenciesFromSelf(),
                         returnTypeDependenciesFromSelf(),
@@ -59,8 +59,11 @@ class JavaClassDependencies {
         return directDependenciesFromClass.get();
     }
 
-    private Stream<Dependency> dependenciesFromAccesses(Set<JavaAccess<?>> accesses) {
-        return accesses.stream().flatMap(access -> Dependency.tryCreateFromAccess(access).stream());
+    private Stream<Dependency> dependenciesFromAccessesFromSelf() {
+        if (!javaClass.isCodeImported()) {
+            return Stream.empty();
+        }
+        return javaClass.getAccessesFromSelf().stream().flatMap(access -> Dependency.tryCreateFromAccess(access).stream());
     }
 
     private Stream<Dependency> inheritanceDependenciesFromSelf() {
@@ -178,11 +181,17 @@ class JavaClassDependencies {
     }
 
     private Stream<Dependency> instanceofCheckDependenciesFromSelf() {
+        if (!javaClass.areInstanceofChecksImported()) {
+            return Stream.empty();
+        }
         return javaClass.getInstanceofChecks().stream()
                 .flatMap(instanceofCheck -> Dependency.tryCreateFromInstanceofCheck(instanceofCheck).stream());
     }
 
     private Stream<Dependency> referencedClassObjectDependenciesFromSelf() {
+        if (!javaClass.areReferencedClassObjectsImported()) {
+            return Stream.empty();
+        }
         return javaClass.getReferencedClassObjects().stream()
                 .flatMap(referencedClassObject -> Dependency.tryCreateFromReferencedClassObject(referencedClassObject).stream());
     }
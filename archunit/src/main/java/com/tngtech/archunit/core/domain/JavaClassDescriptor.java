@@ -21,9 +21,6 @@ import java.util.Optional;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Strings;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -64,21 +61,7 @@ public interface JavaClassDescriptor {
 
     @Internal
     final class From {
-        private static final LoadingCache<String, JavaClassDescriptor> descriptorCache =
-                CacheBuilder.newBuilder().build(new CacheLoader<String, JavaClassDescriptor>() {
-                    @Override
-                    public JavaClassDescriptor load(String typeName) {
-                        if (primitiveClassesByNameOrDescriptor.containsKey(typeName)) {
-                            return new PrimitiveClassDescriptor(Type.getType(primitiveClassesByNameOrDescriptor.get(typeName)).getClassName());
-                        }
-                        if (isArray(typeName)) {
-                            // NOTE: ASM uses the canonical name for arrays (i.e. java.lang.Object[]), but we want the class name,
-                            //       i.e. [Ljava.lang.Object;
-                            return new ArrayClassDescriptor(ensureCorrectArrayTypeName(typeName));
-                        }
-                        return new ObjectClassDescriptor(typeName);
-                    }
-                });
+        private static final JavaClassDescriptorCache descriptorCache = new JavaClassDescriptorCache(From::createDescriptor);
         private static final ImmutableMap<String, Class<?>> primitiveClassesByName =
                 Maps.uniqueIndex(allPrimitiveTypes(), Class::getName);
         private static final ImmutableBiMap<String, Class<?>> primitiveClassesByDescriptor =
@@ -90,7 +73,48 @@ public interface JavaClassDescriptor {
                         .build();
 
         public static JavaClassDescriptor name(String typeName) {
-            return descriptorCache.getUnchecked(typeName);
+            return descriptorCache.get(typeName);
+        }
+
+        private static JavaClassDescriptor createDescriptor(String typeName) {
+            if (primitiveClassesByNameOrDescriptor.containsKey(typeName)) {
+                return new PrimitiveClassDescriptor(Type.getType(primitiveClassesByNameOrDescriptor.get(typeName)).getClassName());
+            }
+            if (isArray(typeName)) {
+                // NOTE: ASM uses the canonical name for arrays (i.e. java.lang.Object[]), but we want the class name,
+                //       i.e. [Ljava.lang.Object;
+                return new ArrayClassDescriptor(ensureCorrectArrayTypeName(typeName));
+            }
+            return new ObjectClassDescriptor(typeName);
+        }
+
+        /**
+         * Applies the currently configured size of the cache backing {@link #name(String)}
+         * and logs its statistics on debug level. Called by the importer at the start of every import.
+         */
+        public static void reconfigureCache() {
+            descriptorCache.reconfigure();
+        }
+
+        /**
+         * @return The total number of lookups via {@link #name(String)} that have been answered from the cache
+         */
+        public static long getCacheHitCount() {
+            return descriptorCache.getStats().hitCount();
+        }
+
+        /**
+         * @return The total number of lookups via {@link #name(String)} that have created a new descriptor
+         */
+        public static long getCacheMissCount() {
+            return descriptorCache.getStats().missCount();
+        }
+
+        /**
+         * @return The total number of descriptors that have been evicted from the cache backing {@link #name(String)}
+         */
+        public static long getCacheEvictionCount() {
+            return descriptorCache.getStats().evictionCount();
         }
 
         private static boolean isArray(String typeName) {
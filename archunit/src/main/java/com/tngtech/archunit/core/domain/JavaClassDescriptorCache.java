@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import com.google.common.cache.CacheStats;
+import com.tngtech.archunit.ArchConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of {@link JavaClassDescriptor JavaClassDescriptors} by type name, so the same type name
+ * does not need to be parsed again and again over the course of an import.<br>
+ * Descriptors are kept in two generations. Once the current generation holds {@value #MAX_SIZE_PROPERTY_NAME}
+ * descriptors, it replaces the previous generation, which is discarded. Descriptors found in the previous generation
+ * are moved back into the current generation, so frequently used descriptors survive. Thus, the cache never
+ * holds more than twice the configured size, while a hit is just a lookup in a {@link ConcurrentHashMap}.
+ * Setting the size to {@code 0} disables the cache. The configured size is applied again at the start of every import,
+ * so changes of the configuration take effect for subsequent imports.<br>
+ * Since descriptors are compared by value, evicting a descriptor that is still in use does no harm.
+ */
+class JavaClassDescriptorCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaClassDescriptorCache.class);
+
+    static final String MAX_SIZE_PROPERTY_NAME = "import.descriptorCache.maxSize";
+    private static final int DEFAULT_MAX_SIZE = 50_000;
+
+    private final IntSupplier configuredMaxSize;
+    private final Function<String, JavaClassDescriptor> loader;
+    private volatile int maxSize;
+    private volatile ConcurrentHashMap<String, JavaClassDescriptor> currentGeneration = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, JavaClassDescriptor> previousGeneration = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    JavaClassDescriptorCache(Function<String, JavaClassDescriptor> loader) {
+        this(JavaClassDescriptorCache::getConfiguredMaxSize, loader);
+    }
+
+    JavaClassDescriptorCache(int maxSize, Function<String, JavaClassDescriptor> loader) {
+        this(() -> maxSize, loader);
+    }
+
+    JavaClassDescriptorCache(IntSupplier configuredMaxSize, Function<String, JavaClassDescriptor> loader) {
+        this.configuredMaxSize = configuredMaxSize;
+        this.loader = loader;
+        this.maxSize = configuredMaxSize.getAsInt();
+    }
+
+    JavaClassDescriptor get(String typeName) {
+        JavaClassDescriptor result = currentGeneration.get(typeName);
+        if (result != null) {
+            hitCount.increment();
+            return result;
+        }
+
+        result = previousGeneration.get(typeName);
+        if (result != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+            result = loader.apply(typeName);
+        }
+        if (maxSize > 0) {
+            currentGeneration.put(typeName, result);
+            if (currentGeneration.size() >= maxSize) {
+                startNewGeneration();
+            }
+        }
+        return result;
+    }
+
+    private synchronized void startNewGeneration() {
+        if (currentGeneration.size() < maxSize) {
+            return;
+        }
+        evictionCount.add(previousGeneration.size());
+        previousGeneration = currentGeneration;
+        currentGeneration = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Logs the statistics so far and applies the currently configured maximum size.
+     * If the cache has been disabled, all cached descriptors are discarded.
+     */
+    synchronized void reconfigure() {
+        LOG.debug("Statistics of cached {}s: {}", JavaClassDescriptor.class.getSimpleName(), getStats());
+        maxSize = configuredMaxSize.getAsInt();
+        if (maxSize <= 0) {
+            evictionCount.add(size());
+            previousGeneration = new ConcurrentHashMap<>();
+            currentGeneration = new ConcurrentHashMap<>();
+        }
+    }
+
+    int size() {
+        return currentGeneration.size() + previousGeneration.size();
+    }
+
+    CacheStats getStats() {
+        long misses = missCount.sum();
+        return new CacheStats(hitCount.sum(), misses, misses, 0, 0, evictionCount.sum());
+    }
+
+    private static int getConfiguredMaxSize() {
+        String configuredMaxSize = ArchConfiguration.get().getPropertyOrDefault(MAX_SIZE_PROPERTY_NAME, String.valueOf(DEFAULT_MAX_SIZE));
+        try {
+            return Integer.parseInt(configuredMaxSize.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Couldn't parse {}={}, falling back to {}", MAX_SIZE_PROPERTY_NAME, configuredMaxSize, DEFAULT_MAX_SIZE);
+            return DEFAULT_MAX_SIZE;
+        }
+    }
+}
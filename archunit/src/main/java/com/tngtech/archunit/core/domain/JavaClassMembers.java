@@ -16,16 +16,21 @@
 package com.tngtech.archunit.core.domain;
 
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import com.tngtech.archunit.base.Suppliers;
 
 import static com.google.common.collect.Iterables.concat;
@@ -39,6 +44,11 @@ import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
 
 class JavaClassMembers {
+    /**
+     * Below this number of members, scanning them is cheaper than building and retaining a {@link MemberIndex}
+     */
+    private static final int MIN_NUMBER_OF_MEMBERS_TO_INDEX = 16;
+
     private final JavaClass owner;
     private final Set<JavaField> fields;
     private final Set<JavaCodeUnit> codeUnits;
@@ -54,6 +64,7 @@ class JavaClassMembers {
             .addAll(getAllMethods())
             .addAll(getAllConstructors())
             .build());
+    private final Supplier<MemberIndex> index;
 
     JavaClassMembers(JavaClass owner, Set<JavaField> fields, Set<JavaMethod> methods, Set<JavaConstructor> constructors, Optional<JavaStaticInitializer> staticInitializer) {
         this.owner = owner;
@@ -69,6 +80,7 @@ class JavaClassMembers {
                 .addAll(methods)
                 .addAll(constructors)
                 .build();
+        index = Suppliers.memoize(() -> new MemberIndex(this.fields, this.codeUnits));
         allFields = Suppliers.memoize(() -> {
             ImmutableSet.Builder<JavaField> result = ImmutableSet.builder();
             for (JavaClass javaClass : concat(owner.getClassHierarchy(), owner.getAllRawInterfaces())) {
@@ -117,6 +129,9 @@ class JavaClassMembers {
     }
 
     Optional<JavaField> tryGetField(String name) {
+        if (fields.size() >= MIN_NUMBER_OF_MEMBERS_TO_INDEX) {
+            return Optional.ofNullable(index.get().getField(name));
+        }
         for (JavaField field : fields) {
             if (name.equals(field.getName())) {
                 return Optional.of(field);
@@ -129,6 +144,10 @@ class JavaClassMembers {
         return codeUnits;
     }
 
+    boolean allCodeUnitsMatch(Predicate<JavaCodeUnit> predicate) {
+        return codeUnits.stream().allMatch(predicate);
+    }
+
     JavaCodeUnit getCodeUnitWithParameterTypeNames(String name, List<String> parameters) {
         return findMatchingCodeUnit(codeUnits, name, parameters);
     }
@@ -305,7 +324,15 @@ class JavaClassMembers {
         }
     }
 
+    // the index covers all code units, so we only keep those contained in the passed codeUnits, which are thus of type T
+    @SuppressWarnings("unchecked")
     private <T extends JavaCodeUnit> Set<T> findCodeUnitsWithMatchingNameAndParameters(Set<T> codeUnits, String name, List<String> parameters) {
+        if (codeUnits.size() >= MIN_NUMBER_OF_MEMBERS_TO_INDEX) {
+            return index.get().getCodeUnits(name, parameters).stream()
+                    .filter(codeUnits::contains)
+                    .map(codeUnit -> (T) codeUnit)
+                    .collect(toSet());
+        }
         return codeUnits.stream()
                 .filter(codeUnit -> name.equals(codeUnit.getName()))
                 .filter(codeUnit -> parameters.equals(namesOf(codeUnit.getRawParameterTypes())))
@@ -336,6 +363,59 @@ class JavaClassMembers {
                     .compare(codeUnit1.getFullName(), codeUnit2.getFullName())
                     .result();
 
+    /**
+     * Indexes fields by name and code units by name and parameter type names. Note that neither is unique
+     * within a class file (e.g. bridge methods only differ from the bridged method by their return type).
+     */
+    private static class MemberIndex {
+        private final Map<String, JavaField> fieldsByName = new HashMap<>();
+        private final ListMultimap<Signature, JavaCodeUnit> codeUnitsBySignature = ArrayListMultimap.create();
+
+        MemberIndex(Set<JavaField> fields, Set<JavaCodeUnit> codeUnits) {
+            for (JavaField field : fields) {
+                fieldsByName.putIfAbsent(field.getName(), field);
+            }
+            for (JavaCodeUnit codeUnit : codeUnits) {
+                codeUnitsBySignature.put(new Signature(codeUnit.getName(), namesOf(codeUnit.getRawParameterTypes())), codeUnit);
+            }
+        }
+
+        JavaField getField(String name) {
+            return fieldsByName.get(name);
+        }
+
+        List<JavaCodeUnit> getCodeUnits(String name, List<String> parameterTypeNames) {
+            return codeUnitsBySignature.get(new Signature(name, parameterTypeNames));
+        }
+
+        private static class Signature {
+            private final String name;
+            private final List<String> parameterTypeNames;
+
+            Signature(String name, List<String> parameterTypeNames) {
+                this.name = name;
+                this.parameterTypeNames = parameterTypeNames;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * name.hashCode() + parameterTypeNames.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+                if (obj == null || getClass() != obj.getClass()) {
+                    return false;
+                }
+                Signature other = (Signature) obj;
+                return name.equals(other.name) && parameterTypeNames.equals(other.parameterTypeNames);
+            }
+        }
+    }
+
     static JavaClassMembers empty(JavaClass owner) {
         return new JavaClassMembers(
                 owner,
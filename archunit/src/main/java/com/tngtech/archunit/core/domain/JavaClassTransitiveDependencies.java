@@ -15,7 +15,10 @@
  */
 package com.tngtech.archunit.core.domain;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
@@ -26,22 +29,30 @@ class JavaClassTransitiveDependencies {
 
     static Set<Dependency> findTransitiveDependenciesFrom(JavaClass javaClass) {
         ImmutableSet.Builder<Dependency> transitiveDependencies = ImmutableSet.builder();
-        Set<JavaClass> analyzedClasses = new HashSet<>();  // to avoid infinite recursion for cyclic dependencies
-        addTransitiveDependenciesFrom(javaClass, transitiveDependencies, analyzedClasses);
+        Set<JavaClass> analyzedClasses = new HashSet<>();  // to avoid infinite loops for cyclic dependencies
+        Deque<Iterator<JavaClass>> targetClassesToRecurse = new ArrayDeque<>();  // instead of recursion, which could overflow the stack for deep dependency chains
+        targetClassesToRecurse.push(addDirectDependenciesFrom(javaClass, transitiveDependencies, analyzedClasses));
+        while (!targetClassesToRecurse.isEmpty()) {
+            Iterator<JavaClass> targetClasses = targetClassesToRecurse.peek();
+            if (!targetClasses.hasNext()) {
+                targetClassesToRecurse.pop();
+                continue;
+            }
+            JavaClass targetClass = targetClasses.next();
+            if (!analyzedClasses.contains(targetClass)) {
+                targetClassesToRecurse.push(addDirectDependenciesFrom(targetClass, transitiveDependencies, analyzedClasses));
+            }
+        }
         return transitiveDependencies.build();
     }
 
-    private static void addTransitiveDependenciesFrom(JavaClass javaClass, ImmutableSet.Builder<Dependency> transitiveDependencies, Set<JavaClass> analyzedClasses) {
+    private static Iterator<JavaClass> addDirectDependenciesFrom(JavaClass javaClass, ImmutableSet.Builder<Dependency> transitiveDependencies, Set<JavaClass> analyzedClasses) {
         analyzedClasses.add(javaClass);  // currently being analyzed
         Set<JavaClass> targetClassesToRecurse = new HashSet<>();
         for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
             transitiveDependencies.add(dependency);
             targetClassesToRecurse.add(dependency.getTargetClass().getBaseComponentType());
         }
-        for (JavaClass targetClass : targetClassesToRecurse) {
-            if (!analyzedClasses.contains(targetClass)) {
-                addTransitiveDependenciesFrom(targetClass, transitiveDependencies, analyzedClasses);
-            }
-        }
+        return targetClassesToRecurse.iterator();
     }
 }
@@ -15,10 +15,13 @@
  */
 package com.tngtech.archunit.core.domain;
 
+import java.lang.ref.SoftReference;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
@@ -38,6 +41,8 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
     private final ImmutableMap<String, JavaClass> classes;
     private final JavaPackage defaultPackage;
     private final String description;
+    // held softly, since the closure can become large (compare getTransitiveDependenciesFrom(..)) and can always be computed again
+    private SoftReference<TransitiveDependencyClosure> transitiveDependencyClosure = new SoftReference<>(null);
 
     private JavaClasses(JavaPackage defaultPackage, Map<String, JavaClass> classes) {
         this(defaultPackage, classes, "classes");
@@ -151,6 +156,36 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
         return defaultPackage;
     }
 
+    /**
+     * Returns the same dependencies as {@link JavaClass#getTransitiveDependenciesFromSelf()}, but computes the transitive closure
+     * of the dependencies of all contained classes (and all classes they transitively depend on) only once.
+     * Thus, querying the transitive dependencies of many classes is considerably faster than
+     * calling {@link JavaClass#getTransitiveDependenciesFromSelf()} for each of them, which traverses the class graph again for every class.
+     * The closure is computed on the first call and retained by this {@link JavaClasses} object as long as memory permits,
+     * i.e. it is only referenced softly and computed again if the garbage collector has cleared it in the meantime.<br>
+     * Besides the class graph itself, the closure needs one bit for every pair of strongly connected components
+     * (i.e. maximal sets of classes that all transitively depend on each other) where one component depends on the other.
+     * In the worst case this amounts to about C<sup>2</sup>/16 bytes for C components, e.g. about 6 MB for 10,000 classes
+     * without any dependency cycles, or about 600 MB for 100,000 classes.
+     *
+     * @param javaClass a class contained in these classes or any class they transitively depend on
+     * @return all transitive dependencies (including direct dependencies) from the given class
+     * @see JavaClass#getTransitiveDependenciesFromSelf()
+     */
+    @PublicAPI(usage = ACCESS)
+    public Set<Dependency> getTransitiveDependenciesFrom(JavaClass javaClass) {
+        return getTransitiveDependencyClosure().getTransitiveDependenciesFrom(javaClass);
+    }
+
+    private synchronized TransitiveDependencyClosure getTransitiveDependencyClosure() {
+        TransitiveDependencyClosure result = transitiveDependencyClosure.get();
+        if (result == null) {
+            result = TransitiveDependencyClosure.of(classes.values());
+            transitiveDependencyClosure = new SoftReference<>(result);
+        }
+        return result;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(classes.keySet(), description);
@@ -194,14 +229,20 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
     }
 
     static JavaClasses of(
-            Map<String, JavaClass> selectedClasses, Collection<JavaClass> allClasses, ImportContext importContext) {
+            Map<String, JavaClass> selectedClasses, Collection<JavaClass> allClasses, ImportContext importContext, Runnable onAllClassesCompleted) {
 
-        ReverseDependencies.Creation reverseDependenciesCreation = new ReverseDependencies.Creation();
         JavaPackage defaultPackage = JavaPackage.from(allClasses);
+        Map<JavaClass, JavaClassDependencies> dependenciesByClass = new IdentityHashMap<>(allClasses.size());
         for (JavaClass clazz : allClasses) {
             setPackage(clazz, defaultPackage);
-            JavaClassDependencies classDependencies = clazz.completeFrom(importContext);
-            reverseDependenciesCreation.registerDependenciesOf(clazz, classDependencies);
+            dependenciesByClass.put(clazz, clazz.completeFrom(importContext));
+        }
+        onAllClassesCompleted.run();
+
+        ReverseDependencies.Creation reverseDependenciesCreation = new ReverseDependencies.Creation(
+                importContext.isCodeImported(), importContext.areInstanceofChecksImported());
+        for (JavaClass clazz : allClasses) {
+            reverseDependenciesCreation.registerDependenciesOf(clazz, dependenciesByClass.get(clazz));
         }
         reverseDependenciesCreation.finish(allClasses);
         return new JavaClasses(defaultPackage, selectedClasses);
@@ -55,6 +55,12 @@ import static java.util.stream.Collectors.toSet;
  * </ul>
  * in particular every place, where Java code with behavior, like calling other methods or accessing fields, can
  * be defined.
+ * <br><br>
+ * Note that if the import was configured to skip the code of code units (i.e. {@code import.detail.code=false}),
+ * all methods that report details of the code (like {@link #getAccessesFromSelf()} or {@link #getTryCatchBlocks()})
+ * will throw an {@link IllegalStateException}, because this information is unavailable. The same holds for
+ * try-catch-blocks, instanceof checks and referenced class objects, if only their import was skipped
+ * (e.g. {@code import.detail.tryCatchBlocks=false}).
  */
 @PublicAPI(usage = ACCESS)
 public abstract class JavaCodeUnit
@@ -74,9 +80,17 @@ public abstract class JavaCodeUnit
     private Set<TryCatchBlock> tryCatchBlocks = Collections.emptySet();
     private Set<ReferencedClassObject> referencedClassObjects;
     private Set<InstanceofCheck> instanceofChecks;
+    private final boolean codeImported;
+    private final boolean tryCatchBlocksImported;
+    private final boolean instanceofChecksImported;
+    private final boolean referencedClassObjectsImported;
 
     JavaCodeUnit(JavaCodeUnitBuilder<?, ?> builder) {
         super(builder);
+        codeImported = builder.isCodeImported();
+        tryCatchBlocksImported = builder.areTryCatchBlocksImported();
+        instanceofChecksImported = builder.areInstanceofChecksImported();
+        referencedClassObjectsImported = builder.areReferencedClassObjectsImported();
         typeParameters = builder.getTypeParameters(this);
         returnType = new ReturnType(this, builder);
         parameters = new Parameters(this, builder);
@@ -189,7 +203,7 @@ public abstract class JavaCodeUnit
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccesses() {
-        return fieldAccesses;
+        return requireImportedCode(fieldAccesses);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -197,37 +211,37 @@ public abstract class JavaCodeUnit
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
-        return methodCalls;
+        return requireImportedCode(methodCalls);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
-        return constructorCalls;
+        return requireImportedCode(constructorCalls);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodReference> getMethodReferencesFromSelf() {
-        return methodReferences;
+        return requireImportedCode(methodReferences);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorReference> getConstructorReferencesFromSelf() {
-        return constructorReferences;
+        return requireImportedCode(constructorReferences);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<ReferencedClassObject> getReferencedClassObjects() {
-        return referencedClassObjects;
+        return requireImported(referencedClassObjects, referencedClassObjectsImported, "referencedClassObjects");
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<InstanceofCheck> getInstanceofChecks() {
-        return instanceofChecks;
+        return requireImported(instanceofChecks, instanceofChecksImported, "instanceofChecks");
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<TryCatchBlock> getTryCatchBlocks() {
-        return tryCatchBlocks;
+        return requireImported(tryCatchBlocks, tryCatchBlocksImported, "tryCatchBlocks");
     }
 
     @PublicAPI(usage = ACCESS)
@@ -287,6 +301,36 @@ public abstract class JavaCodeUnit
         return parameters.getAnnotations();
     }
 
+    boolean isCodeImported() {
+        return codeImported;
+    }
+
+    boolean areInstanceofChecksImported() {
+        return instanceofChecksImported;
+    }
+
+    boolean areReferencedClassObjectsImported() {
+        return referencedClassObjectsImported;
+    }
+
+    private <T> Set<T> requireImportedCode(Set<T> codeDetails) {
+        return requireImported(codeDetails, codeImported, "code");
+    }
+
+    private <T> Set<T> requireImported(Set<T> codeDetails, boolean imported, String importDetail) {
+        if (!codeImported) {
+            throw new IllegalStateException(String.format(
+                    "Details of the code of %s are unavailable, because the code was skipped during import (import.detail.code=false)",
+                    getFullName()));
+        }
+        if (!imported) {
+            throw new IllegalStateException(String.format(
+                    "%s of %s are unavailable, because they were skipped during import (import.detail.%s=false)",
+                    importDetail, getFullName(), importDetail));
+        }
+        return codeDetails;
+    }
+
     void completeFrom(ImportContext context) {
         Set<TryCatchBlockBuilder> tryCatchBlockBuilders = context.createTryCatchBlockBuilders(this);
         fieldAccesses = context.createFieldAccessesFor(this, tryCatchBlockBuilders);
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.Maps;
+import com.tngtech.archunit.ArchConfiguration;
+
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Looks up the accesses to members in arrays built once at the end of the import, if configured via
+ * <pre><code>
+ * import.indexReverseAccesses=true
+ * </code></pre>
+ * Every field, method and constructor of the imported classes is assigned a dense id (one id space per kind of member).
+ * The targets of all accesses are resolved once in parallel, and the accesses are then sorted by the id of their resolved target,
+ * so all accesses to one member form one contiguous slice of an array. Looking up the accesses to a member thus
+ * neither walks the class hierarchy nor needs to synchronize, like the {@link com.google.common.cache.LoadingCache LoadingCaches}
+ * of {@link ReverseDependencies} do on the first lookup of every member.<br>
+ * On the other hand the targets of all accesses are resolved up front, even if the accesses to members are never queried,
+ * which is why the index is disabled by default.
+ */
+final class ReverseAccessIndex implements ReverseDependencies.AccessesToMembers {
+    static final String INDEX_REVERSE_ACCESSES_PROPERTY_NAME = "import.indexReverseAccesses";
+
+    private final Map<JavaMember, Integer> memberIds;
+    private final Slices<JavaFieldAccess> accessesToFields;
+    private final Slices<JavaMethodCall> callsToMethods;
+    private final Slices<JavaMethodReference> referencesToMethods;
+    private final Slices<JavaConstructorCall> callsToConstructors;
+    private final Slices<JavaConstructorReference> referencesToConstructors;
+
+    private ReverseAccessIndex(Iterable<JavaClass> allClasses, Collection<JavaClass> classesWithImportedCode) {
+        memberIds = Maps.newIdentityHashMap();
+        int numberOfFields = assignIds(allClasses, JavaClass::getFields);
+        int numberOfMethods = assignIds(allClasses, JavaClass::getMethods);
+        int numberOfConstructors = assignIds(allClasses, JavaClass::getConstructors);
+        accessesToFields = index(classesWithImportedCode, JavaClass::getFieldAccessesFromSelf, numberOfFields);
+        callsToMethods = index(classesWithImportedCode, JavaClass::getMethodCallsFromSelf, numberOfMethods);
+        referencesToMethods = index(classesWithImportedCode, JavaClass::getMethodReferencesFromSelf, numberOfMethods);
+        callsToConstructors = index(classesWithImportedCode, JavaClass::getConstructorCallsFromSelf, numberOfConstructors);
+        referencesToConstructors = index(classesWithImportedCode, JavaClass::getConstructorReferencesFromSelf, numberOfConstructors);
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(ArchConfiguration.get().getPropertyOrDefault(INDEX_REVERSE_ACCESSES_PROPERTY_NAME, "false").trim());
+    }
+
+    static ReverseAccessIndex of(Iterable<JavaClass> allClasses, Collection<JavaClass> classesWithImportedCode) {
+        return new ReverseAccessIndex(allClasses, classesWithImportedCode);
+    }
+
+    private int assignIds(Iterable<JavaClass> classes, Function<JavaClass, Set<? extends JavaMember>> getMembers) {
+        int nextId = 0;
+        for (JavaClass clazz : classes) {
+            for (JavaMember member : getMembers.apply(clazz)) {
+                memberIds.put(member, nextId++);
+            }
+        }
+        return nextId;
+    }
+
+    private <ACCESS extends JavaAccess<?>> Slices<ACCESS> index(
+            Collection<JavaClass> classes, Function<JavaClass, Set<ACCESS>> getAccessesFromSelf, int numberOfTargets) {
+
+        List<ACCESS> accesses = classes.stream().flatMap(clazz -> getAccessesFromSelf.apply(clazz).stream()).collect(toList());
+        int[] targetIds = IntStream.range(0, accesses.size()).parallel()
+                .map(i -> idOfResolvedTarget(accesses.get(i)))
+                .toArray();
+        return Slices.sort(accesses, targetIds, numberOfTargets);
+    }
+
+    private int idOfResolvedTarget(JavaAccess<?> access) {
+        Optional<? extends JavaMember> target = access.getTarget().resolveMember();
+        return target.isPresent() ? idOf(target.get()) : -1;
+    }
+
+    private int idOf(JavaMember member) {
+        Integer id = memberIds.get(member);
+        return id != null ? id : -1;
+    }
+
+    @Override
+    public Set<JavaFieldAccess> getAccessesTo(JavaField field) {
+        return accessesToFields.get(idOf(field));
+    }
+
+    @Override
+    public Set<JavaMethodCall> getCallsTo(JavaMethod method) {
+        return callsToMethods.get(idOf(method));
+    }
+
+    @Override
+    public Set<JavaMethodReference> getReferencesTo(JavaMethod method) {
+        return referencesToMethods.get(idOf(method));
+    }
+
+    @Override
+    public Set<JavaConstructorCall> getCallsTo(JavaConstructor constructor) {
+        return callsToConstructors.get(idOf(constructor));
+    }
+
+    @Override
+    public Set<JavaConstructorReference> getReferencesTo(JavaConstructor constructor) {
+        return referencesToConstructors.get(idOf(constructor));
+    }
+
+    /**
+     * All accesses sorted by the id of their target, where the accesses to the target with id {@code i}
+     * are located between {@code offsets[i]} (inclusive) and {@code offsets[i + 1]} (exclusive).
+     */
+    private static final class Slices<ACCESS> {
+        private final Object[] accesses;
+        private final int[] offsets;
+
+        private Slices(Object[] accesses, int[] offsets) {
+            this.accesses = accesses;
+            this.offsets = offsets;
+        }
+
+        Set<ACCESS> get(int targetId) {
+            if (targetId < 0 || offsets[targetId] == offsets[targetId + 1]) {
+                return emptySet();
+            }
+            return new Slice<>(accesses, offsets[targetId], offsets[targetId + 1]);
+        }
+
+        // counting sort, which keeps the accesses to the same target in their original order
+        static <ACCESS> Slices<ACCESS> sort(List<ACCESS> accesses, int[] targetIds, int numberOfTargets) {
+            int[] offsets = new int[numberOfTargets + 1];
+            for (int targetId : targetIds) {
+                if (targetId >= 0) {
+                    offsets[targetId + 1]++;
+                }
+            }
+            for (int i = 0; i < numberOfTargets; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            Object[] sorted = new Object[offsets[numberOfTargets]];
+            int[] nextIndex = Arrays.copyOf(offsets, numberOfTargets);
+            for (int i = 0; i < targetIds.length; i++) {
+                if (targetIds[i] >= 0) {
+                    sorted[nextIndex[targetIds[i]]++] = accesses.get(i);
+                }
+            }
+            return new Slices<>(sorted, offsets);
+        }
+    }
+
+    /**
+     * An unmodifiable view of a range of an array of distinct elements.
+     */
+    private static final class Slice<T> extends AbstractSet<T> {
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+
+        private Slice(Object[] elements, int from, int to) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next = from;
+
+                @Override
+                public boolean hasNext() {
+                    return next < to;
+                }
+
+                // the slices of one array only ever contain elements of the same type, thus the cast is safe
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) elements[next++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -30,13 +30,11 @@ import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.tngtech.archunit.base.Suppliers;
 
+import static java.util.Collections.emptySet;
+
 final class ReverseDependencies {
 
-    private final LoadingCache<JavaField, Set<JavaFieldAccess>> accessToFieldCache;
-    private final LoadingCache<JavaMethod, Set<JavaMethodCall>> callToMethodCache;
-    private final LoadingCache<JavaMethod, Set<JavaMethodReference>> referenceToMethodCache;
-    private final LoadingCache<JavaConstructor, Set<JavaConstructorCall>> callToConstructorCache;
-    private final LoadingCache<JavaConstructor, Set<JavaConstructorReference>> referenceToConstructorCache;
+    private final AccessesToMembers accessesToMembers;
     private final SetMultimap<JavaClass, JavaField> fieldTypeDependencies;
     private final SetMultimap<JavaClass, JavaMethod> methodParameterTypeDependencies;
     private final SetMultimap<JavaClass, JavaMethod> methodReturnTypeDependencies;
@@ -47,13 +45,11 @@ final class ReverseDependencies {
     private final SetMultimap<JavaClass, JavaAnnotation<?>> annotationParameterTypeDependencies;
     private final SetMultimap<JavaClass, InstanceofCheck> instanceofCheckDependencies;
     private final Supplier<SetMultimap<JavaClass, Dependency>> directDependenciesToClass;
+    private final boolean codeImported;
+    private final boolean instanceofChecksImported;
 
-    private ReverseDependencies(ReverseDependencies.Creation creation) {
-        accessToFieldCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.fieldAccessDependencies.build()));
-        callToMethodCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.methodCallDependencies.build()));
-        referenceToMethodCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.methodReferenceDependencies.build()));
-        callToConstructorCache = CacheBuilder.newBuilder().build(new ConstructorAccessLoader<>(creation.constructorCallDependencies.build()));
-        referenceToConstructorCache = CacheBuilder.newBuilder().build(new ConstructorAccessLoader<>(creation.constructorReferenceDependencies.build()));
+    private ReverseDependencies(ReverseDependencies.Creation creation, AccessesToMembers accessesToMembers) {
+        this.accessesToMembers = accessesToMembers;
         this.fieldTypeDependencies = creation.fieldTypeDependencies.build();
         this.methodParameterTypeDependencies = creation.methodParameterTypeDependencies.build();
         this.methodReturnTypeDependencies = creation.methodReturnTypeDependencies.build();
@@ -64,6 +60,8 @@ final class ReverseDependencies {
         this.annotationParameterTypeDependencies = creation.annotationParameterTypeDependencies.build();
         this.instanceofCheckDependencies = creation.instanceofCheckDependencies.build();
         this.directDependenciesToClass = createDirectDependenciesToClassSupplier(creation.allDependencies);
+        this.codeImported = creation.codeImported;
+        this.instanceofChecksImported = creation.instanceofChecksImported;
     }
 
     private static Supplier<SetMultimap<JavaClass, Dependency>> createDirectDependenciesToClassSupplier(List<JavaClassDependencies> allDependencies) {
@@ -79,23 +77,23 @@ final class ReverseDependencies {
     }
 
     Set<JavaFieldAccess> getAccessesTo(JavaField field) {
-        return accessToFieldCache.getUnchecked(field);
+        return requireImportedCode(field, accessesToMembers.getAccessesTo(field));
     }
 
     Set<JavaMethodCall> getCallsTo(JavaMethod method) {
-        return callToMethodCache.getUnchecked(method);
+        return requireImportedCode(method, accessesToMembers.getCallsTo(method));
     }
 
     Set<JavaMethodReference> getReferencesTo(JavaMethod method) {
-        return referenceToMethodCache.getUnchecked(method);
+        return requireImportedCode(method, accessesToMembers.getReferencesTo(method));
     }
 
     Set<JavaConstructorCall> getCallsTo(JavaConstructor constructor) {
-        return callToConstructorCache.getUnchecked(constructor);
+        return requireImportedCode(constructor, accessesToMembers.getCallsTo(constructor));
     }
 
     Set<JavaConstructorReference> getReferencesTo(JavaConstructor constructor) {
-        return referenceToConstructorCache.getUnchecked(constructor);
+        return requireImportedCode(constructor, accessesToMembers.getReferencesTo(constructor));
     }
 
     Set<JavaField> getFieldsWithTypeOf(JavaClass clazz) {
@@ -131,6 +129,11 @@ final class ReverseDependencies {
     }
 
     Set<InstanceofCheck> getInstanceofChecksWithTypeOf(JavaClass clazz) {
+        // the instanceof checks with this type are declared by other classes, thus only the import as a whole can tell if they are complete
+        if (!instanceofChecksImported) {
+            throw new IllegalStateException(
+                    "Instanceof checks with type " + clazz.getName() + " are unavailable, because they were skipped during import (import.detail.code=false or import.detail.instanceofChecks=false)");
+        }
         return instanceofCheckDependencies.get(clazz);
     }
 
@@ -138,7 +141,16 @@ final class ReverseDependencies {
         return directDependenciesToClass.get().get(clazz);
     }
 
-    static final ReverseDependencies EMPTY = new ReverseDependencies(new Creation());
+    // the accesses to a member are declared by other classes, thus only the import as a whole can tell if they are complete
+    private <T> Set<T> requireImportedCode(JavaMember member, Set<T> codeDetails) {
+        if (!codeImported) {
+            throw new IllegalStateException(
+                    "Accesses to " + member.getFullName() + " are unavailable, because the code was skipped during import (import.detail.code=false)");
+        }
+        return codeDetails;
+    }
+
+    static final ReverseDependencies EMPTY = new Creation(true, true, false).create(emptySet());
 
     static class Creation {
         private final ImmutableSetMultimap.Builder<JavaClass, JavaFieldAccess> fieldAccessDependencies = ImmutableSetMultimap.builder();
@@ -156,18 +168,44 @@ final class ReverseDependencies {
         private final ImmutableSetMultimap.Builder<JavaClass, JavaAnnotation<?>> annotationParameterTypeDependencies = ImmutableSetMultimap.builder();
         private final ImmutableSetMultimap.Builder<JavaClass, InstanceofCheck> instanceofCheckDependencies = ImmutableSetMultimap.builder();
         private final List<JavaClassDependencies> allDependencies = new ArrayList<>();
+        private final List<JavaClass> classesWithImportedCode = new ArrayList<>();
+        private final boolean codeImported;
+        private final boolean instanceofChecksImported;
+        private final boolean indexAccesses;
+
+        /**
+         * @param codeImported Whether the code of all classes of the import has been imported
+         * @param instanceofChecksImported Whether the instanceof checks of all classes of the import have been imported
+         */
+        Creation(boolean codeImported, boolean instanceofChecksImported) {
+            this(codeImported, instanceofChecksImported, ReverseAccessIndex.isEnabled());
+        }
+
+        private Creation(boolean codeImported, boolean instanceofChecksImported, boolean indexAccesses) {
+            this.codeImported = codeImported;
+            this.instanceofChecksImported = instanceofChecksImported;
+            this.indexAccesses = indexAccesses;
+        }
 
         public void registerDependenciesOf(JavaClass clazz, JavaClassDependencies classDependencies) {
-            registerAccesses(clazz);
+            if (codeImported) {
+                registerAccesses(clazz);
+            }
+            if (instanceofChecksImported) {
+                registerInstanceofChecks(clazz);
+            }
             registerFields(clazz);
             registerMethods(clazz);
             registerConstructors(clazz);
             registerAnnotations(clazz);
-            registerStaticInitializer(clazz);
             allDependencies.add(classDependencies);
         }
 
         private void registerAccesses(JavaClass clazz) {
+            if (indexAccesses) {
+                classesWithImportedCode.add(clazz);
+                return;
+            }
             for (JavaFieldAccess access : clazz.getFieldAccessesFromSelf()) {
                 fieldAccessDependencies.put(access.getTargetOwner(), access);
             }
@@ -200,9 +238,6 @@ final class ReverseDependencies {
                 for (ThrowsDeclaration<JavaMethod> throwsDeclaration : method.getThrowsClause()) {
                     methodsThrowsDeclarationDependencies.put(throwsDeclaration.getRawType(), throwsDeclaration);
                 }
-                for (InstanceofCheck instanceofCheck : method.getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
             }
         }
 
@@ -214,9 +249,6 @@ final class ReverseDependencies {
                 for (ThrowsDeclaration<JavaConstructor> throwsDeclaration : constructor.getThrowsClause()) {
                     constructorThrowsDeclarationDependencies.put(throwsDeclaration.getRawType(), throwsDeclaration);
                 }
-                for (InstanceofCheck instanceofCheck : constructor.getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
             }
         }
 
@@ -251,20 +283,81 @@ final class ReverseDependencies {
             return result;
         }
 
-        private void registerStaticInitializer(JavaClass clazz) {
-            if (clazz.getStaticInitializer().isPresent()) {
-                for (InstanceofCheck instanceofCheck : clazz.getStaticInitializer().get().getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
+        private void registerInstanceofChecks(JavaClass clazz) {
+            for (InstanceofCheck instanceofCheck : clazz.getInstanceofChecks()) {
+                instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
             }
         }
 
         void finish(Iterable<JavaClass> classes) {
-            ReverseDependencies reverseDependencies = new ReverseDependencies(this);
+            ReverseDependencies reverseDependencies = create(classes);
             for (JavaClass clazz : classes) {
                 clazz.setReverseDependencies(reverseDependencies);
             }
         }
+
+        private ReverseDependencies create(Iterable<JavaClass> classes) {
+            AccessesToMembers accessesToMembers = indexAccesses
+                    ? ReverseAccessIndex.of(classes, classesWithImportedCode)
+                    : new CachedAccessesToMembers(this);
+            return new ReverseDependencies(this, accessesToMembers);
+        }
+    }
+
+    interface AccessesToMembers {
+        Set<JavaFieldAccess> getAccessesTo(JavaField field);
+
+        Set<JavaMethodCall> getCallsTo(JavaMethod method);
+
+        Set<JavaMethodReference> getReferencesTo(JavaMethod method);
+
+        Set<JavaConstructorCall> getCallsTo(JavaConstructor constructor);
+
+        Set<JavaConstructorReference> getReferencesTo(JavaConstructor constructor);
+    }
+
+    /**
+     * Determines the accesses to a member the first time they are requested and caches them from then on.
+     */
+    private static class CachedAccessesToMembers implements AccessesToMembers {
+        private final LoadingCache<JavaField, Set<JavaFieldAccess>> accessToFieldCache;
+        private final LoadingCache<JavaMethod, Set<JavaMethodCall>> callToMethodCache;
+        private final LoadingCache<JavaMethod, Set<JavaMethodReference>> referenceToMethodCache;
+        private final LoadingCache<JavaConstructor, Set<JavaConstructorCall>> callToConstructorCache;
+        private final LoadingCache<JavaConstructor, Set<JavaConstructorReference>> referenceToConstructorCache;
+
+        CachedAccessesToMembers(Creation creation) {
+            accessToFieldCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.fieldAccessDependencies.build()));
+            callToMethodCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.methodCallDependencies.build()));
+            referenceToMethodCache = CacheBuilder.newBuilder().build(new ResolvingAccessLoader<>(creation.methodReferenceDependencies.build()));
+            callToConstructorCache = CacheBuilder.newBuilder().build(new ConstructorAccessLoader<>(creation.constructorCallDependencies.build()));
+            referenceToConstructorCache = CacheBuilder.newBuilder().build(new ConstructorAccessLoader<>(creation.constructorReferenceDependencies.build()));
+        }
+
+        @Override
+        public Set<JavaFieldAccess> getAccessesTo(JavaField field) {
+            return accessToFieldCache.getUnchecked(field);
+        }
+
+        @Override
+        public Set<JavaMethodCall> getCallsTo(JavaMethod method) {
+            return callToMethodCache.getUnchecked(method);
+        }
+
+        @Override
+        public Set<JavaMethodReference> getReferencesTo(JavaMethod method) {
+            return referenceToMethodCache.getUnchecked(method);
+        }
+
+        @Override
+        public Set<JavaConstructorCall> getCallsTo(JavaConstructor constructor) {
+            return callToConstructorCache.getUnchecked(constructor);
+        }
+
+        @Override
+        public Set<JavaConstructorReference> getReferencesTo(JavaConstructor constructor) {
+            return referenceToConstructorCache.getUnchecked(constructor);
+        }
     }
 
     private static class ResolvingAccessLoader<MEMBER extends JavaMember, ACCESS extends JavaAccess<?>> extends CacheLoader<MEMBER, Set<ACCESS>> {
@@ -24,6 +24,8 @@ import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
@@ -42,17 +44,27 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  * </code><br><br>
  * to your <code>{@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}</code>.
  * </p>
+ * <p>
+ * If the content of class files only needs to be compared to detect changes, a cheaper {@link ContentHash}
+ * can be configured instead (compare {@link #getContentHash()}).
+ * </p>
  */
 @PublicAPI(usage = ACCESS)
 public final class Source {
     private final URI uri;
     private final Optional<String> fileName;
     private final Md5sum md5sum;
+    private final Optional<ContentHash> contentHash;
 
     Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled) {
+        this(uri, fileName, md5InClassSourcesEnabled ? Md5sum.of(uri) : Md5sum.DISABLED, Optional.empty());
+    }
+
+    Source(URI uri, Optional<String> fileName, Md5sum md5sum, Optional<ContentHash> contentHash) {
         this.uri = checkNotNull(uri);
         this.fileName = checkNotNull(fileName);
-        md5sum = md5InClassSourcesEnabled ? Md5sum.of(uri) : Md5sum.DISABLED;
+        this.md5sum = checkNotNull(md5sum);
+        this.contentHash = checkNotNull(contentHash);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -70,9 +82,18 @@ public final class Source {
         return md5sum;
     }
 
+    /**
+     * @return The {@link ContentHash} of the class file, if a {@link ContentHash.Algorithm} has been configured
+     *         via the property {@code import.contentHash} (e.g. {@code import.contentHash=CRC32C})
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<ContentHash> getContentHash() {
+        return contentHash;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(uri, md5sum);
+        return Objects.hash(uri, md5sum, contentHash);
     }
 
     @Override
@@ -85,12 +106,13 @@ public final class Source {
         }
         Source other = (Source) obj;
         return Objects.equals(this.uri, other.uri)
-                && Objects.equals(this.md5sum, other.md5sum);
+                && Objects.equals(this.md5sum, other.md5sum)
+                && Objects.equals(this.contentHash, other.contentHash);
     }
 
     @Override
     public String toString() {
-        return uri + " [md5='" + md5sum + "']";
+        return uri + " [md5='" + md5sum + "']" + contentHash.map(hash -> " [" + hash.getAlgorithm() + "='" + hash + "']").orElse("");
     }
 
     @PublicAPI(usage = ACCESS)
@@ -108,7 +130,7 @@ public final class Source {
          */
         static final Md5sum DISABLED = new Md5sum("DISABLED");
 
-        private static final MessageDigest MD5_DIGEST = getMd5Digest();
+        private static final boolean MD5_SUPPORTED = getMd5Digest().isPresent();
 
         private final byte[] md5Bytes;
         private final String text;
@@ -118,6 +140,14 @@ public final class Source {
             this.text = text;
         }
 
+        static Md5sum of(Optional<byte[]> content) {
+            if (!MD5_SUPPORTED) {
+                return NOT_SUPPORTED;
+            }
+
+            return content.map(bytes -> new Md5sum(bytes, getMd5Digest().get())).orElse(UNDETERMINED);
+        }
+
         private Md5sum(byte[] input, MessageDigest md5Digest) {
             this.md5Bytes = md5Digest.digest(input);
             text = toHex(md5Bytes);
@@ -161,29 +191,109 @@ public final class Source {
             return text;
         }
 
-        private static MessageDigest getMd5Digest() {
+        // MessageDigest is stateful and not thread safe, thus we need a new instance for every digest
+        private static Optional<MessageDigest> getMd5Digest() {
             try {
-                return MessageDigest.getInstance("MD5");
+                return Optional.of(MessageDigest.getInstance("MD5"));
             } catch (NoSuchAlgorithmException e) {
-                return null;
+                return Optional.empty();
             }
         }
 
         private static Md5sum of(URI uri) {
-            if (MD5_DIGEST == null) {
-                return NOT_SUPPORTED;
+            return MD5_SUPPORTED ? of(read(uri)) : NOT_SUPPORTED;
+        }
+    }
+
+    /**
+     * A hash of the content of a class file, which is cheaper to compute than an {@link Md5sum}, but still
+     * suitable to detect changes of the class file. Other than an {@link Md5sum} it is not suitable to detect
+     * deliberate manipulations.
+     */
+    @PublicAPI(usage = ACCESS)
+    public static final class ContentHash {
+        private final Algorithm algorithm;
+        private final byte[] hashBytes;
+
+        private ContentHash(Algorithm algorithm, byte[] hashBytes) {
+            this.algorithm = algorithm;
+            this.hashBytes = hashBytes;
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public byte[] asBytes() {
+            return Arrays.copyOf(hashBytes, hashBytes.length);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * algorithm.hashCode() + Arrays.hashCode(hashBytes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
             }
+            ContentHash other = (ContentHash) obj;
+            return this.algorithm == other.algorithm
+                    && Arrays.equals(this.hashBytes, other.hashBytes);
+        }
 
-            Optional<byte[]> bytesFromUri = read(uri);
-            return bytesFromUri.map(bytes -> new Md5sum(bytes, MD5_DIGEST)).orElse(UNDETERMINED);
+        @Override
+        public String toString() {
+            return Md5sum.toHex(hashBytes);
         }
 
-        private static Optional<byte[]> read(URI uri) {
-            try (InputStream in = uri.toURL().openStream()) {
-                return Optional.of(ByteStreams.toByteArray(in));
-            } catch (IOException | RuntimeException e) {
-                return Optional.empty();
+        @PublicAPI(usage = ACCESS)
+        public enum Algorithm {
+            /**
+             * 32-bit CRC32C checksum, the cheapest option that still reliably detects accidental changes
+             */
+            @PublicAPI(usage = ACCESS)
+            CRC32C(Hashing.crc32c()),
+            /**
+             * 64-bit non-cryptographic FarmHash fingerprint
+             */
+            @PublicAPI(usage = ACCESS)
+            FARMHASH_FINGERPRINT_64(Hashing.farmHashFingerprint64()),
+            /**
+             * 128-bit non-cryptographic Murmur3 hash
+             */
+            @PublicAPI(usage = ACCESS)
+            MURMUR3_128(Hashing.murmur3_128()),
+            /**
+             * 256-bit cryptographic SHA-256 hash
+             */
+            @PublicAPI(usage = ACCESS)
+            SHA_256(Hashing.sha256());
+
+            private final HashFunction hashFunction;
+
+            Algorithm(HashFunction hashFunction) {
+                this.hashFunction = hashFunction;
+            }
+
+            @PublicAPI(usage = ACCESS)
+            public ContentHash hash(byte[] content) {
+                return new ContentHash(this, hashFunction.hashBytes(content).asBytes());
             }
         }
     }
+
+    static Optional<byte[]> read(URI uri) {
+        try (InputStream in = uri.toURL().openStream()) {
+            return Optional.of(ByteStreams.toByteArray(in));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
 }
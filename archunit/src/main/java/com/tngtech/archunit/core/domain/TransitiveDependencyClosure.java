@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Iterators;
+
+/**
+ * The transitive closure of the dependencies between a set of classes and all classes they transitively depend on,
+ * computed once for the whole class graph instead of traversing the graph again for every class.<br>
+ * The class graph is condensed into its strongly connected components (i.e. maximal sets of classes that
+ * all transitively depend on each other), since all classes of one component have the same transitive dependencies.
+ * The components form a directed acyclic graph, so the components reachable from each component can be computed
+ * bottom-up, as a {@link BitSet} of component ids, from the components reachable from its direct successors.
+ * The transitive dependencies of a class are then the direct dependencies from all classes of all components
+ * reachable from the component of the class.<br>
+ * All traversals use explicit stacks, thus arbitrarily deep dependency chains cannot cause a {@link StackOverflowError}.
+ */
+final class TransitiveDependencyClosure {
+    private final Map<JavaClass, Integer> classIds = new IdentityHashMap<>();
+    private final List<JavaClass> classes = new ArrayList<>();
+    private final int[][] successors;
+    private final int[] componentIds;
+    private final List<List<JavaClass>> classesByComponentId;
+    private final BitSet[] reachableComponents;
+
+    private TransitiveDependencyClosure(Iterable<JavaClass> roots) {
+        successors = discoverClassGraphFrom(roots);
+        componentIds = new int[classes.size()];
+        classesByComponentId = findStronglyConnectedComponents();
+        reachableComponents = computeReachableComponents();
+    }
+
+    static TransitiveDependencyClosure of(Iterable<JavaClass> classes) {
+        return new TransitiveDependencyClosure(classes);
+    }
+
+    /**
+     * @return the same dependencies as {@link JavaClass#getTransitiveDependenciesFromSelf()}
+     */
+    Set<Dependency> getTransitiveDependenciesFrom(JavaClass javaClass) {
+        Integer classId = classIds.get(javaClass);
+        if (classId == null) {
+            return JavaClassTransitiveDependencies.findTransitiveDependenciesFrom(javaClass);
+        }
+        return new TransitiveDependencies(reachableComponents[componentIds[classId]]);
+    }
+
+    private int[][] discoverClassGraphFrom(Iterable<JavaClass> roots) {
+        for (JavaClass root : roots) {
+            idOf(root);
+        }
+        List<int[]> successorsByClassId = new ArrayList<>();
+        // classes discovered while iterating are appended, so this loop visits all reachable classes exactly once
+        for (int classId = 0; classId < classes.size(); classId++) {
+            Set<JavaClass> targetClasses = new LinkedHashSet<>();
+            for (Dependency dependency : classes.get(classId).getDirectDependenciesFromSelf()) {
+                targetClasses.add(dependency.getTargetClass().getBaseComponentType());
+            }
+            successorsByClassId.add(targetClasses.stream().mapToInt(this::idOf).toArray());
+        }
+        return successorsByClassId.toArray(new int[0][]);
+    }
+
+    private int idOf(JavaClass javaClass) {
+        return classIds.computeIfAbsent(javaClass, newClass -> {
+            classes.add(newClass);
+            return classes.size() - 1;
+        });
+    }
+
+    /**
+     * Tarjan's algorithm with an explicit call stack. Components are completed, and thus numbered,
+     * in reverse topological order, i.e. every component only depends on components with a smaller id.
+     */
+    private List<List<JavaClass>> findStronglyConnectedComponents() {
+        int numberOfClasses = classes.size();
+        int[] discoveryIndex = new int[numberOfClasses];
+        Arrays.fill(discoveryIndex, -1);
+        int[] lowLink = new int[numberOfClasses];
+        int[] nextSuccessor = new int[numberOfClasses];
+        boolean[] onComponentStack = new boolean[numberOfClasses];
+        int[] componentStack = new int[numberOfClasses];
+        int componentStackSize = 0;
+        int[] callStack = new int[numberOfClasses];
+        int callStackSize = 0;
+        int nextDiscoveryIndex = 0;
+        List<List<JavaClass>> result = new ArrayList<>();
+
+        for (int root = 0; root < numberOfClasses; root++) {
+            if (discoveryIndex[root] >= 0) {
+                continue;
+            }
+            discoveryIndex[root] = lowLink[root] = nextDiscoveryIndex++;
+            componentStack[componentStackSize++] = root;
+            onComponentStack[root] = true;
+            callStack[callStackSize++] = root;
+
+            while (callStackSize > 0) {
+                int current = callStack[callStackSize - 1];
+                if (nextSuccessor[current] < successors[current].length) {
+                    int successor = successors[current][nextSuccessor[current]++];
+                    if (discoveryIndex[successor] < 0) {
+                        discoveryIndex[successor] = lowLink[successor] = nextDiscoveryIndex++;
+                        componentStack[componentStackSize++] = successor;
+                        onComponentStack[successor] = true;
+                        callStack[callStackSize++] = successor;
+                    } else if (onComponentStack[successor]) {
+                        lowLink[current] = Math.min(lowLink[current], discoveryIndex[successor]);
+                    }
+                    continue;
+                }
+
+                callStackSize--;
+                if (callStackSize > 0) {
+                    int caller = callStack[callStackSize - 1];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[current]);
+                }
+                if (lowLink[current] == discoveryIndex[current]) {
+                    List<JavaClass> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = componentStack[--componentStackSize];
+                        onComponentStack[member] = false;
+                        componentIds[member] = result.size();
+                        component.add(classes.get(member));
+                    } while (member != current);
+                    result.add(component);
+                }
+            }
+        }
+        return result;
+    }
+
+    // every component only depends on components with smaller ids, so those are always complete already
+    private BitSet[] computeReachableComponents() {
+        BitSet[] result = new BitSet[classesByComponentId.size()];
+        for (int componentId = 0; componentId < result.length; componentId++) {
+            BitSet reachable = new BitSet();
+            reachable.set(componentId);
+            for (JavaClass javaClass : classesByComponentId.get(componentId)) {
+                for (int successor : successors[classIds.get(javaClass)]) {
+                    int successorComponentId = componentIds[successor];
+                    if (successorComponentId != componentId && !reachable.get(successorComponentId)) {
+                        reachable.or(result[successorComponentId]);
+                    }
+                }
+            }
+            result[componentId] = reachable;
+        }
+        return result;
+    }
+
+    /**
+     * An unmodifiable view of the direct dependencies from all classes of the reachable components.
+     * Since the direct dependencies from a class always originate from that class, the direct dependencies
+     * of different classes never overlap, so the view does not need to remove duplicates.
+     */
+    private class TransitiveDependencies extends AbstractSet<Dependency> {
+        private final BitSet reachableComponents;
+        private int size = -1;
+
+        TransitiveDependencies(BitSet reachableComponents) {
+            this.reachableComponents = reachableComponents;
+        }
+
+        @Override
+        public Iterator<Dependency> iterator() {
+            return reachableComponents.stream()
+                    .mapToObj(classesByComponentId::get)
+                    .flatMap(List::stream)
+                    .flatMap(reachableClass -> reachableClass.getDirectDependenciesFromSelf().stream())
+                    .iterator();
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Dependency)) {
+                return false;
+            }
+            Dependency dependency = (Dependency) object;
+            Integer originClassId = classIds.get(dependency.getOriginClass());
+            return originClassId != null
+                    && reachableComponents.get(componentIds[originClassId])
+                    && dependency.getOriginClass().getDirectDependenciesFromSelf().contains(dependency);
+        }
+
+        @Override
+        public int size() {
+            if (size < 0) {
+                size = Iterators.size(iterator());
+            }
+            return size;
+        }
+    }
+}
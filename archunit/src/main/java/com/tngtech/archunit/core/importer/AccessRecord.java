@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import com.google.common.collect.ImmutableList;
@@ -66,13 +67,13 @@ interface AccessRecord<TARGET extends AccessTarget> {
     @Internal
     abstract class Factory<RAW_RECORD, PROCESSED_RECORD> {
 
-        abstract PROCESSED_RECORD create(RAW_RECORD record, ImportedClasses classes);
+        abstract PROCESSED_RECORD create(RAW_RECORD record, ImportedClasses classes, MemberResolutionTable memberResolution);
 
         static Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>> forConstructorCallRecord() {
             return new Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>>() {
                 @Override
-                AccessRecord<ConstructorCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawAccessRecordProcessed<>(record, classes, CONSTRUCTOR_CALL_TARGET_FACTORY);
+                AccessRecord<ConstructorCallTarget> create(RawAccessRecord record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                    return new RawAccessRecordProcessed<>(record, classes, memberResolution, CONSTRUCTOR_CALL_TARGET_FACTORY);
                 }
             };
         }
@@ -80,8 +81,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
         static Factory<RawAccessRecord, AccessRecord<ConstructorReferenceTarget>> forConstructorReferenceRecord() {
             return new Factory<RawAccessRecord, AccessRecord<ConstructorReferenceTarget>>() {
                 @Override
-                AccessRecord<ConstructorReferenceTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawAccessRecordProcessed<>(record, classes, CONSTRUCTOR_REFERENCE_TARGET_FACTORY);
+                AccessRecord<ConstructorReferenceTarget> create(RawAccessRecord record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                    return new RawAccessRecordProcessed<>(record, classes, memberResolution, CONSTRUCTOR_REFERENCE_TARGET_FACTORY);
                 }
             };
         }
@@ -89,8 +90,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
         static Factory<RawAccessRecord, AccessRecord<MethodCallTarget>> forMethodCallRecord() {
             return new Factory<RawAccessRecord, AccessRecord<MethodCallTarget>>() {
                 @Override
-                AccessRecord<MethodCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawAccessRecordProcessed<>(record, classes, METHOD_CALL_TARGET_FACTORY);
+                AccessRecord<MethodCallTarget> create(RawAccessRecord record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                    return new RawAccessRecordProcessed<>(record, classes, memberResolution, METHOD_CALL_TARGET_FACTORY);
                 }
             };
         }
@@ -98,8 +99,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
         static Factory<RawAccessRecord, AccessRecord<MethodReferenceTarget>> forMethodReferenceRecord() {
             return new Factory<RawAccessRecord, AccessRecord<MethodReferenceTarget>>() {
                 @Override
-                AccessRecord<MethodReferenceTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawAccessRecordProcessed<>(record, classes, METHOD_REFERENCE_TARGET_FACTORY);
+                AccessRecord<MethodReferenceTarget> create(RawAccessRecord record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                    return new RawAccessRecordProcessed<>(record, classes, memberResolution, METHOD_REFERENCE_TARGET_FACTORY);
                 }
             };
         }
@@ -107,8 +108,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
         static Factory<RawAccessRecord.ForField, FieldAccessRecord> forFieldAccessRecord() {
             return new Factory<RawAccessRecord.ForField, FieldAccessRecord>() {
                 @Override
-                FieldAccessRecord create(RawAccessRecord.ForField record, ImportedClasses classes) {
-                    return new RawFieldAccessRecordProcessed(record, classes);
+                FieldAccessRecord create(RawAccessRecord.ForField record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                    return new RawFieldAccessRecordProcessed(record, classes, memberResolution);
                 }
             };
         }
@@ -125,7 +126,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
                 new FieldAccessTargetFactory();
 
         private interface AccessTargetFactory<TARGET extends AccessTarget> {
-            TARGET create(JavaClass targetOwner, TargetInfo targetInfo, ImportedClasses classes);
+            TARGET create(JavaClass targetOwner, TargetInfo targetInfo, ImportedClasses classes, MemberResolutionTable memberResolution);
         }
 
         private static class ConstructorAccessTargetFactory<TARGET extends CodeUnitAccessTarget> implements AccessTargetFactory<TARGET> {
@@ -136,8 +137,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
 
             @Override
-            public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaConstructor>> memberSupplier = new ConstructorSupplier(targetOwner, target);
+            public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                Supplier<Optional<JavaConstructor>> memberSupplier = new ConstructorSupplier(targetOwner, target, memberResolution);
                 List<JavaClass> paramTypes = getArgumentTypesFrom(target.desc, classes);
                 JavaClass returnType = classes.getOrResolve(void.class.getName());
                 return targetBuilderSupplier.get()
@@ -151,20 +152,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class ConstructorSupplier implements Supplier<Optional<JavaConstructor>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final MemberResolutionTable memberResolution;
 
-                ConstructorSupplier(JavaClass targetOwner, TargetInfo target) {
+                ConstructorSupplier(JavaClass targetOwner, TargetInfo target, MemberResolutionTable memberResolution) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.memberResolution = memberResolution;
                 }
 
                 @Override
                 public Optional<JavaConstructor> get() {
-                    for (JavaConstructor constructor : targetOwner.getConstructors()) {
-                        if (constructor.getDescriptor().equals(target.desc)) {
-                            return Optional.of(constructor);
-                        }
-                    }
-                    return Optional.empty();
+                    return memberResolution.resolveConstructor(targetOwner, target);
                 }
             }
         }
@@ -177,8 +175,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
 
             @Override
-            public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaMethod>> methodsSupplier = new MethodSupplier(targetOwner, target);
+            public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                Supplier<Optional<JavaMethod>> methodsSupplier = new MethodSupplier(targetOwner, target, memberResolution);
                 List<JavaClass> parameters = getArgumentTypesFrom(target.desc, classes);
                 JavaClass returnType = classes.getOrResolve(JavaClassDescriptorImporter.importAsmMethodReturnType(target.desc).getFullyQualifiedClassName());
                 return targetBuilderSupplier.get()
@@ -193,23 +191,25 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class MethodSupplier implements Supplier<Optional<JavaMethod>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final MemberResolutionTable memberResolution;
 
-                MethodSupplier(JavaClass targetOwner, TargetInfo target) {
+                MethodSupplier(JavaClass targetOwner, TargetInfo target, MemberResolutionTable memberResolution) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.memberResolution = memberResolution;
                 }
 
                 @Override
                 public Optional<JavaMethod> get() {
-                    return searchTargetMethod(targetOwner, target);
+                    return memberResolution.resolveMethod(targetOwner, target);
                 }
             }
         }
 
         private static class FieldAccessTargetFactory implements AccessTargetFactory<FieldAccessTarget> {
             @Override
-            public FieldAccessTarget create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaField>> fieldSupplier = new FieldSupplier(targetOwner, target);
+            public FieldAccessTarget create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                Supplier<Optional<JavaField>> fieldSupplier = new FieldSupplier(targetOwner, target, memberResolution);
                 JavaClass fieldType = classes.getOrResolve(JavaClassDescriptorImporter.importAsmTypeFromDescriptor(target.desc).getFullyQualifiedClassName());
                 return new FieldAccessTargetBuilder()
                         .withOwner(targetOwner)
@@ -222,15 +222,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class FieldSupplier implements Supplier<Optional<JavaField>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final MemberResolutionTable memberResolution;
 
-                FieldSupplier(JavaClass targetOwner, TargetInfo target) {
+                FieldSupplier(JavaClass targetOwner, TargetInfo target, MemberResolutionTable memberResolution) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.memberResolution = memberResolution;
                 }
 
                 @Override
                 public Optional<JavaField> get() {
-                    return searchTargetField(targetOwner, target);
+                    return memberResolution.resolveField(targetOwner, target);
                 }
             }
         }
@@ -240,11 +242,14 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private final ImportedClasses classes;
             private final JavaClass targetOwner;
             private final AccessTargetFactory<TARGET> accessTargetFactory;
+            private final MemberResolutionTable memberResolution;
             private final Supplier<JavaCodeUnit> originSupplier;
 
-            RawAccessRecordProcessed(RawAccessRecord record, ImportedClasses classes, AccessTargetFactory<TARGET> accessTargetFactory) {
+            RawAccessRecordProcessed(RawAccessRecord record, ImportedClasses classes, MemberResolutionTable memberResolution,
+                    AccessTargetFactory<TARGET> accessTargetFactory) {
                 this.record = record;
                 this.classes = classes;
+                this.memberResolution = memberResolution;
                 targetOwner = this.classes.getOrResolve(record.getTarget().owner.getFullyQualifiedClassName());
                 this.accessTargetFactory = accessTargetFactory;
                 originSupplier = createOriginSupplier(record.getOrigin(), classes);
@@ -257,7 +262,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public TARGET getTarget() {
-                return accessTargetFactory.create(targetOwner, record.getTarget(), classes);
+                return accessTargetFactory.create(targetOwner, record.getTarget(), classes, memberResolution);
             }
 
             @Override
@@ -279,8 +284,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
         private static class RawFieldAccessRecordProcessed extends RawAccessRecordProcessed<FieldAccessTarget> implements FieldAccessRecord {
             private final AccessType accessType;
 
-            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes) {
-                super(record, classes, FIELD_ACCESS_TARGET_FACTORY);
+            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes, MemberResolutionTable memberResolution) {
+                super(record, classes, memberResolution, FIELD_ACCESS_TARGET_FACTORY);
                 accessType = record.accessType;
             }
 
@@ -290,6 +295,34 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
         }
 
+        /**
+         * Resolves each member targeted by an access (compare {@link AccessTarget#resolveMember()}) only once per import
+         * and shares the result with all access targets of the same import. Otherwise, e.g. every single call of {@code List.add(..)}
+         * would search the class hierarchy of {@code List} again. The resolved members are kept in one table per target owner,
+         * i.e. per {@link JavaClass} whose hierarchy is searched, by the {@link TargetInfo} of the access.
+         */
+        static class MemberResolutionTable {
+            private final Map<JavaClass, Map<TargetInfo, Optional<JavaField>>> fields = new ConcurrentHashMap<>();
+            private final Map<JavaClass, Map<TargetInfo, Optional<JavaMethod>>> methods = new ConcurrentHashMap<>();
+            private final Map<JavaClass, Map<TargetInfo, Optional<JavaConstructor>>> constructors = new ConcurrentHashMap<>();
+
+            Optional<JavaField> resolveField(JavaClass targetOwner, TargetInfo target) {
+                return tableOf(fields, targetOwner).computeIfAbsent(target, __ -> searchTargetField(targetOwner, target));
+            }
+
+            Optional<JavaMethod> resolveMethod(JavaClass targetOwner, TargetInfo target) {
+                return tableOf(methods, targetOwner).computeIfAbsent(target, __ -> searchTargetMethod(targetOwner, target));
+            }
+
+            Optional<JavaConstructor> resolveConstructor(JavaClass targetOwner, TargetInfo target) {
+                return tableOf(constructors, targetOwner).computeIfAbsent(target, __ -> searchTargetConstructor(targetOwner, target));
+            }
+
+            private static <MEMBER> Map<TargetInfo, Optional<MEMBER>> tableOf(Map<JavaClass, Map<TargetInfo, Optional<MEMBER>>> tables, JavaClass owner) {
+                return tables.computeIfAbsent(owner, __ -> new ConcurrentHashMap<>());
+            }
+        }
+
         private static Supplier<JavaCodeUnit> createOriginSupplier(CodeUnit origin, ImportedClasses classes) {
             return Suppliers.memoize(() -> origin.resolveFrom(classes));
         }
@@ -302,6 +335,15 @@ interface AccessRecord<TARGET extends AccessTarget> {
             return result.build();
         }
 
+        private static Optional<JavaConstructor> searchTargetConstructor(JavaClass targetOwner, TargetInfo targetInfo) {
+            for (JavaConstructor constructor : targetOwner.getConstructors()) {
+                if (constructor.getDescriptor().equals(targetInfo.desc)) {
+                    return Optional.of(constructor);
+                }
+            }
+            return Optional.empty();
+        }
+
         private static Optional<JavaField> searchTargetField(JavaClass targetOwner, TargetInfo targetInfo) {
             Optional<JavaField> directlyFound = targetOwner.tryGetField(targetInfo.name);
             if (directlyFound.isPresent()) {
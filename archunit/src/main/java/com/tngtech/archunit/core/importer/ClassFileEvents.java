@@ -0,0 +1,937 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Records the ASM visitor events of a class file in a compact binary form and replays them later on,
+ * so that a class file that has been parsed once does not need to be parsed by ASM again.<br>
+ * Only those events are recorded that are relevant for the import (compare {@link JavaClassProcessor}),
+ * e.g. we do not record any arithmetic instructions, local variables or stack map frames.
+ * Replaying recorded events into a {@link JavaClassProcessor} thus yields exactly the same result as letting
+ * ASM parse the original class file.
+ */
+class ClassFileEvents {
+    private static final byte END = 0;
+
+    private static final byte CLASS_VISIT = 1;
+    private static final byte CLASS_SOURCE = 2;
+    private static final byte CLASS_INNER_CLASS = 3;
+    private static final byte CLASS_OUTER_CLASS = 4;
+    private static final byte CLASS_FIELD = 5;
+    private static final byte CLASS_METHOD = 6;
+    private static final byte ANNOTATION = 7;
+
+    private static final byte METHOD_CODE = 10;
+    private static final byte METHOD_PARAMETER_ANNOTATION = 11;
+    private static final byte METHOD_LINE_NUMBER = 12;
+    private static final byte METHOD_LABEL = 13;
+    private static final byte METHOD_LDC_TYPE = 14;
+    private static final byte METHOD_TRY_CATCH_BLOCK = 15;
+    private static final byte METHOD_FIELD_INSN = 16;
+    private static final byte METHOD_METHOD_INSN = 17;
+    private static final byte METHOD_TYPE_INSN = 18;
+    private static final byte METHOD_ANNOTATION_DEFAULT = 19;
+    private static final byte METHOD_INVOKE_DYNAMIC = 20;
+
+    private static final byte ANNOTATION_VALUE = 30;
+    private static final byte ANNOTATION_ENUM = 31;
+    private static final byte ANNOTATION_ARRAY = 32;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_BYTE = 1;
+    private static final byte VALUE_BOOLEAN = 2;
+    private static final byte VALUE_CHAR = 3;
+    private static final byte VALUE_SHORT = 4;
+    private static final byte VALUE_INT = 5;
+    private static final byte VALUE_LONG = 6;
+    private static final byte VALUE_FLOAT = 7;
+    private static final byte VALUE_DOUBLE = 8;
+    private static final byte VALUE_STRING = 9;
+    private static final byte VALUE_TYPE = 10;
+    private static final byte VALUE_HANDLE = 11;
+    private static final byte VALUE_BYTE_ARRAY = 12;
+    private static final byte VALUE_BOOLEAN_ARRAY = 13;
+    private static final byte VALUE_CHAR_ARRAY = 14;
+    private static final byte VALUE_SHORT_ARRAY = 15;
+    private static final byte VALUE_INT_ARRAY = 16;
+    private static final byte VALUE_LONG_ARRAY = 17;
+    private static final byte VALUE_FLOAT_ARRAY = 18;
+    private static final byte VALUE_DOUBLE_ARRAY = 19;
+
+    /**
+     * Identifies the format of recorded events, so anything persisting them can discard events of a different format.
+     * It is derived from the codes of all events and value types above, so it changes whenever one of them is added,
+     * removed or renumbered. Thus, an event or value type whose content changes must get a new code as well.
+     */
+    static final String FORMAT_VERSION = computeFormatVersion();
+
+    private ClassFileEvents() {
+    }
+
+    private static String computeFormatVersion() {
+        String codes = Arrays.stream(ClassFileEvents.class.getDeclaredFields())
+                .filter(field -> Modifier.isStatic(field.getModifiers()) && field.getType() == byte.class)
+                .sorted(comparing(Field::getName))
+                .map(field -> field.getName() + "=" + getCode(field))
+                .collect(joining(","));
+        return Integer.toHexString(codes.hashCode());
+    }
+
+    private static byte getCode(Field field) {
+        try {
+            return field.getByte(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param delegate The visitor to pass all events on to
+     * @return A {@link Recorder} that passes all events on to {@code delegate} and records them on the fly
+     */
+    static Recorder record(ClassVisitor delegate) {
+        return new Recorder(delegate);
+    }
+
+    /**
+     * @return A {@link Recorder} that only records all events without passing them on
+     */
+    static Recorder record() {
+        return new Recorder(null);
+    }
+
+    /**
+     * Replays events previously recorded by a {@link Recorder} into the supplied visitor.
+     */
+    static void replay(byte[] recordedEvents, ClassVisitor visitor) {
+        try {
+            new Replayer(recordedEvents).replayClass(visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static class Recorder extends ClassVisitor {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final EventOutput out = new EventOutput(new DataOutputStream(bytes));
+
+        private Recorder(ClassVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+        }
+
+        byte[] getRecordedEvents() {
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            out.writeEvent(CLASS_VISIT);
+            out.writeInt(version);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(signature);
+            out.writeString(superName);
+            out.writeStrings(interfaces);
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            out.writeEvent(CLASS_SOURCE);
+            out.writeString(source);
+            super.visitSource(source, debug);
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            out.writeEvent(CLASS_INNER_CLASS);
+            out.writeString(name);
+            out.writeString(outerName);
+            out.writeString(innerName);
+            out.writeInt(access);
+            super.visitInnerClass(name, outerName, innerName, access);
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+            out.writeEvent(CLASS_OUTER_CLASS);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            super.visitOuterClass(owner, name, descriptor);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return recordAnnotation(out, descriptor, visible, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            out.writeEvent(CLASS_FIELD);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(signature);
+            return new FieldRecorder(out, super.visitField(access, name, descriptor, signature, value));
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            out.writeEvent(CLASS_METHOD);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(signature);
+            out.writeStrings(exceptions);
+            return new MethodRecorder(out, super.visitMethod(access, name, descriptor, signature, exceptions));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeEvent(END);
+            out.flush();
+            super.visitEnd();
+        }
+    }
+
+    private static AnnotationVisitor recordAnnotation(EventOutput out, String descriptor, boolean visible, AnnotationVisitor delegate) {
+        out.writeEvent(ANNOTATION);
+        out.writeString(descriptor);
+        out.writeBoolean(visible);
+        return new AnnotationRecorder(out, delegate);
+    }
+
+    private static class FieldRecorder extends FieldVisitor {
+        private final EventOutput out;
+
+        FieldRecorder(EventOutput out, FieldVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return recordAnnotation(out, descriptor, visible, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeEvent(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class MethodRecorder extends MethodVisitor {
+        private final EventOutput out;
+        private final Map<Label, Integer> labelIds = new IdentityHashMap<>();
+
+        MethodRecorder(EventOutput out, MethodVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public void visitCode() {
+            out.writeEvent(METHOD_CODE);
+            super.visitCode();
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return recordAnnotation(out, descriptor, visible, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible) {
+            out.writeEvent(METHOD_PARAMETER_ANNOTATION);
+            out.writeInt(parameter);
+            out.writeString(descriptor);
+            out.writeBoolean(visible);
+            return new AnnotationRecorder(out, super.visitParameterAnnotation(parameter, descriptor, visible));
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotationDefault() {
+            out.writeEvent(METHOD_ANNOTATION_DEFAULT);
+            return new AnnotationRecorder(out, super.visitAnnotationDefault());
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            out.writeEvent(METHOD_LINE_NUMBER);
+            out.writeInt(line);
+            writeLabel(start);
+            super.visitLineNumber(line, start);
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            out.writeEvent(METHOD_LABEL);
+            writeLabel(label);
+            super.visitLabel(label);
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            if (value instanceof Type) {
+                out.writeEvent(METHOD_LDC_TYPE);
+                out.writeString(((Type) value).getDescriptor());
+            }
+            super.visitLdcInsn(value);
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            out.writeEvent(METHOD_TRY_CATCH_BLOCK);
+            writeLabel(start);
+            writeLabel(end);
+            writeLabel(handler);
+            out.writeString(type);
+            super.visitTryCatchBlock(start, end, handler, type);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            out.writeEvent(METHOD_FIELD_INSN);
+            out.writeInt(opcode);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            super.visitFieldInsn(opcode, owner, name, descriptor);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            out.writeEvent(METHOD_METHOD_INSN);
+            out.writeInt(opcode);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeBoolean(isInterface);
+            super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            out.writeEvent(METHOD_TYPE_INSN);
+            out.writeInt(opcode);
+            out.writeString(type);
+            super.visitTypeInsn(opcode, type);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+            out.writeEvent(METHOD_INVOKE_DYNAMIC);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeHandle(bootstrapMethodHandle);
+            out.writeInt(bootstrapMethodArguments.length);
+            for (Object argument : bootstrapMethodArguments) {
+                // arguments we do not use for the import (like ConstantDynamic) are recorded as null
+                out.writeValue(isRecordableConstant(argument) ? argument : null);
+            }
+            super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+        }
+
+        private boolean isRecordableConstant(Object argument) {
+            return argument instanceof Type || argument instanceof Handle || argument instanceof String
+                    || argument instanceof Integer || argument instanceof Long || argument instanceof Float || argument instanceof Double;
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeEvent(END);
+            super.visitEnd();
+        }
+
+        private void writeLabel(Label label) {
+            out.writeInt(labelIds.computeIfAbsent(label, __ -> labelIds.size()));
+        }
+    }
+
+    private static class AnnotationRecorder extends AnnotationVisitor {
+        private final EventOutput out;
+
+        AnnotationRecorder(EventOutput out, AnnotationVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            out.writeEvent(ANNOTATION_VALUE);
+            out.writeString(name);
+            out.writeValue(value);
+            super.visit(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            out.writeEvent(ANNOTATION_ENUM);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(value);
+            super.visitEnum(name, descriptor, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            out.writeEvent(ANNOTATION);
+            out.writeString(name);
+            out.writeString(descriptor);
+            return new AnnotationRecorder(out, super.visitAnnotation(name, descriptor));
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            out.writeEvent(ANNOTATION_ARRAY);
+            out.writeString(name);
+            return new AnnotationRecorder(out, super.visitArray(name));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeEvent(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class Replayer {
+        private final EventInput in;
+
+        Replayer(byte[] recordedEvents) {
+            in = new EventInput(new DataInputStream(new ByteArrayInputStream(recordedEvents)));
+        }
+
+        void replayClass(ClassVisitor visitor) throws IOException {
+            for (byte event = in.readEvent(); event != END; event = in.readEvent()) {
+                switch (event) {
+                    case CLASS_VISIT:
+                        visitor.visit(in.readInt(), in.readInt(), in.readString(), in.readString(), in.readString(), in.readStrings());
+                        break;
+                    case CLASS_SOURCE:
+                        visitor.visitSource(in.readString(), null);
+                        break;
+                    case CLASS_INNER_CLASS:
+                        visitor.visitInnerClass(in.readString(), in.readString(), in.readString(), in.readInt());
+                        break;
+                    case CLASS_OUTER_CLASS:
+                        visitor.visitOuterClass(in.readString(), in.readString(), in.readString());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(visitor.visitAnnotation(in.readString(), in.readBoolean()));
+                        break;
+                    case CLASS_FIELD:
+                        replayField(visitor.visitField(in.readInt(), in.readString(), in.readString(), in.readString(), null));
+                        break;
+                    case CLASS_METHOD:
+                        replayMethod(visitor.visitMethod(in.readInt(), in.readString(), in.readString(), in.readString(), in.readStrings()));
+                        break;
+                    default:
+                        throw unexpectedEvent(event);
+                }
+            }
+            visitor.visitEnd();
+        }
+
+        private void replayField(FieldVisitor visitor) throws IOException {
+            FieldVisitor fieldVisitor = visitor != null ? visitor : new FieldVisitor(ASM_API_VERSION) {
+            };
+            for (byte event = in.readEvent(); event != END; event = in.readEvent()) {
+                if (event == ANNOTATION) {
+                    replayAnnotation(fieldVisitor.visitAnnotation(in.readString(), in.readBoolean()));
+                } else {
+                    throw unexpectedEvent(event);
+                }
+            }
+            fieldVisitor.visitEnd();
+        }
+
+        private void replayMethod(MethodVisitor visitor) throws IOException {
+            MethodVisitor methodVisitor = visitor != null ? visitor : new MethodVisitor(ASM_API_VERSION) {
+            };
+            List<Label> labels = new ArrayList<>();
+            for (byte event = in.readEvent(); event != END; event = in.readEvent()) {
+                switch (event) {
+                    case METHOD_CODE:
+                        methodVisitor.visitCode();
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(methodVisitor.visitAnnotation(in.readString(), in.readBoolean()));
+                        break;
+                    case METHOD_PARAMETER_ANNOTATION:
+                        replayAnnotation(methodVisitor.visitParameterAnnotation(in.readInt(), in.readString(), in.readBoolean()));
+                        break;
+                    case METHOD_ANNOTATION_DEFAULT:
+                        replayAnnotation(methodVisitor.visitAnnotationDefault());
+                        break;
+                    case METHOD_LINE_NUMBER:
+                        methodVisitor.visitLineNumber(in.readInt(), readLabel(labels));
+                        break;
+                    case METHOD_LABEL:
+                        methodVisitor.visitLabel(readLabel(labels));
+                        break;
+                    case METHOD_LDC_TYPE:
+                        methodVisitor.visitLdcInsn(Type.getType(in.readString()));
+                        break;
+                    case METHOD_TRY_CATCH_BLOCK:
+                        methodVisitor.visitTryCatchBlock(readLabel(labels), readLabel(labels), readLabel(labels), in.readString());
+                        break;
+                    case METHOD_FIELD_INSN:
+                        methodVisitor.visitFieldInsn(in.readInt(), in.readString(), in.readString(), in.readString());
+                        break;
+                    case METHOD_METHOD_INSN:
+                        methodVisitor.visitMethodInsn(in.readInt(), in.readString(), in.readString(), in.readString(), in.readBoolean());
+                        break;
+                    case METHOD_TYPE_INSN:
+                        methodVisitor.visitTypeInsn(in.readInt(), in.readString());
+                        break;
+                    case METHOD_INVOKE_DYNAMIC:
+                        replayInvokeDynamic(methodVisitor);
+                        break;
+                    default:
+                        throw unexpectedEvent(event);
+                }
+            }
+            methodVisitor.visitEnd();
+        }
+
+        private void replayInvokeDynamic(MethodVisitor methodVisitor) throws IOException {
+            String name = in.readString();
+            String descriptor = in.readString();
+            Handle bootstrapMethodHandle = in.readHandle();
+            Object[] bootstrapMethodArguments = new Object[in.readInt()];
+            for (int i = 0; i < bootstrapMethodArguments.length; i++) {
+                bootstrapMethodArguments[i] = in.readValue();
+            }
+            methodVisitor.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+        }
+
+        private Label readLabel(List<Label> labels) throws IOException {
+            int id = in.readInt();
+            while (labels.size() <= id) {
+                labels.add(new Label());
+            }
+            return labels.get(id);
+        }
+
+        private void replayAnnotation(AnnotationVisitor visitor) throws IOException {
+            AnnotationVisitor annotationVisitor = visitor != null ? visitor : new AnnotationVisitor(ASM_API_VERSION) {
+            };
+            for (byte event = in.readEvent(); event != END; event = in.readEvent()) {
+                switch (event) {
+                    case ANNOTATION_VALUE:
+                        annotationVisitor.visit(in.readString(), in.readValue());
+                        break;
+                    case ANNOTATION_ENUM:
+                        annotationVisitor.visitEnum(in.readString(), in.readString(), in.readString());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(annotationVisitor.visitAnnotation(in.readString(), in.readString()));
+                        break;
+                    case ANNOTATION_ARRAY:
+                        replayAnnotation(annotationVisitor.visitArray(in.readString()));
+                        break;
+                    default:
+                        throw unexpectedEvent(event);
+                }
+            }
+            annotationVisitor.visitEnd();
+        }
+
+        private IllegalStateException unexpectedEvent(byte event) {
+            return new IllegalStateException(String.format("Encountered unexpected event %d while replaying recorded class file events", event));
+        }
+    }
+
+    /**
+     * Writes each distinct string only once, all further occurrences are written as a reference to the first occurrence.
+     */
+    private static class EventOutput {
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIds = new HashMap<>();
+
+        EventOutput(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeEvent(byte event) {
+            write(() -> out.writeByte(event));
+        }
+
+        void writeBoolean(boolean value) {
+            write(() -> out.writeBoolean(value));
+        }
+
+        void writeInt(int value) {
+            write(() -> writeVarInt(value));
+        }
+
+        void writeString(String string) {
+            write(() -> {
+                if (string == null) {
+                    writeVarInt(0);
+                    return;
+                }
+                Integer id = stringIds.get(string);
+                if (id != null) {
+                    writeVarInt(id);
+                } else {
+                    stringIds.put(string, stringIds.size() + 1);
+                    writeVarInt(-1);
+                    out.writeUTF(string);
+                }
+            });
+        }
+
+        void writeStrings(String[] strings) {
+            if (strings == null) {
+                writeInt(-1);
+                return;
+            }
+            writeInt(strings.length);
+            for (String string : strings) {
+                writeString(string);
+            }
+        }
+
+        void writeHandle(Handle handle) {
+            writeInt(handle.getTag());
+            writeString(handle.getOwner());
+            writeString(handle.getName());
+            writeString(handle.getDesc());
+            writeBoolean(handle.isInterface());
+        }
+
+        void writeValue(Object value) {
+            write(() -> writeValueUnchecked(value));
+        }
+
+        private void writeValueUnchecked(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(VALUE_NULL);
+            } else if (value instanceof Byte) {
+                out.writeByte(VALUE_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(VALUE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Character) {
+                out.writeByte(VALUE_CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof Short) {
+                out.writeByte(VALUE_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(VALUE_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(VALUE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(VALUE_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(VALUE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                out.writeByte(VALUE_STRING);
+                writeString((String) value);
+            } else if (value instanceof Type) {
+                out.writeByte(VALUE_TYPE);
+                writeString(((Type) value).getDescriptor());
+            } else if (value instanceof Handle) {
+                out.writeByte(VALUE_HANDLE);
+                writeHandle((Handle) value);
+            } else {
+                writeArrayValue(value);
+            }
+        }
+
+        private void writeArrayValue(Object value) throws IOException {
+            if (value instanceof byte[]) {
+                byte[] array = (byte[]) value;
+                out.writeByte(VALUE_BYTE_ARRAY);
+                writeVarInt(array.length);
+                out.write(array);
+            } else if (value instanceof boolean[]) {
+                boolean[] array = (boolean[]) value;
+                out.writeByte(VALUE_BOOLEAN_ARRAY);
+                writeVarInt(array.length);
+                for (boolean element : array) {
+                    out.writeBoolean(element);
+                }
+            } else if (value instanceof char[]) {
+                char[] array = (char[]) value;
+                out.writeByte(VALUE_CHAR_ARRAY);
+                writeVarInt(array.length);
+                for (char element : array) {
+                    out.writeChar(element);
+                }
+            } else if (value instanceof short[]) {
+                short[] array = (short[]) value;
+                out.writeByte(VALUE_SHORT_ARRAY);
+                writeVarInt(array.length);
+                for (short element : array) {
+                    out.writeShort(element);
+                }
+            } else if (value instanceof int[]) {
+                int[] array = (int[]) value;
+                out.writeByte(VALUE_INT_ARRAY);
+                writeVarInt(array.length);
+                for (int element : array) {
+                    out.writeInt(element);
+                }
+            } else if (value instanceof long[]) {
+                long[] array = (long[]) value;
+                out.writeByte(VALUE_LONG_ARRAY);
+                writeVarInt(array.length);
+                for (long element : array) {
+                    out.writeLong(element);
+                }
+            } else if (value instanceof float[]) {
+                float[] array = (float[]) value;
+                out.writeByte(VALUE_FLOAT_ARRAY);
+                writeVarInt(array.length);
+                for (float element : array) {
+                    out.writeFloat(element);
+                }
+            } else if (value instanceof double[]) {
+                double[] array = (double[]) value;
+                out.writeByte(VALUE_DOUBLE_ARRAY);
+                writeVarInt(array.length);
+                for (double element : array) {
+                    out.writeDouble(element);
+                }
+            } else {
+                throw new IllegalArgumentException(String.format("Can't record value %s of type %s", value, value.getClass().getName()));
+            }
+        }
+
+        // zig-zag encoded, so that small negative values like -1 are written as one byte as well
+        private void writeVarInt(int value) throws IOException {
+            int remaining = (value << 1) ^ (value >> 31);
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+
+        void flush() {
+            write(out::flush);
+        }
+
+        private void write(IoAction action) {
+            try {
+                action.execute();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @FunctionalInterface
+        private interface IoAction {
+            void execute() throws IOException;
+        }
+    }
+
+    private static class EventInput {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        EventInput(DataInputStream in) {
+            this.in = in;
+        }
+
+        byte readEvent() throws IOException {
+            return in.readByte();
+        }
+
+        boolean readBoolean() throws IOException {
+            return in.readBoolean();
+        }
+
+        int readInt() throws IOException {
+            return readVarInt();
+        }
+
+        String readString() throws IOException {
+            int id = readVarInt();
+            if (id == 0) {
+                return null;
+            }
+            if (id > 0) {
+                return strings.get(id - 1);
+            }
+            String string = in.readUTF();
+            strings.add(string);
+            return string;
+        }
+
+        String[] readStrings() throws IOException {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            String[] result = new String[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = readString();
+            }
+            return result;
+        }
+
+        Handle readHandle() throws IOException {
+            return new Handle(readInt(), readString(), readString(), readString(), readBoolean());
+        }
+
+        Object readValue() throws IOException {
+            byte type = in.readByte();
+            switch (type) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_BYTE:
+                    return in.readByte();
+                case VALUE_BOOLEAN:
+                    return in.readBoolean();
+                case VALUE_CHAR:
+                    return in.readChar();
+                case VALUE_SHORT:
+                    return in.readShort();
+                case VALUE_INT:
+                    return in.readInt();
+                case VALUE_LONG:
+                    return in.readLong();
+                case VALUE_FLOAT:
+                    return in.readFloat();
+                case VALUE_DOUBLE:
+                    return in.readDouble();
+                case VALUE_STRING:
+                    return readString();
+                case VALUE_TYPE:
+                    return Type.getType(readString());
+                case VALUE_HANDLE:
+                    return readHandle();
+                default:
+                    return readArrayValue(type);
+            }
+        }
+
+        private Object readArrayValue(byte type) throws IOException {
+            int length = readVarInt();
+            switch (type) {
+                case VALUE_BYTE_ARRAY: {
+                    byte[] result = new byte[length];
+                    in.readFully(result);
+                    return result;
+                }
+                case VALUE_BOOLEAN_ARRAY: {
+                    boolean[] result = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readBoolean();
+                    }
+                    return result;
+                }
+                case VALUE_CHAR_ARRAY: {
+                    char[] result = new char[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readChar();
+                    }
+                    return result;
+                }
+                case VALUE_SHORT_ARRAY: {
+                    short[] result = new short[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readShort();
+                    }
+                    return result;
+                }
+                case VALUE_INT_ARRAY: {
+                    int[] result = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readInt();
+                    }
+                    return result;
+                }
+                case VALUE_LONG_ARRAY: {
+                    long[] result = new long[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readLong();
+                    }
+                    return result;
+                }
+                case VALUE_FLOAT_ARRAY: {
+                    float[] result = new float[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readFloat();
+                    }
+                    return result;
+                }
+                case VALUE_DOUBLE_ARRAY: {
+                    double[] result = new double[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readDouble();
+                    }
+                    return result;
+                }
+                default:
+                    throw new IllegalStateException(String.format("Encountered unexpected value type %d while replaying recorded class file events", type));
+            }
+        }
+
+        private int readVarInt() throws IOException {
+            int result = 0;
+            int shift = 0;
+            int next;
+            do {
+                checkState(shift < 35, "Malformed variable length integer in recorded class file events");
+                next = in.readUnsignedByte();
+                result |= (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            return (result >>> 1) ^ -(result & 1);
+        }
+    }
+}
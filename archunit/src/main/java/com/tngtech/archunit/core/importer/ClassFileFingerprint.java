@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+
+/**
+ * Cheap fingerprints of class files (compare {@link ClassFileLocation#getFingerprint()}),
+ * i.e. the size and last modification time of a file, or the size and CRC of a JAR entry.
+ */
+final class ClassFileFingerprint {
+    private ClassFileFingerprint() {
+    }
+
+    static Optional<String> of(BasicFileAttributes fileAttributes) {
+        return Optional.of("size=" + fileAttributes.size() + ",lastModified=" + fileAttributes.lastModifiedTime().toMillis());
+    }
+
+    static Optional<String> of(JarEntry jarEntry) {
+        return jarEntry.getCrc() >= 0 && jarEntry.getSize() >= 0
+                ? Optional.of("size=" + jarEntry.getSize() + ",crc=" + jarEntry.getCrc())
+                : Optional.empty();
+    }
+
+    /**
+     * @return The fingerprint of the class file at the given {@link URI}, if it exists and its scheme supports fingerprints.
+     *         The classes of the Java runtime image ({@code jrt:}) cannot change while the JVM is running,
+     *         so they are fingerprinted by the version of the runtime.
+     */
+    static Optional<String> of(URI uri) {
+        try {
+            switch (uri.getScheme()) {
+                case "file":
+                    return of(Files.readAttributes(Paths.get(uri), BasicFileAttributes.class));
+                case "jar":
+                    JarEntry jarEntry = ((JarURLConnection) uri.toURL().openConnection()).getJarEntry();
+                    return jarEntry != null ? of(jarEntry) : Optional.empty();
+                case "jrt":
+                    return Optional.of("runtime=" + System.getProperty("java.runtime.version"));
+                default:
+                    return Optional.empty();
+            }
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -57,7 +57,7 @@ import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toSet;
 
-class ClassFileImportRecord {
+class ClassFileImportRecord implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(ClassFileImportRecord.class);
 
     private static final JavaClassTypeParametersBuilder NO_TYPE_PARAMETERS =
@@ -78,11 +78,11 @@ class ClassFileImportRecord {
     private final Map<String, JavaAnnotationBuilder.ValueBuilder> annotationDefaultValuesByOwner = new HashMap<>();
     private final EnclosingDeclarationsByInnerClasses enclosingDeclarationsByOwner = new EnclosingDeclarationsByInnerClasses();
 
-    private final Set<RawAccessRecord.ForField> rawFieldAccessRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawMethodCallRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawConstructorCallRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawMethodReferenceRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawConstructorReferenceRecords = new HashSet<>();
+    private final RawAccessRecords<RawAccessRecord.ForField> rawFieldAccessRecords;
+    private final RawAccessRecords<RawAccessRecord> rawMethodCallRecords;
+    private final RawAccessRecords<RawAccessRecord> rawConstructorCallRecords;
+    private final RawAccessRecords<RawAccessRecord> rawMethodReferenceRecords;
+    private final RawAccessRecords<RawAccessRecord> rawConstructorReferenceRecords;
     private final Set<RawReferencedClassObject> rawReferencedClassObjects = new HashSet<>();
     private final Set<RawInstanceofCheck> rawInstanceofChecks = new HashSet<>();
     private final Set<RawTryCatchBlock> rawTryCatchBlocks = new HashSet<>();
@@ -90,6 +90,22 @@ class ClassFileImportRecord {
     private final SyntheticAccessRecorder syntheticPrivateAccessRecorder = createSyntheticPrivateAccessRecorder();
     private final SyntheticallyResolvedAccessRecords syntheticallyResolvedAccessRecords = new SyntheticallyResolvedAccessRecords();
 
+    ClassFileImportRecord() {
+        this(false);
+    }
+
+    /**
+     * @param spillAccessRecords Whether raw access records should be stored in temporary files instead of the heap
+     *                           (compare {@link RawAccessRecordSpill}). The files are deleted by {@link #close()}.
+     */
+    ClassFileImportRecord(boolean spillAccessRecords) {
+        rawFieldAccessRecords = new RawAccessRecords<>("field-accesses", spillAccessRecords);
+        rawMethodCallRecords = new RawAccessRecords<>("method-calls", spillAccessRecords);
+        rawConstructorCallRecords = new RawAccessRecords<>("constructor-calls", spillAccessRecords);
+        rawMethodReferenceRecords = new RawAccessRecords<>("method-references", spillAccessRecords);
+        rawConstructorReferenceRecords = new RawAccessRecords<>("constructor-references", spillAccessRecords);
+    }
+
     void setSuperclass(String ownerName, String superclassName) {
         checkState(!superclassNamesByOwner.containsKey(ownerName),
                 "Attempted to add %s as a second superclass to %s, this is most likely a bug",
@@ -215,30 +231,33 @@ class ClassFileImportRecord {
         return enclosingDeclarationsByOwner.getEnclosingCodeUnit(ownerName);
     }
 
-    void registerFieldAccess(RawAccessRecord.ForField record) {
+    /**
+     * @param containedInTryBlock Whether the record is contained in a {@link RawTryCatchBlock}, i.e. must be retained as the same instance
+     */
+    void registerFieldAccess(RawAccessRecord.ForField record, boolean containedInTryBlock) {
         if (!isSyntheticEnumSwitchMapFieldName(record.getTarget().name)) {
-            rawFieldAccessRecords.add(record);
+            rawFieldAccessRecords.add(record, containedInTryBlock);
         }
     }
 
-    void registerMethodCall(RawAccessRecord record) {
+    void registerMethodCall(RawAccessRecord record, boolean containedInTryBlock) {
         if (isSyntheticAccessMethodName(record.getTarget().name)) {
             syntheticPrivateAccessRecorder.registerSyntheticMethodInvocation(record);
         } else {
-            rawMethodCallRecords.add(record);
+            rawMethodCallRecords.add(record, containedInTryBlock);
         }
     }
 
-    void registerConstructorCall(RawAccessRecord record) {
-        rawConstructorCallRecords.add(record);
+    void registerConstructorCall(RawAccessRecord record, boolean containedInTryBlock) {
+        rawConstructorCallRecords.add(record, containedInTryBlock);
     }
 
-    void registerMethodReference(RawAccessRecord record) {
-        rawMethodReferenceRecords.add(record);
+    void registerMethodReference(RawAccessRecord record, boolean containedInTryBlock) {
+        rawMethodReferenceRecords.add(record, containedInTryBlock);
     }
 
-    void registerConstructorReference(RawAccessRecord record) {
-        rawConstructorReferenceRecords.add(record);
+    void registerConstructorReference(RawAccessRecord record, boolean containedInTryBlock) {
+        rawConstructorReferenceRecords.add(record, containedInTryBlock);
     }
 
     void registerLambdaInvocation(RawAccessRecord record) {
@@ -254,28 +273,35 @@ class ClassFileImportRecord {
     }
 
     void forEachRawFieldAccessRecord(Consumer<RawAccessRecord.ForField> doWithRecord) {
-        resolveSyntheticOrigins(rawFieldAccessRecords, COPY_RAW_FIELD_ACCESS_RECORD, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder)
-                .forEach(doWithRecord);
+        forEachResolved(rawFieldAccessRecords, COPY_RAW_FIELD_ACCESS_RECORD, doWithRecord, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder);
     }
 
     void forEachRawMethodCallRecord(Consumer<RawAccessRecord> doWithRecord) {
-        resolveSyntheticOrigins(rawMethodCallRecords, COPY_RAW_ACCESS_RECORD, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder)
-                .forEach(doWithRecord);
+        forEachResolved(rawMethodCallRecords, COPY_RAW_ACCESS_RECORD, doWithRecord, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder);
     }
 
     void forEachRawConstructorCallRecord(Consumer<RawAccessRecord> doWithRecord) {
-        resolveSyntheticOrigins(rawConstructorCallRecords, COPY_RAW_ACCESS_RECORD, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder)
-                .forEach(doWithRecord);
+        forEachResolved(rawConstructorCallRecords, COPY_RAW_ACCESS_RECORD, doWithRecord, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder);
     }
 
     void forEachRawMethodReferenceRecord(Consumer<RawAccessRecord> doWithRecord) {
-        resolveSyntheticOrigins(rawMethodReferenceRecords, COPY_RAW_ACCESS_RECORD, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder)
-                .forEach(doWithRecord);
+        forEachResolved(rawMethodReferenceRecords, COPY_RAW_ACCESS_RECORD, doWithRecord, syntheticPrivateAccessRecorder, syntheticLambdaAccessRecorder);
     }
 
     void forEachRawConstructorReferenceRecord(Consumer<RawAccessRecord> doWithRecord) {
-        resolveSyntheticOrigins(rawConstructorReferenceRecords, COPY_RAW_ACCESS_RECORD, syntheticLambdaAccessRecorder)
-                .forEach(doWithRecord);
+        forEachResolved(rawConstructorReferenceRecords, COPY_RAW_ACCESS_RECORD, doWithRecord, syntheticLambdaAccessRecorder);
+    }
+
+    private <RECORD extends RawAccessRecord> void forEachResolved(
+            RawAccessRecords<RECORD> records,
+            Function<RECORD, ? extends HasRawCodeUnitOrigin.Builder<RECORD>> copyRecord,
+            Consumer<RECORD> doWithRecord,
+            SyntheticAccessRecorder... syntheticAccessRecorders
+    ) {
+        resolveSyntheticOrigins(records.inMemory, copyRecord, syntheticAccessRecorders).forEach(doWithRecord);
+        // spilled records are new instances every time they are read back, so caching their resolution would only retain them on the heap
+        records.forEachSpilled(record ->
+                SyntheticallyResolvedAccessRecords.resolveSyntheticOriginWithoutCaching(record, copyRecord, syntheticAccessRecorders).forEach(doWithRecord));
     }
 
     void forEachRawReferencedClassObject(Consumer<RawReferencedClassObject> doWithReferencedClassObject) {
@@ -315,10 +341,61 @@ class ClassFileImportRecord {
         classes.put(javaClass.getName(), javaClass);
     }
 
+    /**
+     * Merges all records of a fragment, that has been recorded independently (e.g. by a different thread), into this record.
+     * Must be called before any access records are resolved, i.e. before any of the {@code forEach...} methods has been called,
+     * unless the fragment does not contain any access records (like the fragments of classes resolved from the classpath).
+     */
+    void addAll(ClassFileImportRecord fragment) {
+        classes.putAll(fragment.classes);
+        fragment.superclassNamesByOwner.forEach(this::setSuperclass);
+        interfaceNamesByOwner.putAll(fragment.interfaceNamesByOwner);
+        typeParametersBuilderByOwner.putAll(fragment.typeParametersBuilderByOwner);
+        genericSuperclassBuilderByOwner.putAll(fragment.genericSuperclassBuilderByOwner);
+        genericInterfaceBuildersByOwner.putAll(fragment.genericInterfaceBuildersByOwner);
+        fieldBuildersByOwner.putAll(fragment.fieldBuildersByOwner);
+        methodBuildersByOwner.putAll(fragment.methodBuildersByOwner);
+        constructorBuildersByOwner.putAll(fragment.constructorBuildersByOwner);
+        fragment.staticInitializerBuildersByOwner.forEach(this::setStaticInitializer);
+        annotationsByOwner.putAll(fragment.annotationsByOwner);
+        annotationDefaultValuesByOwner.putAll(fragment.annotationDefaultValuesByOwner);
+        enclosingDeclarationsByOwner.addAll(fragment.enclosingDeclarationsByOwner);
+
+        Set<RawAccessRecord> accessesContainedInTryBlocks = fragment.getAccessesContainedInTryBlocks();
+        rawFieldAccessRecords.addAll(fragment.rawFieldAccessRecords, accessesContainedInTryBlocks);
+        rawMethodCallRecords.addAll(fragment.rawMethodCallRecords, accessesContainedInTryBlocks);
+        rawConstructorCallRecords.addAll(fragment.rawConstructorCallRecords, accessesContainedInTryBlocks);
+        rawMethodReferenceRecords.addAll(fragment.rawMethodReferenceRecords, accessesContainedInTryBlocks);
+        rawConstructorReferenceRecords.addAll(fragment.rawConstructorReferenceRecords, accessesContainedInTryBlocks);
+        rawReferencedClassObjects.addAll(fragment.rawReferencedClassObjects);
+        rawInstanceofChecks.addAll(fragment.rawInstanceofChecks);
+        rawTryCatchBlocks.addAll(fragment.rawTryCatchBlocks);
+        syntheticLambdaAccessRecorder.addAll(fragment.syntheticLambdaAccessRecorder);
+        syntheticPrivateAccessRecorder.addAll(fragment.syntheticPrivateAccessRecorder);
+    }
+
+    private Set<RawAccessRecord> getAccessesContainedInTryBlocks() {
+        Set<RawAccessRecord> result = new HashSet<>();
+        rawTryCatchBlocks.forEach(tryCatchBlock -> result.addAll(tryCatchBlock.getAccessesInTryBlock()));
+        return result;
+    }
+
     Map<String, JavaClass> getClasses() {
         return classes;
     }
 
+    /**
+     * Deletes the temporary files of all spilled raw access records. Must be called once the class graph has been completed.
+     */
+    @Override
+    public void close() {
+        rawFieldAccessRecords.close();
+        rawMethodCallRecords.close();
+        rawConstructorCallRecords.close();
+        rawMethodReferenceRecords.close();
+        rawConstructorReferenceRecords.close();
+    }
+
     private static final Function<RawAccessRecord, RawAccessRecord.Builder> COPY_RAW_ACCESS_RECORD =
             access -> copyInto(new RawAccessRecord.Builder(), access);
 
@@ -391,6 +468,11 @@ class ClassFileImportRecord {
             innerClassNameToEnclosingCodeUnit.put(innerName, codeUnit);
         }
 
+        void addAll(EnclosingDeclarationsByInnerClasses other) {
+            other.innerClassNameToEnclosingClassName.forEach(this::registerEnclosingClass);
+            other.innerClassNameToEnclosingCodeUnit.forEach(this::registerEnclosingCodeUnit);
+        }
+
         Optional<String> getEnclosingClassName(String ownerName) {
             return Optional.ofNullable(innerClassNameToEnclosingClassName.get(ownerName));
         }
@@ -400,6 +482,41 @@ class ClassFileImportRecord {
         }
     }
 
+    /**
+     * Keeps all raw access records on the heap, unless spilling has been enabled. In this case only
+     * records contained in try-catch-blocks are kept on the heap, since they are referenced by identity
+     * from the respective {@link RawTryCatchBlock}, while all other records are written to a {@link RawAccessRecordSpill}.
+     */
+    private static class RawAccessRecords<RECORD extends RawAccessRecord> {
+        private final Set<RECORD> inMemory = new HashSet<>();
+        private final Optional<RawAccessRecordSpill<RECORD>> spill;
+
+        RawAccessRecords(String name, boolean spill) {
+            this.spill = spill ? Optional.of(new RawAccessRecordSpill<>(name)) : Optional.empty();
+        }
+
+        void add(RECORD record, boolean containedInTryBlock) {
+            if (spill.isPresent() && !containedInTryBlock) {
+                spill.get().add(record);
+            } else {
+                inMemory.add(record);
+            }
+        }
+
+        void addAll(RawAccessRecords<RECORD> other, Set<RawAccessRecord> accessesContainedInTryBlocks) {
+            other.inMemory.forEach(record -> add(record, accessesContainedInTryBlocks.contains(record)));
+            other.forEachSpilled(record -> add(record, false));
+        }
+
+        void forEachSpilled(Consumer<RECORD> doWithRecord) {
+            spill.ifPresent(it -> it.forEach(doWithRecord));
+        }
+
+        void close() {
+            spill.ifPresent(RawAccessRecordSpill::close);
+        }
+    }
+
     private static class SyntheticAccessRecorder {
         private final SetMultimap<String, RawAccessRecord> rawSyntheticMethodInvocationRecordsByTarget = HashMultimap.create();
         private final Predicate<CodeUnit> isSyntheticOrigin;
@@ -417,6 +534,10 @@ class ClassFileImportRecord {
             rawSyntheticMethodInvocationRecordsByTarget.put(getMemberKey(record.getTarget()), record);
         }
 
+        void addAll(SyntheticAccessRecorder other) {
+            rawSyntheticMethodInvocationRecordsByTarget.putAll(other.rawSyntheticMethodInvocationRecordsByTarget);
+        }
+
         <ACCESS extends HasRawCodeUnitOrigin> Set<ACCESS> fixSyntheticAccess(
                 ACCESS access,
                 Function<ACCESS, ? extends HasRawCodeUnitOrigin.Builder<ACCESS>> copyAccess
@@ -465,6 +586,15 @@ class ClassFileImportRecord {
             return resolvedAccesses.areUnchanged() ? Stream.of(hasRawCodeUnitOrigin) : resolvedAccesses.stream();
         }
 
+        static <HAS_RAW_CODE_UNIT_ORIGIN extends HasRawCodeUnitOrigin> Stream<HAS_RAW_CODE_UNIT_ORIGIN> resolveSyntheticOriginWithoutCaching(
+                HAS_RAW_CODE_UNIT_ORIGIN hasRawCodeUnitOrigin,
+                Function<HAS_RAW_CODE_UNIT_ORIGIN, ? extends HasRawCodeUnitOrigin.Builder<HAS_RAW_CODE_UNIT_ORIGIN>> createWithNewOrigin,
+                SyntheticAccessRecorder... syntheticAccessRecorders
+        ) {
+            ResolvedAccesses<HAS_RAW_CODE_UNIT_ORIGIN> resolvedAccesses = fixSyntheticAccesses(hasRawCodeUnitOrigin, createWithNewOrigin, syntheticAccessRecorders);
+            return resolvedAccesses.areUnchanged() ? Stream.of(hasRawCodeUnitOrigin) : resolvedAccesses.stream();
+        }
+
         private static <HAS_RAW_CODE_UNIT_ORIGIN extends HasRawCodeUnitOrigin> ResolvedAccesses<HAS_RAW_CODE_UNIT_ORIGIN> fixSyntheticAccesses(
                 HAS_RAW_CODE_UNIT_ORIGIN hasRawCodeUnitOrigin,
                 Function<HAS_RAW_CODE_UNIT_ORIGIN, ? extends HasRawCodeUnitOrigin.Builder<HAS_RAW_CODE_UNIT_ORIGIN>> createWithNewOrigin,
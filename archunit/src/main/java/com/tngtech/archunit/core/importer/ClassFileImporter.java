@@ -18,11 +18,11 @@ package com.tngtech.archunit.core.importer;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.jar.JarFile;
 
@@ -83,19 +83,21 @@ public final class ClassFileImporter {
     private static final Logger LOG = LoggerFactory.getLogger(ClassFileImporter.class);
 
     private final ImportOptions importOptions;
+    private final ImmutableList<ImportListener> importListeners;
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter() {
-        this(new ImportOptions());
+        this(new ImportOptions(), ImmutableList.of());
     }
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter(Collection<ImportOption> importOptions) {
-        this(new ImportOptions().with(importOptions));
+        this(new ImportOptions().with(importOptions), ImmutableList.of());
     }
 
-    private ClassFileImporter(ImportOptions importOptions) {
+    private ClassFileImporter(ImportOptions importOptions, ImmutableList<ImportListener> importListeners) {
         this.importOptions = importOptions;
+        this.importListeners = importListeners;
     }
 
     /**
@@ -107,7 +109,7 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter withImportOption(ImportOption option) {
-        return new ClassFileImporter(importOptions.with(option));
+        return new ClassFileImporter(importOptions.with(option), importListeners);
     }
 
     /**
@@ -115,7 +117,20 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter withImportOptions(Collection<ImportOption> options) {
-        return new ClassFileImporter(importOptions.with(options));
+        return new ClassFileImporter(importOptions.with(options), importListeners);
+    }
+
+    /**
+     * Registers an {@link ImportListener} that will be informed about the {@link ImportStatistics} of every import
+     * by the returned {@link ClassFileImporter}. Note that this object will not be modified,
+     * but instead a copy with adjusted behavior will be returned.
+     *
+     * @param listener An {@link ImportListener} to inform whenever an import has finished
+     * @return A {@link ClassFileImporter} which informs the specified listener (in addition to all listeners registered before)
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportListener(ImportListener listener) {
+        return new ClassFileImporter(importOptions, ImmutableList.<ImportListener>builder().addAll(importListeners).add(listener).build());
     }
 
     /**
@@ -318,23 +333,60 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importLocations(Collection<Location> locations) {
-        List<ClassFileSource> sources = new ArrayList<>();
-        for (Location location : locations) {
-            tryAdd(sources, location);
+        Optional<IncrementalImport> incrementalImport = IncrementalImport.fromConfiguration();
+        try (PrefetchingClassFileSource prefetchedClassFiles = PrefetchingClassFileSource.fromConfiguration(classFilesAt(locations))) {
+            ClassFileSource classFiles = incrementalImport.map(it -> it.record(prefetchedClassFiles)).orElse(prefetchedClassFiles);
+            JavaClasses classes = new ClassFileProcessor(importListeners).process(classFiles);
+            return incrementalImport.map(it -> it.complete(classes)).orElse(classes);
         }
-        return new ClassFileProcessor().process(unify(sources));
     }
 
-    private void tryAdd(List<ClassFileSource> sources, Location location) {
+    /**
+     * Imports the same classes as {@code previous} again, but only reads the class files beneath the given changed
+     * {@link Location locations} anew. All class files that have been added, modified or removed since {@code previous}
+     * was imported must be covered by these locations, e.g. the changed class files themselves or their parent directory.
+     * The result will contain the same classes as a fresh import of the class files of {@code previous} and the
+     * changed locations would.
+     * <br><br>
+     * If {@code previous} is itself the result of a reimport, the class files that have not changed are not read or
+     * parsed again, but the information already gathered during the previous reimport is reused. This way repeated
+     * reimports (e.g. within a watch mode loop) only pay for the parsing of changed class files. Note that
+     * the class graph is always completed as a whole, since all imported classes are linked to each other.
+     * <br><br>
+     * A regular import does not keep this information by default, so the first reimport based on it has to parse
+     * all class files again. To avoid this, set the property {@code import.incremental=true} in {@code archunit.properties}
+     * before the initial import.
+     *
+     * @param previous The classes of a previous import
+     * @param changed All locations where class files have changed since {@code previous} was imported
+     * @return The classes imported from all unchanged class files of {@code previous} and the changed locations
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses reimport(JavaClasses previous, Collection<Location> changed) {
+        IncrementalImport incrementalImport = IncrementalImport.of(previous, changed);
+        ClassFileSource classFiles = unify(ImmutableList.of(
+                incrementalImport.getUnchangedClassFiles(),
+                incrementalImport.record(classFilesAt(changed))));
+        JavaClasses classes = new ClassFileProcessor(importListeners).process(classFiles);
+        return incrementalImport.complete(classes);
+    }
+
+    // the sources are derived lazily, so that e.g. walking a directory can be done by a prefetching thread
+    private ClassFileSource classFilesAt(Collection<Location> locations) {
+        return unify(Iterables.transform(locations, this::tryDerive));
+    }
+
+    private ClassFileSource tryDerive(Location location) {
         try {
-            sources.add(location.asClassFileSource(importOptions));
+            return location.asClassFileSource(importOptions);
         } catch (Exception e) {
             LOG.warn(String.format("Couldn't derive %s from %s",
                     ClassFileSource.class.getSimpleName(), location), e);
+            return Collections::emptyIterator;
         }
     }
 
-    private ClassFileSource unify(List<ClassFileSource> sources) {
+    private ClassFileSource unify(Iterable<ClassFileSource> sources) {
         return Iterables.concat(sources)::iterator;
     }
 }
@@ -15,11 +15,49 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.google.common.io.ByteStreams;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 
 interface ClassFileLocation {
     InputStream openStream();
 
     URI getUri();
+
+    /**
+     * @return A cheap fingerprint of the content of this class file (e.g. size and last modification time of a file,
+     *         or size and CRC of a JAR entry), if available. The fingerprint changes whenever the class file changes.
+     */
+    default Optional<String> getFingerprint() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return The complete content of the class file. Implementations should read the content as cheaply as possible,
+     *         e.g. with a single read into a byte array of the known size of the class file.
+     */
+    default byte[] readContent() throws IOException {
+        try (InputStream s = openStream()) {
+            return ByteStreams.toByteArray(s);
+        }
+    }
+
+    /**
+     * Lets the supplied {@link ClassVisitor} visit the class file at this location.
+     *
+     * @param parsingOptions The options to parse the class file with, see {@link ClassReader#accept(ClassVisitor, int)}
+     * @param contentHandler Receives the raw bytes of the class file, if the class file is actually read
+     *                       (i.e. not if the visitor events are replayed from a previous import)
+     */
+    default void accept(ClassVisitor classVisitor, int parsingOptions, Consumer<byte[]> contentHandler) throws IOException {
+        byte[] content = readContent();
+        contentHandler.accept(content);
+        new ClassReader(content).accept(classVisitor, parsingOptions);
+    }
 }
@@ -17,16 +17,27 @@ package com.tngtech.archunit.core.importer;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClassDescriptor;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.domain.Source.ContentHash;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassTypeParametersBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorBuilder;
@@ -37,15 +48,20 @@ import com.tngtech.archunit.core.importer.DomainBuilders.JavaStaticInitializerBu
 import com.tngtech.archunit.core.importer.JavaClassProcessor.AccessHandler;
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
 import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+import com.tngtech.archunit.core.importer.ResolvedClassCache.ReplayingClassUriImporter;
 import com.tngtech.archunit.core.importer.TryCatchRecorder.TryCatchBlocksFinishedListener;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
-import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromClasspath;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Label;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.google.common.util.concurrent.Futures.getUnchecked;
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
+import static com.tngtech.archunit.core.importer.ImportPhase.PARSE_CLASS_FILES;
+import static com.tngtech.archunit.core.importer.ImportPhase.SCAN_LOCATIONS;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toSet;
 import static org.objectweb.asm.Opcodes.ASM9;
 
@@ -54,25 +70,187 @@ class ClassFileProcessor {
 
     static final int ASM_API_VERSION = ASM9;
 
+    static final String IMPORT_PARALLELISM_PROPERTY_NAME = "import.parallelism";
+    static final String CONTENT_HASH_PROPERTY_NAME = "import.contentHash";
+    private static final int MAX_PENDING_FRAGMENTS_PER_THREAD = 64;
+
     private final boolean md5InClassSourcesEnabled = ArchConfiguration.get().md5InClassSourcesEnabled();
+    private final Optional<ContentHash.Algorithm> contentHashAlgorithm = getConfiguredContentHashAlgorithm();
+    private final int importParallelism = getConfiguredImportParallelism();
+    private final ImportDetails importDetails = ImportDetails.fromConfiguration();
     private final ClassResolver.Factory classResolverFactory = new ClassResolver.Factory();
+    private final Optional<JdkTypeIndex> jdkTypeIndex = JdkTypeIndex.fromConfiguration();
+    private final StringPool strings = new StringPool();
+    private final boolean spillAccessRecords = RawAccessRecordSpill.isEnabled();
+    private final List<ImportListener> importListeners;
+
+    ClassFileProcessor() {
+        this(emptyList());
+    }
+
+    ClassFileProcessor(List<ImportListener> importListeners) {
+        this.importListeners = importListeners;
+    }
 
     JavaClasses process(ClassFileSource source) {
-        ClassFileImportRecord importRecord = new ClassFileImportRecord();
-        DependencyResolutionProcess dependencyResolutionProcess = new DependencyResolutionProcess();
-        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord, dependencyResolutionProcess);
+        JavaClassDescriptor.From.reconfigureCache();
+        ImportStatistics.Recorder statistics = new ImportStatistics.Recorder();
+        statistics.startPhase(PARSE_CLASS_FILES);
+        JavaClasses classes;
+        Optional<ExecutorService> executor = createExecutor();
+        try (ClassFileImportRecord importRecord = new ClassFileImportRecord(spillAccessRecords)) {
+            DependencyResolutionProcess dependencyResolutionProcess = new DependencyResolutionProcess();
+            ClassFileSource scannedSource = recordScanning(source, statistics);
+            if (executor.isPresent()) {
+                importInParallel(scannedSource, importRecord, dependencyResolutionProcess, statistics, executor.get());
+            } else {
+                importSequentially(scannedSource, importRecord, dependencyResolutionProcess, statistics);
+            }
+            ClassResolver classResolver = getClassResolver(importRecord, dependencyResolutionProcess, executor);
+            classes = new ClassGraphCreator(importRecord, dependencyResolutionProcess, classResolver, importDetails, statistics).complete();
+        } finally {
+            executor.ifPresent(ExecutorService::shutdownNow);
+        }
+        ImportStatistics importStatistics = statistics.finish();
+        LOG.debug("Statistics of types resolved from the classpath via {}: {}", ResolvedClassCache.class.getSimpleName(), ResolvedClassCache.getStats());
+        LOG.debug("Finished import: {}", importStatistics);
+        importListeners.forEach(listener -> listener.onImportFinished(importStatistics));
+        return classes;
+    }
+
+    /**
+     * The {@link ClassFileSource} derives the class files lazily, so we attribute the time spent iterating it to {@link ImportPhase#SCAN_LOCATIONS}.
+     */
+    private static ClassFileSource recordScanning(ClassFileSource source, ImportStatistics.Recorder statistics) {
+        return () -> new Iterator<ClassFileLocation>() {
+            private final Iterator<ClassFileLocation> delegate = scan(source::iterator);
+
+            @Override
+            public boolean hasNext() {
+                return scan(delegate::hasNext);
+            }
+
+            @Override
+            public ClassFileLocation next() {
+                return scan(delegate::next);
+            }
+
+            private <T> T scan(Supplier<T> scanStep) {
+                statistics.startPhase(SCAN_LOCATIONS);
+                try {
+                    return scanStep.get();
+                } finally {
+                    statistics.startPhase(PARSE_CLASS_FILES);
+                }
+            }
+        };
+    }
+
+    private void importSequentially(ClassFileSource source, ClassFileImportRecord importRecord,
+            DependencyResolutionProcess dependencyResolutionProcess, ImportStatistics.Recorder statistics) {
+
+        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord, dependencyResolutionProcess, strings);
         ClassDetailsRecorder classDetailsRecorder = new ClassDetailsRecorder(importRecord, dependencyResolutionProcess);
         for (ClassFileLocation location : source) {
-            try (InputStream s = location.openStream()) {
-                JavaClassProcessor javaClassProcessor =
-                        new JavaClassProcessor(new SourceDescriptor(location.getUri(), md5InClassSourcesEnabled), classDetailsRecorder, accessHandler);
-                new ClassReader(s).accept(javaClassProcessor, 0);
-                javaClassProcessor.createJavaClass().ifPresent(importRecord::add);
-            } catch (Exception e) {
-                LOG.warn(String.format("Couldn't import class from %s", location.getUri()), e);
+            importClass(location, importRecord, classDetailsRecorder, accessHandler)
+                    .ifPresent(__ -> statistics.onClassParsed());
+        }
+    }
+
+    /**
+     * Parses every class file into its own thread confined {@link ClassFileImportRecord} and {@link DependencyResolutionProcess}
+     * fragment. The fragments are merged in the iteration order of the {@link ClassFileSource}, so if the same class is contained
+     * multiple times within the source, the first occurrence wins, exactly like for the sequential import.
+     * To keep the memory consumption bounded, there are never more than a fixed number of fragments per thread waiting to be merged.
+     */
+    private void importInParallel(ClassFileSource source, ClassFileImportRecord importRecord,
+            DependencyResolutionProcess dependencyResolutionProcess, ImportStatistics.Recorder statistics, ExecutorService executor) {
+
+        int maxPendingFragments = importParallelism * MAX_PENDING_FRAGMENTS_PER_THREAD;
+        Deque<Future<ImportFragment>> pendingFragments = new ArrayDeque<>();
+        for (ClassFileLocation location : source) {
+            if (pendingFragments.size() >= maxPendingFragments) {
+                mergeNext(pendingFragments, importRecord, dependencyResolutionProcess, statistics);
             }
+            DependencyResolutionProcess dependencyResolutionFragment = dependencyResolutionProcess.createFragment();
+            pendingFragments.add(executor.submit(() -> importFragment(location, dependencyResolutionFragment)));
+        }
+        while (!pendingFragments.isEmpty()) {
+            mergeNext(pendingFragments, importRecord, dependencyResolutionProcess, statistics);
+        }
+    }
+
+    private ImportFragment importFragment(ClassFileLocation location, DependencyResolutionProcess dependencyResolutionFragment) {
+        ClassFileImportRecord importRecordFragment = new ClassFileImportRecord();
+        Optional<JavaClass> javaClass = importClass(location, importRecordFragment,
+                new ClassDetailsRecorder(importRecordFragment, dependencyResolutionFragment),
+                new RecordAccessHandler(importRecordFragment, dependencyResolutionFragment, strings));
+        return new ImportFragment(javaClass, importRecordFragment, dependencyResolutionFragment);
+    }
+
+    private static void mergeNext(Deque<Future<ImportFragment>> pendingFragments, ClassFileImportRecord importRecord,
+            DependencyResolutionProcess dependencyResolutionProcess, ImportStatistics.Recorder statistics) {
+
+        ImportFragment fragment = getUnchecked(pendingFragments.poll());
+        if (!fragment.isDuplicateOf(importRecord)) {
+            fragment.javaClass.ifPresent(__ -> statistics.onClassParsed());
+            importRecord.addAll(fragment.importRecord);
+            dependencyResolutionProcess.registerAll(fragment.dependencyResolutionProcess);
+        }
+    }
+
+    private Optional<JavaClass> importClass(ClassFileLocation location, ClassFileImportRecord importRecord,
+            ClassDetailsRecorder classDetailsRecorder, RecordAccessHandler accessHandler) {
+
+        try {
+            SourceDescriptor sourceDescriptor = new SourceDescriptor(location.getUri(), md5InClassSourcesEnabled, contentHashAlgorithm);
+            JavaClassProcessor javaClassProcessor = new JavaClassProcessor(sourceDescriptor, classDetailsRecorder, accessHandler, importDetails, strings);
+            location.accept(javaClassProcessor, importDetails.getParsingOptions(), sourceDescriptor::onContentRead);
+            Optional<JavaClass> javaClass = javaClassProcessor.createJavaClass();
+            javaClass.ifPresent(importRecord::add);
+            return javaClass;
+        } catch (Exception e) {
+            LOG.warn(String.format("Couldn't import class from %s", location.getUri()), e);
+            return Optional.empty();
+        }
+    }
+
+    private static int getConfiguredImportParallelism() {
+        String configuredParallelism = ArchConfiguration.get().getPropertyOrDefault(IMPORT_PARALLELISM_PROPERTY_NAME, "1");
+        try {
+            return Integer.parseInt(configuredParallelism.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Couldn't parse {}={}, falling back to sequential import", IMPORT_PARALLELISM_PROPERTY_NAME, configuredParallelism);
+            return 1;
+        }
+    }
+
+    private static Optional<ContentHash.Algorithm> getConfiguredContentHashAlgorithm() {
+        Optional<String> configuredAlgorithm = Optional.of(ArchConfiguration.get().getPropertyOrDefault(CONTENT_HASH_PROPERTY_NAME, "").trim())
+                .filter(algorithm -> !algorithm.isEmpty());
+        try {
+            return configuredAlgorithm.map(algorithm -> ContentHash.Algorithm.valueOf(algorithm.toUpperCase().replace('-', '_')));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Couldn't parse {}={}, content hashes will not be calculated", CONTENT_HASH_PROPERTY_NAME, configuredAlgorithm.get());
+            return Optional.empty();
+        }
+    }
+
+    private static class ImportFragment {
+        private final Optional<JavaClass> javaClass;
+        private final ClassFileImportRecord importRecord;
+        private final DependencyResolutionProcess dependencyResolutionProcess;
+
+        ImportFragment(Optional<JavaClass> javaClass, ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess) {
+            this.javaClass = javaClass;
+            this.importRecord = importRecord;
+            this.dependencyResolutionProcess = dependencyResolutionProcess;
+        }
+
+        // a sequential import would have skipped a class that has already been imported from an earlier location
+        boolean isDuplicateOf(ClassFileImportRecord importRecord) {
+            return javaClass.isPresent() && importRecord.getClasses().containsKey(javaClass.get().getName());
         }
-        return new ClassGraphCreator(importRecord, dependencyResolutionProcess, getClassResolver(classDetailsRecorder)).complete();
     }
 
     private static class ClassDetailsRecorder implements DeclarationHandler {
@@ -205,13 +383,15 @@ class ClassFileProcessor {
 
         private final ClassFileImportRecord importRecord;
         private final DependencyResolutionProcess dependencyResolutionProcess;
+        private final StringPool strings;
         private CodeUnit codeUnit;
         private int lineNumber;
         private final TryCatchRecorder tryCatchRecorder = new TryCatchRecorder(this);
 
-        private RecordAccessHandler(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess) {
+        private RecordAccessHandler(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, StringPool strings) {
             this.importRecord = importRecord;
             this.dependencyResolutionProcess = dependencyResolutionProcess;
+            this.strings = strings;
         }
 
         @Override
@@ -234,46 +414,46 @@ class ClassFileProcessor {
         public void handleFieldInstruction(int opcode, String owner, String name, String desc) {
             AccessType accessType = AccessType.forOpCode(opcode);
             LOG.trace("Found {} access to field {}.{}:{} in line {}", accessType, owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = new TargetInfo(owner, strings.canonicalize(name), strings.canonicalize(desc));
             RawAccessRecord.ForField accessRecord = filled(new RawAccessRecord.ForField.Builder(), target)
                     .withAccessType(accessType)
                     .build();
-            importRecord.registerFieldAccess(accessRecord);
-            tryCatchRecorder.registerAccess(accessRecord);
+            boolean containedInTryBlock = tryCatchRecorder.registerAccess(accessRecord);
+            importRecord.registerFieldAccess(accessRecord, containedInTryBlock);
             dependencyResolutionProcess.registerAccessToType(target.owner.getFullyQualifiedClassName());
         }
 
         @Override
         public void handleMethodInstruction(String owner, String name, String desc) {
             LOG.trace("Found call of method {}.{}:{} in line {}", owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = new TargetInfo(owner, strings.canonicalize(name), strings.canonicalize(desc));
             RawAccessRecord accessRecord = filled(new RawAccessRecord.Builder(), target).build();
+            boolean containedInTryBlock = tryCatchRecorder.registerAccess(accessRecord);
             if (CONSTRUCTOR_NAME.equals(name)) {
-                importRecord.registerConstructorCall(accessRecord);
+                importRecord.registerConstructorCall(accessRecord, containedInTryBlock);
             } else {
-                importRecord.registerMethodCall(accessRecord);
+                importRecord.registerMethodCall(accessRecord, containedInTryBlock);
             }
-            tryCatchRecorder.registerAccess(accessRecord);
             dependencyResolutionProcess.registerAccessToType(target.owner.getFullyQualifiedClassName());
         }
 
         @Override
         public void handleMethodReferenceInstruction(String owner, String name, String desc) {
             LOG.trace("Found method reference {}.{}:{} in line {}", owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = new TargetInfo(owner, strings.canonicalize(name), strings.canonicalize(desc));
             RawAccessRecord accessRecord = filled(new RawAccessRecord.Builder(), target).build();
+            boolean containedInTryBlock = tryCatchRecorder.registerAccess(accessRecord);
             if (CONSTRUCTOR_NAME.equals(name)) {
-                importRecord.registerConstructorReference(accessRecord);
+                importRecord.registerConstructorReference(accessRecord, containedInTryBlock);
             } else {
-                importRecord.registerMethodReference(accessRecord);
+                importRecord.registerMethodReference(accessRecord, containedInTryBlock);
             }
-            tryCatchRecorder.registerAccess(accessRecord);
             dependencyResolutionProcess.registerAccessToType(target.owner.getFullyQualifiedClassName());
         }
 
         @Override
         public void handleLambdaInstruction(String owner, String name, String desc) {
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = new TargetInfo(owner, strings.canonicalize(name), strings.canonicalize(desc));
             importRecord.registerLambdaInvocation(filled(new RawAccessRecord.Builder(), target).build());
         }
 
@@ -328,32 +508,111 @@ class ClassFileProcessor {
         }
     }
 
-    private ClassResolver getClassResolver(ClassDetailsRecorder classDetailsRecorder) {
-        ClassResolver classResolver = classResolverFactory.create();
-        classResolver.setClassUriImporter(new UriImporterOfProcessor(classDetailsRecorder, md5InClassSourcesEnabled));
-        return classResolver;
+    /**
+     * The threads of a parallel import first parse the class files and then resolve missing dependencies
+     * (compare {@link ClassResolverFromClasspath#tryResolveAll(Collection)}). They live as long as the import.
+     */
+    private Optional<ExecutorService> createExecutor() {
+        if (importParallelism <= 1) {
+            return Optional.empty();
+        }
+        return Optional.of(Executors.newFixedThreadPool(importParallelism, new ThreadFactoryBuilder()
+                .setNameFormat("archunit-import-%d")
+                .setDaemon(true)
+                .build()));
     }
 
-    private static class UriImporterOfProcessor implements ClassUriImporter {
-        private final DeclarationHandler declarationHandler;
+    private ClassResolver getClassResolver(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess,
+            Optional<ExecutorService> executor) {
+
+        ClassResolver classResolver = classResolverFactory.create(executor);
+        UriImporterOfProcessor classUriImporter = new UriImporterOfProcessor(
+                importRecord, dependencyResolutionProcess, importDetails, md5InClassSourcesEnabled, contentHashAlgorithm, strings);
+        ClassResolver cachingResolver = ResolvedClassCache.cache(classResolver, classUriImporter);
+        // only the default resolver would otherwise resolve JDK types from the classpath
+        return jdkTypeIndex.isPresent() && classResolver instanceof ClassResolverFromClasspath
+                ? jdkTypeIndex.get().resolveBefore(cachingResolver, classUriImporter)
+                : cachingResolver;
+    }
+
+    private static class UriImporterOfProcessor implements ReplayingClassUriImporter {
+        private final ClassFileImportRecord importRecord;
+        private final DependencyResolutionProcess dependencyResolutionProcess;
+        private final ImportDetails importDetails;
         private final boolean md5InClassSourcesEnabled;
+        private final Optional<ContentHash.Algorithm> contentHashAlgorithm;
+        private final StringPool strings;
 
-        UriImporterOfProcessor(DeclarationHandler declarationHandler, boolean md5InClassSourcesEnabled) {
-            this.declarationHandler = declarationHandler;
+        UriImporterOfProcessor(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, ImportDetails importDetails,
+                boolean md5InClassSourcesEnabled, Optional<ContentHash.Algorithm> contentHashAlgorithm, StringPool strings) {
+            this.importRecord = importRecord;
+            this.dependencyResolutionProcess = dependencyResolutionProcess;
+            this.importDetails = importDetails;
             this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
+            this.contentHashAlgorithm = contentHashAlgorithm;
+            this.strings = strings;
         }
 
         @Override
         public Optional<JavaClass> tryImport(URI uri) {
+            return tryImport(uri, Optional.empty());
+        }
+
+        @Override
+        public Optional<JavaClass> tryImport(URI uri, Consumer<byte[]> recordedEventsHandler) {
+            return tryImport(uri, Optional.of(recordedEventsHandler));
+        }
+
+        private Optional<JavaClass> tryImport(URI uri, Optional<Consumer<byte[]>> recordedEventsHandler) {
             try (InputStream inputStream = uri.toURL().openStream()) {
-                JavaClassProcessor classProcessor = new JavaClassProcessor(new SourceDescriptor(uri, md5InClassSourcesEnabled), declarationHandler);
-                new ClassReader(inputStream).accept(classProcessor, 0);
-                return classProcessor.createJavaClass();
+                byte[] content = ByteStreams.toByteArray(inputStream);
+                SourceDescriptor sourceDescriptor = new SourceDescriptor(uri, md5InClassSourcesEnabled, contentHashAlgorithm);
+                sourceDescriptor.onContentRead(content);
+                if (!recordedEventsHandler.isPresent()) {
+                    return createJavaClass(sourceDescriptor, classProcessor -> new ClassReader(content).accept(classProcessor, 0));
+                }
+
+                ClassFileEvents.Recorder recorder = ClassFileEvents.record();
+                new ClassReader(content).accept(recorder, 0);
+                byte[] recordedEvents = recorder.getRecordedEvents();
+                recordedEventsHandler.get().accept(recordedEvents);
+                return createJavaClass(sourceDescriptor, classProcessor -> ClassFileEvents.replay(recordedEvents, classProcessor));
             } catch (Exception e) {
                 LOG.warn(String.format("Error during import from %s, falling back to simple import", uri), e);
                 return Optional.empty();
             }
         }
+
+        @Override
+        public Optional<JavaClass> tryReplay(URI uri, byte[] recordedEvents) {
+            try {
+                return createJavaClass(new SourceDescriptor(uri, md5InClassSourcesEnabled, contentHashAlgorithm),
+                        classProcessor -> ClassFileEvents.replay(recordedEvents, classProcessor));
+            } catch (Exception e) {
+                LOG.warn(String.format("Error during replay of import from %s, falling back to simple import", uri), e);
+                return Optional.empty();
+            }
+        }
+
+        // Classes may be resolved concurrently (compare ClassResolver.tryResolveAll(..)), thus every class is parsed
+        // into its own thread confined fragment and only the merge into the records shared by the whole import is synchronized
+        private Optional<JavaClass> createJavaClass(SourceDescriptor sourceDescriptor, Consumer<JavaClassProcessor> process) {
+            ClassFileImportRecord importRecordFragment = new ClassFileImportRecord();
+            DependencyResolutionProcess dependencyResolutionFragment = dependencyResolutionProcess.createFragment();
+            JavaClassProcessor classProcessor = new JavaClassProcessor(sourceDescriptor,
+                    new ClassDetailsRecorder(importRecordFragment, dependencyResolutionFragment), importDetails, strings);
+            process.accept(classProcessor);
+            return merge(new ImportFragment(classProcessor.createJavaClass(), importRecordFragment, dependencyResolutionFragment));
+        }
+
+        private synchronized Optional<JavaClass> merge(ImportFragment fragment) {
+            if (fragment.isDuplicateOf(importRecord)) {
+                return Optional.empty();
+            }
+            importRecord.addAll(fragment.importRecord);
+            dependencyResolutionProcess.registerAll(fragment.dependencyResolutionProcess);
+            return fragment.javaClass;
+        }
     }
 
 }
@@ -25,17 +25,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
+import com.google.common.io.ByteStreams;
 import com.tngtech.archunit.Internal;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.stream.Collectors.toList;
 
 @Internal
@@ -61,10 +64,18 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             return classFileLocations.iterator();
         }
 
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            return importOptions.mayIncludeLocationsBeneath(Location.of(dir))
+                    ? FileVisitResult.CONTINUE
+                    : FileVisitResult.SKIP_SUBTREE;
+        }
+
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
             if (shouldBeConsidered(file)) {
-                classFileLocations.add(new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file)));
+                classFileLocations.add(new InputStreamSupplierClassFileLocation(
+                        file.toUri(), newInputStreamSupplierFor(file), () -> Files.readAllBytes(file), ClassFileFingerprint.of(attrs)));
             }
             return FileVisitResult.CONTINUE;
         }
@@ -97,8 +108,8 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
         FromJar(URL jarUrl, NormalizedResourceName path, ImportOptions importOptions) {
             try {
                 JarURLConnection connection = (JarURLConnection) jarUrl.openConnection();
-                classFileLocations = Collections.list(connection.getJarFile().entries()).stream()
-                        .filter(classFilesBeneath(path))
+                classFileLocations = JarEntryIndex.of(connection).getClassEntriesStartingWith(path.toEntryName()).stream()
+                        .filter(input -> FileToImport.isRelevant(input.getName()))
                         .map(toClassFilesInJarOf(connection))
                         .filter(by(importOptions))
                         .map(toInputStreamSupplier())
@@ -108,13 +119,14 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             }
         }
 
-        private Predicate<JarEntry> classFilesBeneath(NormalizedResourceName prefix) {
-            return input -> input.getName().startsWith(prefix.toEntryName())
-                    && FileToImport.isRelevant(input.getName());
-        }
-
         private Function<JarEntry, ClassFileInJar> toClassFilesInJarOf(JarURLConnection connection) {
-            return input -> new ClassFileInJar(connection, input);
+            return input -> {
+                try {
+                    return new ClassFileInJar(connection, input);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            };
         }
 
         private Predicate<ClassFileInJar> by(ImportOptions importOptions) {
@@ -127,7 +139,7 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
                 InputStream getInputStream() throws IOException {
                     return input.openStream();
                 }
-            });
+            }, input::readContent, input.getFingerprint());
         }
 
         @Override
@@ -136,26 +148,43 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
         }
 
         private static class ClassFileInJar {
-            private final JarURLConnection connection;
+            private final JarFile jarFile;
             private final JarEntry jarEntry;
             private final URI uri;
 
-            private ClassFileInJar(JarURLConnection connection, JarEntry jarEntry) {
-                this.connection = connection;
+            private ClassFileInJar(JarURLConnection connection, JarEntry jarEntry) throws IOException {
+                this.jarFile = connection.getJarFile();
                 this.jarEntry = jarEntry;
-                this.uri = makeJarUri(jarEntry);
-            }
-
-            private URI makeJarUri(JarEntry input) {
-                return Location.of(connection.getURL()).append(input.getName()).asURI();
+                this.uri = Location.of(connection.getURL()).append(jarEntry.getName()).asURI();
             }
 
             URI getUri() {
                 return uri;
             }
 
+            Optional<String> getFingerprint() {
+                return ClassFileFingerprint.of(jarEntry);
+            }
+
             InputStream openStream() throws IOException {
-                return connection.getJarFile().getInputStream(jarEntry);
+                return jarFile.getInputStream(jarEntry);
+            }
+
+            // the size of the entry is known from the central directory, so we can inflate it directly into an array of the right size
+            byte[] readContent() throws IOException {
+                long size = jarEntry.getSize();
+                if (size < 0 || size > Integer.MAX_VALUE) {
+                    try (InputStream in = openStream()) {
+                        return ByteStreams.toByteArray(in);
+                    }
+                }
+
+                byte[] content = new byte[(int) size];
+                try (InputStream in = openStream()) {
+                    ByteStreams.readFully(in, content);
+                    checkState(in.read() < 0, "Entry %s is larger than its declared size %s", jarEntry.getName(), size);
+                }
+                return content;
             }
 
             boolean isIncludedIn(ImportOptions importOptions) {
@@ -168,10 +197,14 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
     class InputStreamSupplierClassFileLocation implements ClassFileLocation {
         private final URI uri;
         private final Supplier<InputStream> streamSupplier;
+        private final ContentReader contentReader;
+        private final Optional<String> fingerprint;
 
-        InputStreamSupplierClassFileLocation(URI uri, Supplier<InputStream> streamSupplier) {
+        InputStreamSupplierClassFileLocation(URI uri, Supplier<InputStream> streamSupplier, ContentReader contentReader, Optional<String> fingerprint) {
             this.uri = uri;
             this.streamSupplier = streamSupplier;
+            this.contentReader = contentReader;
+            this.fingerprint = fingerprint;
         }
 
         @Override
@@ -179,17 +212,33 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             return streamSupplier.get();
         }
 
+        @Override
+        public byte[] readContent() throws IOException {
+            return contentReader.read();
+        }
+
         @Override
         public URI getUri() {
             return uri;
         }
 
+        @Override
+        public Optional<String> getFingerprint() {
+            return fingerprint;
+        }
+
         @Override
         public String toString() {
             return getClass().getSimpleName() + "{uri=" + uri + '}';
         }
     }
 
+    @Internal
+    @FunctionalInterface
+    interface ContentReader {
+        byte[] read() throws IOException;
+    }
+
     @Internal
     abstract class InputStreamSupplier implements Supplier<InputStream> {
         @Override
@@ -24,7 +24,6 @@ import java.util.stream.Stream;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.tngtech.archunit.base.HasDescription;
@@ -54,6 +53,7 @@ import com.tngtech.archunit.core.domain.JavaType;
 import com.tngtech.archunit.core.domain.JavaTypeVariable;
 import com.tngtech.archunit.core.domain.ReferencedClassObject;
 import com.tngtech.archunit.core.importer.AccessRecord.FieldAccessRecord;
+import com.tngtech.archunit.core.importer.AccessRecord.Factory.MemberResolutionTable;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassTypeParametersBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorCallBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorReferenceBuilder;
@@ -79,6 +79,11 @@ import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.creat
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createReferencedClassObject;
 import static com.tngtech.archunit.core.importer.DomainBuilders.BuilderWithBuildParameter.BuildFinisher.build;
 import static com.tngtech.archunit.core.importer.DomainBuilders.buildAnnotations;
+import static com.tngtech.archunit.core.importer.ImportPhase.COMPLETE_CLASSES;
+import static com.tngtech.archunit.core.importer.ImportPhase.COMPLETE_CODE_UNIT_DEPENDENCIES;
+import static com.tngtech.archunit.core.importer.ImportPhase.CREATE_DEPENDENCIES;
+import static com.tngtech.archunit.core.importer.ImportPhase.CREATE_REVERSE_DEPENDENCIES;
+import static com.tngtech.archunit.core.importer.ImportPhase.RESOLVE_DEPENDENCIES;
 import static com.tngtech.archunit.core.importer.JavaClassDescriptorImporter.isLambdaMethodName;
 import static com.tngtech.archunit.core.importer.JavaClassDescriptorImporter.isSyntheticAccessMethodName;
 
@@ -87,27 +92,43 @@ class ClassGraphCreator implements ImportContext {
 
     private final ClassFileImportRecord importRecord;
     private final DependencyResolutionProcess dependencyResolutionProcess;
-
-    private final SetMultimap<JavaCodeUnit, FieldAccessRecord> processedFieldAccessRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<MethodCallTarget>> processedMethodCallRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<ConstructorCallTarget>> processedConstructorCallRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<MethodReferenceTarget>> processedMethodReferenceRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<ConstructorReferenceTarget>> processedConstructorReferenceRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, ReferencedClassObject> processedReferencedClassObjects = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, InstanceofCheck> processedInstanceofChecks = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, TryCatchBlockBuilder> processedTryCatchBlocks = HashMultimap.create();
-
-    ClassGraphCreator(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, ClassResolver classResolver) {
+    private final ImportDetails importDetails;
+    private final ImportStatistics.Recorder statistics;
+
+    private final RecordsByCodeUnit<FieldAccessRecord> processedFieldAccessRecords = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<AccessRecord<MethodCallTarget>> processedMethodCallRecords = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<AccessRecord<ConstructorCallTarget>> processedConstructorCallRecords = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<AccessRecord<MethodReferenceTarget>> processedMethodReferenceRecords = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<AccessRecord<ConstructorReferenceTarget>> processedConstructorReferenceRecords = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<ReferencedClassObject> processedReferencedClassObjects = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<InstanceofCheck> processedInstanceofChecks = new RecordsByCodeUnit<>();
+    private final RecordsByCodeUnit<TryCatchBlockBuilder> processedTryCatchBlocks = new RecordsByCodeUnit<>();
+    private final SetMultimap<RawAccessRecord, TryCatchBlockBuilder> processedTryCatchBlocksByContainedAccess = HashMultimap.create();
+    private final MemberResolutionTable memberResolution = new MemberResolutionTable();
+
+    ClassGraphCreator(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, ClassResolver classResolver,
+            ImportDetails importDetails, ImportStatistics.Recorder statistics) {
         this.importRecord = importRecord;
         this.dependencyResolutionProcess = dependencyResolutionProcess;
-        classes = new ImportedClasses(importRecord.getClasses(), classResolver, this::getMethodReturnType);
+        this.importDetails = importDetails;
+        this.statistics = statistics;
+        classes = new ImportedClasses(importRecord.getClasses(), classResolver, this::getMethodReturnType, statistics);
     }
 
     JavaClasses complete() {
+        statistics.startPhase(RESOLVE_DEPENDENCIES);
         dependencyResolutionProcess.resolve(classes);
+        statistics.onDependencyResolutionFinished(dependencyResolutionProcess.getNumberOfRuns());
+
+        statistics.startPhase(COMPLETE_CLASSES);
         completeClasses();
+
+        statistics.startPhase(COMPLETE_CODE_UNIT_DEPENDENCIES);
         completeCodeUnitDependencies();
-        return createJavaClasses(classes.getDirectlyImported(), classes.getAllWithOuterClassesSortedBeforeInnerClasses(), this);
+
+        statistics.startPhase(CREATE_DEPENDENCIES);
+        return createJavaClasses(classes.getDirectlyImported(), classes.getAllWithOuterClassesSortedBeforeInnerClasses(), this,
+                () -> statistics.startPhase(CREATE_REVERSE_DEPENDENCIES));
     }
 
     private void completeClasses() {
@@ -141,10 +162,11 @@ class ClassGraphCreator implements ImportContext {
     private <T extends AccessRecord<?>, B extends RawAccessRecord> void tryProcess(
             B rawRecord,
             AccessRecord.Factory<B, T> factory,
-            Multimap<JavaCodeUnit, T> processedAccessRecords) {
+            RecordsByCodeUnit<T> processedAccessRecords) {
 
-        T processed = factory.create(rawRecord, classes);
-        processedAccessRecords.put(processed.getOrigin(), processed);
+        statistics.onAccessRecordProcessed();
+        T processed = factory.create(rawRecord, classes, memberResolution);
+        processedAccessRecords.add(processed.getOrigin(), processed);
     }
 
     private void processReferencedClassObject(RawReferencedClassObject rawReferencedClassObject) {
@@ -155,7 +177,7 @@ class ClassGraphCreator implements ImportContext {
                 rawReferencedClassObject.getLineNumber(),
                 rawReferencedClassObject.isDeclaredInLambda()
         );
-        processedReferencedClassObjects.put(origin, referencedClassObject);
+        processedReferencedClassObjects.add(origin, referencedClassObject);
     }
 
     private void processInstanceofCheck(RawInstanceofCheck rawInstanceofCheck) {
@@ -166,7 +188,7 @@ class ClassGraphCreator implements ImportContext {
                 rawInstanceofCheck.getLineNumber(),
                 rawInstanceofCheck.isDeclaredInLambda()
         );
-        processedInstanceofChecks.put(origin, instanceofCheck);
+        processedInstanceofChecks.add(origin, instanceofCheck);
     }
 
     private void processTryCatchBlock(RawTryCatchBlock rawTryCatchBlock) {
@@ -180,7 +202,8 @@ class ClassGraphCreator implements ImportContext {
                 .withLineNumber(rawTryCatchBlock.getLineNumber())
                 .withRawAccessesContainedInTryBlock(rawTryCatchBlock.getAccessesInTryBlock())
                 .withDeclaredInLambda(rawTryCatchBlock.isDeclaredInLambda());
-        processedTryCatchBlocks.put(declaringCodeUnit, tryCatchBlockBuilder);
+        processedTryCatchBlocks.add(declaringCodeUnit, tryCatchBlockBuilder);
+        rawTryCatchBlock.getAccessesInTryBlock().forEach(rawAccess -> processedTryCatchBlocksByContainedAccess.put(rawAccess, tryCatchBlockBuilder));
     }
 
     @Override
@@ -240,8 +263,12 @@ class ClassGraphCreator implements ImportContext {
         return result.build();
     }
 
+    // looking up the try-catch-blocks by the contained access avoids checking every try-catch-block of the code unit for every access
     private void handlePossibleTryBlockAccess(Set<TryCatchBlockBuilder> tryCatchBlockBuilders, AccessRecord<?> record, JavaAccess<?> access) {
-        tryCatchBlockBuilders.forEach(builder -> builder.addIfContainedInTryBlock(record.getRaw(), access));
+        if (tryCatchBlockBuilders.isEmpty()) {
+            return;
+        }
+        processedTryCatchBlocksByContainedAccess.get(record.getRaw()).forEach(builder -> builder.addIfContainedInTryBlock(record.getRaw(), access));
     }
 
     private <T extends AccessTarget, B extends DomainBuilders.JavaAccessBuilder<T, B>>
@@ -378,7 +405,7 @@ class ClassGraphCreator implements ImportContext {
 
     @Override
     public Set<TryCatchBlockBuilder> createTryCatchBlockBuilders(JavaCodeUnit codeUnit) {
-        return processedTryCatchBlocks.get(codeUnit);
+        return ImmutableSet.copyOf(processedTryCatchBlocks.get(codeUnit));
     }
 
     @Override
@@ -396,6 +423,16 @@ class ClassGraphCreator implements ImportContext {
         return classes.getOrResolve(fullyQualifiedClassName);
     }
 
+    @Override
+    public boolean isCodeImported() {
+        return importDetails.isCodeImported();
+    }
+
+    @Override
+    public boolean areInstanceofChecksImported() {
+        return importDetails.areInstanceofChecksImported();
+    }
+
     private Optional<JavaClass> getMethodReturnType(String declaringClassName, String methodName) {
         for (JavaMethodBuilder methodBuilder : importRecord.getMethodBuildersFor(declaringClassName)) {
             if (methodBuilder.getName().equals(methodName) && methodBuilder.hasNoParameters()) {
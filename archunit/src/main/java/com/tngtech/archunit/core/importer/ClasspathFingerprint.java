@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import com.google.common.base.Splitter;
+
+import static com.google.common.hash.Hashing.murmur3_128;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.isRegularFile;
+
+/**
+ * A cheap fingerprint of the classpath a {@link ClassLoader} looks up class files from, i.e. the entries of all
+ * {@link URLClassLoader URLClassLoaders} up to the system {@link ClassLoader} (or {@code java.class.path}), including the
+ * {@code Class-Path} entries of JAR manifests, together with the size and last modification time of every archive.
+ * New class files within a directory would not change the fingerprint, thus {@link #isStillMissing(String)} checks the
+ * directories of the classpath for the class file of a missing type directly.
+ */
+final class ClasspathFingerprint {
+    private final String fingerprint;
+    private final List<Path> directories;
+
+    private ClasspathFingerprint(String fingerprint, List<Path> directories) {
+        this.fingerprint = fingerprint;
+        this.directories = directories;
+    }
+
+    String getValue() {
+        return fingerprint;
+    }
+
+    /**
+     * @param typeName The name of a type that could not be found on the classpath with the fingerprint of this object
+     * @return {@code true}, if the type still cannot be found within any directory of the classpath
+     */
+    boolean isStillMissing(String typeName) {
+        String classFile = typeName.replace('.', '/') + ".class";
+        return directories.stream().noneMatch(directory -> Files.exists(directory.resolve(classFile)));
+    }
+
+    /**
+     * @return The fingerprint of the classpath of the given {@link ClassLoader}, if all its entries are known,
+     *         i.e. if all {@link ClassLoader ClassLoaders} up to the system {@link ClassLoader} are
+     *         {@link URLClassLoader URLClassLoaders} with local entries only
+     */
+    static Optional<ClasspathFingerprint> of(ClassLoader classLoader) {
+        Optional<Set<Path>> entries = getEntries(classLoader);
+        if (!entries.isPresent()) {
+            return Optional.empty();
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        List<Path> directories = new ArrayList<>();
+        Set<Path> visited = new LinkedHashSet<>();
+        for (Path entry : entries.get()) {
+            addEntry(entry, fingerprint, directories, visited);
+        }
+        return Optional.of(new ClasspathFingerprint(murmur3_128().hashUnencodedChars(fingerprint).toString(), directories));
+    }
+
+    // the parents of the system ClassLoader only look up the classes of the Java runtime, which cannot change
+    private static Optional<Set<Path>> getEntries(ClassLoader classLoader) {
+        Set<Path> entries = new LinkedHashSet<>();
+        ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current instanceof URLClassLoader) {
+                if (!addEntries((URLClassLoader) current, entries)) {
+                    return Optional.empty();
+                }
+            } else if (current == systemClassLoader) {
+                Splitter.on(File.pathSeparatorChar).omitEmptyStrings()
+                        .split(System.getProperty("java.class.path", ""))
+                        .forEach(entry -> entries.add(Paths.get(entry).toAbsolutePath()));
+            } else {
+                return Optional.empty();
+            }
+            if (current == systemClassLoader) {
+                break;
+            }
+        }
+        return Optional.of(entries);
+    }
+
+    private static boolean addEntries(URLClassLoader classLoader, Set<Path> entries) {
+        for (URL url : classLoader.getURLs()) {
+            if (!"file".equals(url.getProtocol())) {
+                return false;
+            }
+            try {
+                entries.add(Paths.get(url.toURI()));
+            } catch (URISyntaxException | RuntimeException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addEntry(Path entry, StringBuilder fingerprint, List<Path> directories, Set<Path> visited) {
+        if (!visited.add(entry)) {
+            return;
+        }
+        fingerprint.append(entry).append(':');
+        if (isDirectory(entry)) {
+            directories.add(entry);
+            fingerprint.append("directory;");
+        } else if (isRegularFile(entry)) {
+            fingerprint.append(getAttributes(entry)).append(';');
+            for (Path manifestEntry : getManifestClassPath(entry)) {
+                addEntry(manifestEntry, fingerprint, directories, visited);
+            }
+        } else {
+            fingerprint.append("absent;");
+        }
+    }
+
+    private static String getAttributes(Path file) {
+        try {
+            return ClassFileFingerprint.of(Files.readAttributes(file, BasicFileAttributes.class)).orElse("unknown");
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static List<Path> getManifestClassPath(Path archive) {
+        List<Path> result = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(archive.toFile())) {
+            Manifest manifest = jarFile.getManifest();
+            String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+            if (classPath != null) {
+                for (String entry : Splitter.on(' ').omitEmptyStrings().split(classPath)) {
+                    result.add(Paths.get(archive.toUri().resolve(entry)));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not a readable archive, thus it does not contribute any further entries
+        }
+        return result;
+    }
+}
@@ -21,7 +21,6 @@ import java.util.Properties;
 import java.util.Set;
 
 import com.tngtech.archunit.ArchConfiguration;
-import com.tngtech.archunit.core.importer.ImportedClasses.ImportedClassState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,42 +31,72 @@ class DependencyResolutionProcess {
     private static final Logger log = LoggerFactory.getLogger(DependencyResolutionProcess.class);
 
     static final String DEPENDENCY_RESOLUTION_PROCESS_PROPERTY_PREFIX = "import.dependencyResolutionProcess";
-    private final Properties resolutionProcessProperties = ArchConfiguration.get().getSubProperties(DEPENDENCY_RESOLUTION_PROCESS_PROPERTY_PREFIX);
+    private final Properties resolutionProcessProperties;
 
     static final String MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME = "maxIterationsForMemberTypes";
     static final int MAX_ITERATIONS_FOR_MEMBER_TYPES_DEFAULT_VALUE = 1;
-    private final int maxRunsForMemberTypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_MEMBER_TYPES_DEFAULT_VALUE);
+    private final int maxRunsForMemberTypes;
 
     static final String MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME = "maxIterationsForAccessesToTypes";
     static final int MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_DEFAULT_VALUE = 1;
-    private final int maxRunsForAccessesToTypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_DEFAULT_VALUE);
+    private final int maxRunsForAccessesToTypes;
 
     static final String MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME = "maxIterationsForSupertypes";
     static final int MAX_ITERATIONS_FOR_SUPERTYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForSupertypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_SUPERTYPES_DEFAULT_VALUE);
+    private final int maxRunsForSupertypes;
 
     static final String MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME = "maxIterationsForEnclosingTypes";
     static final int MAX_ITERATIONS_FOR_ENCLOSING_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForEnclosingTypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ENCLOSING_TYPES_DEFAULT_VALUE);
+    private final int maxRunsForEnclosingTypes;
 
     static final String MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME = "maxIterationsForAnnotationTypes";
     static final int MAX_ITERATIONS_FOR_ANNOTATION_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForAnnotationTypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ANNOTATION_TYPES_DEFAULT_VALUE);
+    private final int maxRunsForAnnotationTypes;
 
     static final String MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME = "maxIterationsForGenericSignatureTypes";
     static final int MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForGenericSignatureTypes = getConfiguredIterations(
-            MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_DEFAULT_VALUE);
+    private final int maxRunsForGenericSignatureTypes;
 
     private Set<String> currentTypeNames = new HashSet<>();
     private int runNumber = 1;
     private boolean shouldContinue;
 
+    DependencyResolutionProcess() {
+        this(ArchConfiguration.get().getSubProperties(DEPENDENCY_RESOLUTION_PROCESS_PROPERTY_PREFIX));
+    }
+
+    private DependencyResolutionProcess(Properties resolutionProcessProperties) {
+        this.resolutionProcessProperties = resolutionProcessProperties;
+        maxRunsForMemberTypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_MEMBER_TYPES_DEFAULT_VALUE);
+        maxRunsForAccessesToTypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_DEFAULT_VALUE);
+        maxRunsForSupertypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_SUPERTYPES_DEFAULT_VALUE);
+        maxRunsForEnclosingTypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ENCLOSING_TYPES_DEFAULT_VALUE);
+        maxRunsForAnnotationTypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ANNOTATION_TYPES_DEFAULT_VALUE);
+        maxRunsForGenericSignatureTypes = getConfiguredIterations(
+                MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_DEFAULT_VALUE);
+    }
+
+    /**
+     * @return A new process with the same configuration and current run as this process, but without any registered types.
+     *         Types registered with the fragment can later be transferred via {@link #registerAll(DependencyResolutionProcess)}.
+     *         Since the configuration is copied the fragment can safely be created and used by a different thread
+     *         (which would not see a thread local {@link ArchConfiguration}).
+     */
+    DependencyResolutionProcess createFragment() {
+        DependencyResolutionProcess fragment = new DependencyResolutionProcess(resolutionProcessProperties);
+        fragment.runNumber = runNumber;
+        return fragment;
+    }
+
+    void registerAll(DependencyResolutionProcess fragment) {
+        currentTypeNames.addAll(fragment.currentTypeNames);
+    }
+
     void registerMemberType(String typeName) {
         if (runNumberHasNotExceeded(maxRunsForMemberTypes)) {
             currentTypeNames.add(typeName);
@@ -123,6 +152,13 @@ class DependencyResolutionProcess {
         } while (shouldContinue);
     }
 
+    /**
+     * @return The number of runs {@link #resolve(ImportedClasses)} has executed so far
+     */
+    int getNumberOfRuns() {
+        return runNumber - 1;
+    }
+
     private void logConfiguration() {
         log.trace("Automatically resolving transitive class dependencies with the following configuration:{}{}{}{}{}{}",
                 formatConfigProperty(MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME, maxRunsForMemberTypes),
@@ -141,11 +177,7 @@ class DependencyResolutionProcess {
         runNumber++;
         Set<String> typeNamesToResolve = this.currentTypeNames;
         currentTypeNames = new HashSet<>();
-        shouldContinue = false;
-        for (String typeName : typeNamesToResolve) {
-            ImportedClassState classState = classes.ensurePresent(typeName);
-            shouldContinue = shouldContinue || (classState == HAD_TO_BE_IMPORTED);
-        }
+        shouldContinue = classes.ensureAllPresent(typeNamesToResolve) == HAD_TO_BE_IMPORTED;
     }
 
     private boolean runNumberHasNotExceeded(int maxRuns) {
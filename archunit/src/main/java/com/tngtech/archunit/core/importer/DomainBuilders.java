@@ -78,7 +78,6 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Sets.union;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.completeTypeVariable;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createGenericArrayType;
-import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createSource;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createThrowsClause;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createTryCatchBlock;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createTypeVariable;
@@ -246,6 +245,10 @@ public final class DomainBuilders {
         private SetMultimap<Integer, JavaAnnotationBuilder> parameterAnnotationsByIndex;
         private JavaCodeUnitTypeParametersBuilder typeParametersBuilder;
         private List<JavaClassDescriptor> throwsDeclarations;
+        private boolean codeImported = true;
+        private boolean tryCatchBlocksImported = true;
+        private boolean instanceofChecksImported = true;
+        private boolean referencedClassObjectsImported = true;
 
         private JavaCodeUnitBuilder() {
         }
@@ -277,6 +280,26 @@ public final class DomainBuilders {
             return self();
         }
 
+        SELF withCodeImported(boolean codeImported) {
+            this.codeImported = codeImported;
+            return self();
+        }
+
+        SELF withTryCatchBlocksImported(boolean tryCatchBlocksImported) {
+            this.tryCatchBlocksImported = tryCatchBlocksImported;
+            return self();
+        }
+
+        SELF withInstanceofChecksImported(boolean instanceofChecksImported) {
+            this.instanceofChecksImported = instanceofChecksImported;
+            return self();
+        }
+
+        SELF withReferencedClassObjectsImported(boolean referencedClassObjectsImported) {
+            this.referencedClassObjectsImported = referencedClassObjectsImported;
+            return self();
+        }
+
         String getReturnTypeName() {
             return rawReturnType.getFullyQualifiedClassName();
         }
@@ -331,6 +354,22 @@ public final class DomainBuilders {
             return result.build();
         }
 
+        public boolean isCodeImported() {
+            return codeImported;
+        }
+
+        public boolean areTryCatchBlocksImported() {
+            return tryCatchBlocksImported;
+        }
+
+        public boolean areInstanceofChecksImported() {
+            return instanceofChecksImported;
+        }
+
+        public boolean areReferencedClassObjectsImported() {
+            return referencedClassObjectsImported;
+        }
+
         public ParameterAnnotationsBuilder getParameterAnnotationsBuilder(int index) {
             return new ParameterAnnotationsBuilder(parameterAnnotationsByIndex.get(index), importedClasses);
         }
@@ -468,7 +507,7 @@ public final class DomainBuilders {
         }
 
         public Optional<Source> getSource() {
-            return sourceDescriptor.map(value -> createSource(value.getUri(), sourceFileName, value.isMd5InClassSourcesEnabled()));
+            return sourceDescriptor.map(value -> value.createSource(sourceFileName));
         }
 
         public JavaClassDescriptor getDescriptor() {
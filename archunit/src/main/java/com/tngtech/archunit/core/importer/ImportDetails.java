@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.Properties;
+
+import com.tngtech.archunit.ArchConfiguration;
+
+import static org.objectweb.asm.ClassReader.SKIP_CODE;
+
+/**
+ * Determines which details of the class files are imported. By default everything is imported, but expensive details
+ * that some rules never need can be switched off via {@link ArchConfiguration}, e.g.
+ * <pre><code>
+ * import.detail.code=false
+ * import.detail.tryCatchBlocks=false
+ * </code></pre>
+ * Switching off {@value #CODE_PROPERTY_NAME} implies that all details within the code
+ * (like {@value #TRY_CATCH_BLOCKS_PROPERTY_NAME}) are not imported either.
+ */
+class ImportDetails {
+    static final String IMPORT_DETAIL_PROPERTY_PREFIX = "import.detail";
+
+    static final String CODE_PROPERTY_NAME = "code";
+    static final String TRY_CATCH_BLOCKS_PROPERTY_NAME = "tryCatchBlocks";
+    static final String INSTANCEOF_CHECKS_PROPERTY_NAME = "instanceofChecks";
+    static final String REFERENCED_CLASS_OBJECTS_PROPERTY_NAME = "referencedClassObjects";
+    static final String GENERIC_SIGNATURES_PROPERTY_NAME = "genericSignatures";
+    static final String ANNOTATION_DEFAULT_VALUES_PROPERTY_NAME = "annotationDefaultValues";
+
+    private final boolean codeImported;
+    private final boolean tryCatchBlocksImported;
+    private final boolean instanceofChecksImported;
+    private final boolean referencedClassObjectsImported;
+    private final boolean genericSignaturesImported;
+    private final boolean annotationDefaultValuesImported;
+
+    private ImportDetails(Properties importDetailProperties) {
+        codeImported = isEnabled(importDetailProperties, CODE_PROPERTY_NAME);
+        tryCatchBlocksImported = codeImported && isEnabled(importDetailProperties, TRY_CATCH_BLOCKS_PROPERTY_NAME);
+        instanceofChecksImported = codeImported && isEnabled(importDetailProperties, INSTANCEOF_CHECKS_PROPERTY_NAME);
+        referencedClassObjectsImported = codeImported && isEnabled(importDetailProperties, REFERENCED_CLASS_OBJECTS_PROPERTY_NAME);
+        genericSignaturesImported = isEnabled(importDetailProperties, GENERIC_SIGNATURES_PROPERTY_NAME);
+        annotationDefaultValuesImported = isEnabled(importDetailProperties, ANNOTATION_DEFAULT_VALUES_PROPERTY_NAME);
+    }
+
+    private static boolean isEnabled(Properties importDetailProperties, String propertyName) {
+        return Boolean.parseBoolean(importDetailProperties.getProperty(propertyName, "true").trim());
+    }
+
+    /**
+     * @return {@code true}, if the code of methods, constructors and static initializers (i.e. all accesses,
+     *         try-catch-blocks, instanceof checks and referenced class objects) is imported
+     */
+    boolean isCodeImported() {
+        return codeImported;
+    }
+
+    boolean areTryCatchBlocksImported() {
+        return tryCatchBlocksImported;
+    }
+
+    boolean areInstanceofChecksImported() {
+        return instanceofChecksImported;
+    }
+
+    boolean areReferencedClassObjectsImported() {
+        return referencedClassObjectsImported;
+    }
+
+    /**
+     * @return {@code true}, if the default values of annotation properties are imported. Otherwise,
+     *         annotations will only contain the values that have been explicitly declared.
+     */
+    boolean areAnnotationDefaultValuesImported() {
+        return annotationDefaultValuesImported;
+    }
+
+    /**
+     * If generic signatures are not imported, all types will be imported as raw types
+     * (e.g. {@code List} instead of {@code List<String>}) and there will be no type parameters.
+     *
+     * @param signature A generic signature as passed to a {@link org.objectweb.asm.ClassVisitor}
+     * @return the signature if generic signatures are imported, {@code null} otherwise, i.e. just as if the signature was absent
+     */
+    String filterGenericSignature(String signature) {
+        return genericSignaturesImported ? signature : null;
+    }
+
+    /**
+     * @return the options to pass to {@link org.objectweb.asm.ClassReader#accept(org.objectweb.asm.ClassVisitor, int)}
+     */
+    int getParsingOptions() {
+        return codeImported ? 0 : SKIP_CODE;
+    }
+
+    static ImportDetails fromConfiguration() {
+        return new ImportDetails(ArchConfiguration.get().getSubProperties(IMPORT_DETAIL_PROPERTY_PREFIX));
+    }
+}
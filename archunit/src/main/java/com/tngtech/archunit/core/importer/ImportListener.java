@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
+
+/**
+ * Can be registered via {@link ClassFileImporter#withImportListener(ImportListener)} to be informed about
+ * where the time of each import goes, e.g. to detect performance regressions of an import or to tune
+ * the configuration of the import (like the dependency resolution process) based on data.
+ */
+@PublicAPI(usage = INHERITANCE)
+public interface ImportListener {
+    /**
+     * Called on the importing thread once an import has finished successfully, right before the imported
+     * classes are returned.
+     *
+     * @param statistics The durations of all {@link ImportPhase phases} and further counters of the finished import
+     */
+    void onImportFinished(ImportStatistics statistics);
+}
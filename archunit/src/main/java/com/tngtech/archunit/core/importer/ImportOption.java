@@ -39,6 +39,20 @@ import static com.tngtech.archunit.core.importer.ImportOption.Predefined.TEST_LO
 public interface ImportOption {
     boolean includes(Location location);
 
+    /**
+     * Allows to skip whole directories when scanning the file system for class files,
+     * instead of evaluating {@link #includes(Location)} for every single class file beneath them.<br>
+     * An implementation must only return {@code false}, if {@link #includes(Location)} would return {@code false}
+     * for every {@link Location} beneath the directory. By default, any {@link Location} beneath
+     * a directory is assumed to be possibly included.
+     *
+     * @param directory The {@link Location} of a directory (its URI always ends with {@code '/'})
+     * @return {@code false}, if no {@link Location} beneath this directory can be included, {@code true} otherwise
+     */
+    default boolean mayIncludeLocationsBeneath(Location directory) {
+        return true;
+    }
+
     enum Predefined implements ImportOption {
         DO_NOT_INCLUDE_TESTS {
             private final DoNotIncludeTests doNotIncludeTests = new DoNotIncludeTests();
@@ -47,6 +61,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeTests.includes(location);
             }
+
+            @Override
+            public boolean mayIncludeLocationsBeneath(Location directory) {
+                return doNotIncludeTests.mayIncludeLocationsBeneath(directory);
+            }
         },
         ONLY_INCLUDE_TESTS {
             private final OnlyIncludeTests onlyIncludeTests = new OnlyIncludeTests();
@@ -66,6 +85,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeGradleTestFixtures.includes(location);
             }
+
+            @Override
+            public boolean mayIncludeLocationsBeneath(Location directory) {
+                return doNotIncludeGradleTestFixtures.mayIncludeLocationsBeneath(directory);
+            }
         },
         DO_NOT_INCLUDE_JARS {
             private final DoNotIncludeJars doNotIncludeJars = new DoNotIncludeJars();
@@ -98,6 +122,7 @@ public interface ImportOption {
             }
         };
 
+        // all patterns end with '.*', so if a directory matches, every location beneath that directory matches as well
         static final PatternPredicate MAVEN_TEST_PATTERN = new PatternPredicate(".*/target/test-classes/.*");
         static final PatternPredicate GRADLE_TEST_PATTERN = new PatternPredicate(".*/build/classes/([^/]+/)?test/.*");
         static final PatternPredicate INTELLIJ_TEST_PATTERN = new PatternPredicate(".*/out/test/.*");
@@ -130,6 +155,11 @@ public interface ImportOption {
         public boolean includes(Location location) {
             return NO_TEST_LOCATION.test(location);
         }
+
+        @Override
+        public boolean mayIncludeLocationsBeneath(Location directory) {
+            return NO_TEST_LOCATION.test(directory);
+        }
     }
 
     /**
@@ -158,6 +188,11 @@ public interface ImportOption {
         public boolean includes(Location location) {
             return !location.matches(TEST_FIXTURES_FILE_PATH_PATTERN) && !location.matches(TEST_FIXTURES_JAR_PATH_PATTERN);
         }
+
+        @Override
+        public boolean mayIncludeLocationsBeneath(Location directory) {
+            return !directory.matches(TEST_FIXTURES_FILE_PATH_PATTERN);
+        }
     }
 
     final class DoNotIncludeJars implements ImportOption {
@@ -46,4 +46,8 @@ final class ImportOptions {
     boolean include(Location location) {
         return options.stream().allMatch(option -> option.includes(location));
     }
+
+    boolean mayIncludeLocationsBeneath(Location directory) {
+        return options.stream().allMatch(option -> option.mayIncludeLocationsBeneath(directory));
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * The phases of an import by the {@link ClassFileImporter} in the order they are executed.
+ * The wall time spent in each phase is reported by {@link ImportStatistics#getDuration(ImportPhase)}.
+ */
+@PublicAPI(usage = ACCESS)
+public enum ImportPhase {
+    /**
+     * Discovering the class files at the imported {@link Location locations}, e.g. by walking directories or JAR files.
+     * Note that the locations are scanned lazily while the class files are parsed, so this only covers the time
+     * the importer has been waiting for the next class file (e.g. not the time a prefetching thread scans in parallel).
+     */
+    @PublicAPI(usage = ACCESS)
+    SCAN_LOCATIONS,
+    /**
+     * Reading and parsing the class files. For a parallel import this is the time the importer has been waiting
+     * for the class files to be parsed and merging the results.
+     */
+    @PublicAPI(usage = ACCESS)
+    PARSE_CLASS_FILES,
+    /**
+     * Resolving types that are missing from the imported classes via the configured
+     * {@link com.tngtech.archunit.core.importer.resolvers.ClassResolver ClassResolver} (compare
+     * {@link ImportStatistics#getNumberOfDependencyResolutionRuns()}).
+     */
+    @PublicAPI(usage = ACCESS)
+    RESOLVE_DEPENDENCIES,
+    /**
+     * Completing the class hierarchy, type parameters, members and annotations of all classes.
+     */
+    @PublicAPI(usage = ACCESS)
+    COMPLETE_CLASSES,
+    /**
+     * Processing the accesses, referenced class objects, instanceof checks and try-catch-blocks recorded from the code
+     * of all methods, constructors and static initializers, i.e. resolving their origins and target owners.
+     */
+    @PublicAPI(usage = ACCESS)
+    COMPLETE_CODE_UNIT_DEPENDENCIES,
+    /**
+     * Creating the accesses and dependencies from each class to other classes.
+     */
+    @PublicAPI(usage = ACCESS)
+    CREATE_DEPENDENCIES,
+    /**
+     * Creating the reverse dependencies, i.e. the accesses and dependencies to each class from other classes.
+     */
+    @PublicAPI(usage = ACCESS)
+    CREATE_REVERSE_DEPENDENCIES
+}
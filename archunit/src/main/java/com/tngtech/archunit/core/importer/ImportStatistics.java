@@ -0,0 +1,274 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.FlightRecorderPlugin;
+import com.tngtech.archunit.core.domain.JavaClassDescriptor;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.core.importer.ImportPhase.SCAN_LOCATIONS;
+
+/**
+ * Reports the wall time spent in each {@link ImportPhase} of an import, together with some counters that
+ * explain the durations (e.g. how many classes have been parsed or resolved). Compare {@link ImportListener}.
+ */
+@PublicAPI(usage = ACCESS)
+public final class ImportStatistics {
+    private final Map<ImportPhase, Duration> durationsByPhase;
+    private final int numberOfParsedClasses;
+    private final int numberOfDependencyResolutionRuns;
+    private final int numberOfResolvedClasses;
+    private final int numberOfStubClasses;
+    private final long resolvedClassCacheHitCount;
+    private final long resolvedClassCacheMissCount;
+    private final long descriptorCacheHitCount;
+    private final long descriptorCacheMissCount;
+    private final long descriptorCacheEvictionCount;
+    private final int numberOfAccessRecords;
+
+    private ImportStatistics(Recorder recorder, CacheStats resolvedClassCacheStats, CacheStats descriptorCacheStats) {
+        ImmutableMap.Builder<ImportPhase, Duration> durationsByPhase = ImmutableMap.builder();
+        for (ImportPhase phase : ImportPhase.values()) {
+            durationsByPhase.put(phase, Duration.ofNanos(recorder.nanosByPhase.getOrDefault(phase, 0L)));
+        }
+        this.durationsByPhase = durationsByPhase.build();
+        numberOfParsedClasses = recorder.numberOfParsedClasses;
+        numberOfDependencyResolutionRuns = recorder.numberOfDependencyResolutionRuns;
+        numberOfResolvedClasses = recorder.numberOfResolvedClasses;
+        numberOfStubClasses = recorder.numberOfStubClasses;
+        resolvedClassCacheHitCount = resolvedClassCacheStats.hitCount();
+        resolvedClassCacheMissCount = resolvedClassCacheStats.missCount();
+        descriptorCacheHitCount = descriptorCacheStats.hitCount();
+        descriptorCacheMissCount = descriptorCacheStats.missCount();
+        descriptorCacheEvictionCount = descriptorCacheStats.evictionCount();
+        numberOfAccessRecords = recorder.numberOfAccessRecords;
+    }
+
+    /**
+     * @param phase An {@link ImportPhase}
+     * @return The wall time spent in the respective phase on the importing thread
+     */
+    @PublicAPI(usage = ACCESS)
+    public Duration getDuration(ImportPhase phase) {
+        return durationsByPhase.get(phase);
+    }
+
+    /**
+     * @return The wall time of the whole import, i.e. the sum of the durations of all {@link ImportPhase phases}
+     */
+    @PublicAPI(usage = ACCESS)
+    public Duration getTotalDuration() {
+        return durationsByPhase.values().stream().reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * @return The number of class files that have been parsed from the imported locations
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfParsedClasses() {
+        return numberOfParsedClasses;
+    }
+
+    /**
+     * @return The number of runs of the dependency resolution process, each of which passes all types that
+     *         are still missing at once to the configured {@link com.tngtech.archunit.core.importer.resolvers.ClassResolver ClassResolver}
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfDependencyResolutionRuns() {
+        return numberOfDependencyResolutionRuns;
+    }
+
+    /**
+     * @return The number of classes that were missing from the imported locations and have been resolved by the configured
+     *         {@link com.tngtech.archunit.core.importer.resolvers.ClassResolver ClassResolver} (e.g. from the classpath)
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfResolvedClasses() {
+        return numberOfResolvedClasses;
+    }
+
+    /**
+     * @return The number of classes that were missing from the imported locations and could not be resolved,
+     *         i.e. that have been created as stubs only containing the information known from the imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfStubClasses() {
+        return numberOfStubClasses;
+    }
+
+    /**
+     * @return The number of types that have been looked up from the JVM-wide cache of types resolved from the classpath
+     *         and were found in this cache (i.e. did not have to be looked up and parsed again) during this import
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getResolvedClassCacheHitCount() {
+        return resolvedClassCacheHitCount;
+    }
+
+    /**
+     * @return The number of types that have been looked up from the JVM-wide cache of types resolved from the classpath
+     *         and were not found in this cache during this import
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getResolvedClassCacheMissCount() {
+        return resolvedClassCacheMissCount;
+    }
+
+    /**
+     * @return The number of type names that have been looked up from the JVM-wide cache of
+     *         {@link JavaClassDescriptor JavaClassDescriptors} (compare {@code import.descriptorCache.maxSize})
+     *         and were found in this cache during this import
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getDescriptorCacheHitCount() {
+        return descriptorCacheHitCount;
+    }
+
+    /**
+     * @return The number of type names that have been looked up from the JVM-wide cache of
+     *         {@link JavaClassDescriptor JavaClassDescriptors} and had to be parsed into a new descriptor during this import
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getDescriptorCacheMissCount() {
+        return descriptorCacheMissCount;
+    }
+
+    /**
+     * @return The number of {@link JavaClassDescriptor JavaClassDescriptors} that have been evicted from the JVM-wide cache
+     *         during this import, because the cache exceeded its configured size
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getDescriptorCacheEvictionCount() {
+        return descriptorCacheEvictionCount;
+    }
+
+    /**
+     * @return The number of accesses (i.e. field accesses, method and constructor calls and references)
+     *         that have been recorded from the code of the imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfAccessRecords() {
+        return numberOfAccessRecords;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "totalDuration=" + getTotalDuration() +
+                ", durationsByPhase=" + durationsByPhase +
+                ", numberOfParsedClasses=" + numberOfParsedClasses +
+                ", numberOfDependencyResolutionRuns=" + numberOfDependencyResolutionRuns +
+                ", numberOfResolvedClasses=" + numberOfResolvedClasses +
+                ", numberOfStubClasses=" + numberOfStubClasses +
+                ", resolvedClassCacheHitCount=" + resolvedClassCacheHitCount +
+                ", resolvedClassCacheMissCount=" + resolvedClassCacheMissCount +
+                ", descriptorCacheHitCount=" + descriptorCacheHitCount +
+                ", descriptorCacheMissCount=" + descriptorCacheMissCount +
+                ", descriptorCacheEvictionCount=" + descriptorCacheEvictionCount +
+                ", numberOfAccessRecords=" + numberOfAccessRecords +
+                '}';
+    }
+
+    /**
+     * Records the statistics of one import. All methods must be called from the importing thread.
+     * The wall time is always attributed to the {@link ImportPhase} that has been started last.
+     * Every phase is also reported as a span to the {@link FlightRecorderPlugin}. Since the locations are scanned lazily
+     * while the class files are parsed, {@link ImportPhase#SCAN_LOCATIONS} is covered by the span of the surrounding phase
+     * instead of emitting spans for every single class file.
+     */
+    static class Recorder {
+        private static final FlightRecorderPlugin flightRecorder = FlightRecorderPlugin.Loader.loadForCurrentPlatform();
+
+        private final Map<ImportPhase, Long> nanosByPhase = new EnumMap<>(ImportPhase.class);
+        private final CacheStats resolvedClassCacheStatsBefore = ResolvedClassCache.getStats();
+        private final CacheStats descriptorCacheStatsBefore = getDescriptorCacheStats();
+        private ImportPhase currentPhase;
+        private long currentPhaseStartNanos;
+        private ImportPhase currentSpanPhase;
+        private FlightRecorderPlugin.Span currentSpan;
+        private int numberOfParsedClasses;
+        private int numberOfDependencyResolutionRuns;
+        private int numberOfResolvedClasses;
+        private int numberOfStubClasses;
+        private int numberOfAccessRecords;
+
+        void startPhase(ImportPhase phase) {
+            long now = System.nanoTime();
+            finishCurrentPhase(now);
+            currentPhase = phase;
+            currentPhaseStartNanos = now;
+            if (phase != SCAN_LOCATIONS && phase != currentSpanPhase) {
+                endCurrentSpan();
+                currentSpanPhase = phase;
+                currentSpan = flightRecorder.startImportPhase(phase.name());
+            }
+        }
+
+        private void endCurrentSpan() {
+            if (currentSpan != null) {
+                currentSpan.end();
+                currentSpan = null;
+            }
+        }
+
+        private void finishCurrentPhase(long now) {
+            if (currentPhase != null) {
+                nanosByPhase.merge(currentPhase, now - currentPhaseStartNanos, Long::sum);
+            }
+        }
+
+        void onClassParsed() {
+            numberOfParsedClasses++;
+        }
+
+        void onDependencyResolutionFinished(int numberOfRuns) {
+            numberOfDependencyResolutionRuns = numberOfRuns;
+        }
+
+        void onClassResolved(boolean resolvedByClassResolver) {
+            if (resolvedByClassResolver) {
+                numberOfResolvedClasses++;
+            } else {
+                numberOfStubClasses++;
+            }
+        }
+
+        void onAccessRecordProcessed() {
+            numberOfAccessRecords++;
+        }
+
+        ImportStatistics finish() {
+            finishCurrentPhase(System.nanoTime());
+            endCurrentSpan();
+            currentPhase = null;
+            return new ImportStatistics(this,
+                    ResolvedClassCache.getStats().minus(resolvedClassCacheStatsBefore),
+                    getDescriptorCacheStats().minus(descriptorCacheStatsBefore));
+        }
+
+        private static CacheStats getDescriptorCacheStats() {
+            return new CacheStats(JavaClassDescriptor.From.getCacheHitCount(), JavaClassDescriptor.From.getCacheMissCount(),
+                    0, 0, 0, JavaClassDescriptor.From.getCacheEvictionCount());
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.tngtech.archunit.core.importer;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -25,6 +27,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Sets;
+import com.tngtech.archunit.core.FlightRecorderPlugin;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClassDescriptor;
 import com.tngtech.archunit.core.domain.JavaModifier;
@@ -39,6 +42,8 @@ import static com.tngtech.archunit.core.domain.JavaModifier.PROTECTED;
 import static com.tngtech.archunit.core.domain.JavaModifier.PUBLIC;
 import static com.tngtech.archunit.core.importer.ImportedClasses.ImportedClassState.HAD_TO_BE_IMPORTED;
 import static com.tngtech.archunit.core.importer.ImportedClasses.ImportedClassState.WAS_ALREADY_PRESENT;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 
 class ImportedClasses {
     private static final ImmutableSet<JavaModifier> PRIMITIVE_TYPE_MODIFIERS =
@@ -46,16 +51,21 @@ class ImportedClasses {
     private static final ImmutableSet<JavaModifier> VISIBILITY_MODIFIERS =
             immutableEnumSet(PUBLIC, PROTECTED, PRIVATE);
 
+    private static final FlightRecorderPlugin flightRecorder = FlightRecorderPlugin.Loader.loadForCurrentPlatform();
+
     private final ImmutableMap<String, JavaClass> directlyImported;
     private final Map<String, JavaClass> allClasses = new HashMap<>();
     private final ClassResolver resolver;
     private final MethodReturnTypeGetter getMethodReturnType;
+    private final ImportStatistics.Recorder statistics;
 
-    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, MethodReturnTypeGetter methodReturnTypeGetter) {
+    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, MethodReturnTypeGetter methodReturnTypeGetter,
+            ImportStatistics.Recorder statistics) {
         this.directlyImported = ImmutableMap.copyOf(directlyImported);
         allClasses.putAll(directlyImported);
         this.resolver = resolver;
         this.getMethodReturnType = methodReturnTypeGetter;
+        this.statistics = statistics;
     }
 
     Map<String, JavaClass> getDirectlyImported() {
@@ -76,8 +86,45 @@ class ImportedClasses {
         return HAD_TO_BE_IMPORTED;
     }
 
+    /**
+     * Like {@link #ensurePresent(String)}, but lets the {@link ClassResolver} resolve all missing types at once
+     * (compare {@link ClassResolver#tryResolveAll(Collection)}).
+     *
+     * @return {@link ImportedClassState#HAD_TO_BE_IMPORTED}, if any of the types was not present yet
+     */
+    ImportedClassState ensureAllPresent(Collection<String> typeNames) {
+        Set<String> missingTypeNames = typeNames.stream()
+                .filter(typeName -> !allClasses.containsKey(typeName))
+                .collect(toCollection(LinkedHashSet::new));
+        if (missingTypeNames.isEmpty()) {
+            return WAS_ALREADY_PRESENT;
+        }
+
+        // array types need their component types to be present, so we resolve them one by one afterwards
+        List<String> missingNonArrayTypeNames = missingTypeNames.stream()
+                .filter(typeName -> !JavaClassDescriptor.From.name(typeName).isArray())
+                .collect(toList());
+        FlightRecorderPlugin.ClassResolutionBatchSpan span = flightRecorder.startClassResolutionBatch(missingNonArrayTypeNames.size());
+        Map<String, JavaClass> resolved = resolver.tryResolveAll(missingNonArrayTypeNames);
+        span.end(resolved.size());
+        for (String typeName : missingNonArrayTypeNames) {
+            add(typeName, Optional.ofNullable(resolved.get(typeName)));
+        }
+        for (String typeName : missingTypeNames) {
+            ensurePresent(typeName);
+        }
+        return HAD_TO_BE_IMPORTED;
+    }
+
     private JavaClass resolve(String typeName) {
+        FlightRecorderPlugin.ClassResolutionSpan span = flightRecorder.startClassResolution(typeName);
         Optional<JavaClass> resolved = resolver.tryResolve(typeName);
+        span.end(resolved.isPresent());
+        return add(typeName, resolved);
+    }
+
+    private JavaClass add(String typeName, Optional<JavaClass> resolved) {
+        statistics.onClassResolved(resolved.isPresent());
         JavaClass javaClass = resolved.isPresent() ? resolved.get() : stubClassOf(typeName);
         if (javaClass.isArray()) {
             ensureAllComponentTypesPresent(javaClass);
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.MapMaker;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source;
+import org.objectweb.asm.ClassVisitor;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Supports {@link ClassFileImporter#reimport(JavaClasses, Collection)}. The {@link ClassFileEvents recorded events}
+ * of all class files imported by a reimport are kept in memory as long as the resulting {@link JavaClasses} are reachable.
+ * A subsequent reimport based on those {@link JavaClasses} can then replay the events of all unchanged class files
+ * instead of reading and parsing them again.
+ * <br><br>
+ * A regular import only records events, if incremental imports have been requested via
+ * <pre><code>
+ * import.incremental=true
+ * </code></pre>
+ * Otherwise the first reimport has to parse all class files once.
+ */
+class IncrementalImport {
+    static final String INCREMENTAL_PROPERTY_NAME = "import.incremental";
+
+    private static final Map<JavaClasses, Map<String, byte[]>> recordedEventsByImport = new MapMaker().weakKeys().makeMap();
+
+    private final Map<String, byte[]> previousEvents;
+    private final Set<URI> unchangedClassFiles;
+    private final Map<String, byte[]> recordedEvents = new ConcurrentHashMap<>();
+
+    private IncrementalImport(Map<String, byte[]> previousEvents, Set<URI> unchangedClassFiles) {
+        this.previousEvents = previousEvents;
+        this.unchangedClassFiles = unchangedClassFiles;
+    }
+
+    /**
+     * @return A {@link ClassFileSource} of all class files of the previous import that are not beneath any of the changed locations
+     */
+    ClassFileSource getUnchangedClassFiles() {
+        List<ClassFileLocation> locations = unchangedClassFiles.stream()
+                .map(UnchangedClassFileLocation::new)
+                .collect(toList());
+        return locations::iterator;
+    }
+
+    ClassFileSource record(ClassFileSource changedClassFiles) {
+        return () -> Iterators.transform(changedClassFiles.iterator(), RecordingClassFileLocation::new);
+    }
+
+    JavaClasses complete(JavaClasses result) {
+        recordedEventsByImport.put(result, ImmutableMap.copyOf(recordedEvents));
+        return result;
+    }
+
+    /**
+     * @return An {@link IncrementalImport} recording the events of a regular import, if incremental imports have been requested
+     */
+    static Optional<IncrementalImport> fromConfiguration() {
+        boolean requested = Boolean.parseBoolean(ArchConfiguration.get().getPropertyOrDefault(INCREMENTAL_PROPERTY_NAME, "false"));
+        return requested
+                ? Optional.of(new IncrementalImport(ImmutableMap.of(), ImmutableSet.of()))
+                : Optional.empty();
+    }
+
+    static IncrementalImport of(JavaClasses previous, Collection<Location> changed) {
+        Set<String> changedPrefixes = changed.stream()
+                .map(location -> location.asURI().toString())
+                .collect(toSet());
+
+        Set<URI> unchangedClassFiles = new LinkedHashSet<>();
+        for (JavaClass javaClass : previous) {
+            Optional<URI> uri = javaClass.getSource().map(Source::getUri);
+            if (uri.isPresent() && changedPrefixes.stream().noneMatch(prefix -> isBeneath(normalize(uri.get()), prefix))) {
+                unchangedClassFiles.add(uri.get());
+            }
+        }
+        return new IncrementalImport(recordedEventsByImport.getOrDefault(previous, ImmutableMap.of()), unchangedClassFiles);
+    }
+
+    // Location URIs are always normalized and folders always end in '/'
+    private static boolean isBeneath(String classFileUri, String locationUri) {
+        return classFileUri.equals(locationUri) || (locationUri.endsWith("/") && classFileUri.startsWith(locationUri));
+    }
+
+    private static String normalize(URI uri) {
+        return NormalizedUri.from(uri).toString();
+    }
+
+    // class files parsed with different options yield different events, so we must never mix them up
+    private static String keyOf(URI uri, int parsingOptions) {
+        return normalize(uri) + "#parsingOptions=" + parsingOptions;
+    }
+
+    private class UnchangedClassFileLocation implements ClassFileLocation {
+        private final URI uri;
+
+        UnchangedClassFileLocation(URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public InputStream openStream() {
+            try {
+                return uri.toURL().openStream();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public void accept(ClassVisitor classVisitor, int parsingOptions, Consumer<byte[]> contentHandler) throws IOException {
+            String key = keyOf(uri, parsingOptions);
+            byte[] events = previousEvents.get(key);
+            if (events != null) {
+                ClassFileEvents.replay(events, classVisitor);
+                recordedEvents.put(key, events);
+            } else {
+                ClassFileEvents.Recorder recorder = ClassFileEvents.record(classVisitor);
+                ClassFileLocation.super.accept(recorder, parsingOptions, contentHandler);
+                recordedEvents.put(key, recorder.getRecordedEvents());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{uri=" + uri + '}';
+        }
+    }
+
+    private class RecordingClassFileLocation implements ClassFileLocation {
+        private final ClassFileLocation delegate;
+
+        RecordingClassFileLocation(ClassFileLocation delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return delegate.openStream();
+        }
+
+        @Override
+        public URI getUri() {
+            return delegate.getUri();
+        }
+
+        @Override
+        public Optional<String> getFingerprint() {
+            return delegate.getFingerprint();
+        }
+
+        @Override
+        public void accept(ClassVisitor classVisitor, int parsingOptions, Consumer<byte[]> contentHandler) throws IOException {
+            ClassFileEvents.Recorder recorder = ClassFileEvents.record(classVisitor);
+            delegate.accept(recorder, parsingOptions, contentHandler);
+            recordedEvents.put(keyOf(getUri(), parsingOptions), recorder.getRecordedEvents());
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import static java.util.Collections.list;
+
+/**
+ * A JVM-wide index of the class file entries of a JAR file, sorted by entry name. Thus, looking up all class file entries
+ * beneath a certain package is proportional to the number of matching entries (plus a binary search),
+ * not to the total number of entries of the JAR file.<br>
+ * The index is keyed by the path, size and last modification time of the JAR file, so a changed JAR file will simply be indexed again.
+ * Indexes are only softly referenced, i.e. they will be dropped again if memory gets tight.<br>
+ * Note that the entries can be read from any {@link JarFile} opened for the same file, since entries are looked up by name.
+ */
+class JarEntryIndex {
+    private static final Cache<Key, JarEntryIndex> INDEX_CACHE = CacheBuilder.newBuilder().softValues().build();
+
+    private final String[] entryNames;
+    private final JarEntry[] entries;
+
+    private JarEntryIndex(JarFile jarFile) {
+        List<JarEntry> classEntries = list(jarFile.entries());
+        classEntries.removeIf(entry -> !entry.getName().endsWith(".class"));
+        entries = classEntries.toArray(new JarEntry[0]);
+        Arrays.sort(entries, Comparator.comparing(JarEntry::getName));
+        entryNames = Arrays.stream(entries).map(JarEntry::getName).toArray(String[]::new);
+    }
+
+    /**
+     * @param prefix An entry name prefix, e.g. {@code com/example/} or {@code com/example/SomeClass.class}
+     * @return All class file entries whose name starts with the given prefix, sorted by name
+     */
+    List<JarEntry> getClassEntriesStartingWith(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < entryNames.length && entryNames[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.asList(entries).subList(from, to);
+    }
+
+    /**
+     * @return {@code true}, if there is a class file entry that equals the given resource name or is located beneath it
+     */
+    boolean containsClassEntry(NormalizedResourceName resourceName) {
+        String name = resourceName.toString();
+        if (name.isEmpty()) {
+            return entryNames.length > 0;
+        }
+        int exactMatch = lowerBound(name);
+        if (exactMatch < entryNames.length && entryNames[exactMatch].equals(name)) {
+            return true;
+        }
+        int firstBeneath = lowerBound(name + "/");
+        return firstBeneath < entryNames.length && entryNames[firstBeneath].startsWith(name + "/");
+    }
+
+    private int lowerBound(String name) {
+        int index = Arrays.binarySearch(entryNames, name);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    static JarEntryIndex of(JarURLConnection connection) throws IOException {
+        JarFile jarFile = connection.getJarFile();
+        try {
+            return INDEX_CACHE.get(Key.of(jarFile), () -> new JarEntryIndex(jarFile));
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static class Key {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        private Key(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static Key of(JarFile jarFile) {
+            File file = new File(jarFile.getName()).getAbsoluteFile();
+            return new Key(file.getPath(), file.length(), file.lastModified());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(this.path, other.path)
+                    && this.size == other.size
+                    && this.lastModified == other.lastModified;
+        }
+    }
+}
@@ -82,17 +82,21 @@ class JavaClassProcessor extends ClassVisitor {
     private final SourceDescriptor sourceDescriptor;
     private final DeclarationHandler declarationHandler;
     private final AccessHandler accessHandler;
+    private final ImportDetails importDetails;
+    private final StringPool strings;
     private String className;
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler) {
-        this(sourceDescriptor, declarationHandler, NO_OP);
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, ImportDetails importDetails, StringPool strings) {
+        this(sourceDescriptor, declarationHandler, NO_OP, importDetails, strings);
     }
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, AccessHandler accessHandler, ImportDetails importDetails, StringPool strings) {
         super(ASM_API_VERSION);
         this.sourceDescriptor = sourceDescriptor;
         this.declarationHandler = declarationHandler;
         this.accessHandler = accessHandler;
+        this.importDetails = importDetails;
+        this.strings = strings;
     }
 
     Optional<JavaClass> createJavaClass() {
@@ -127,7 +131,7 @@ class JavaClassProcessor extends ClassVisitor {
 
         className = descriptor.getFullyQualifiedClassName();
         declarationHandler.onNewClass(className, superclassName, interfaceNames);
-        JavaClassSignatureImporter.parseAsmTypeSignature(signature, declarationHandler);
+        JavaClassSignatureImporter.parseAsmTypeSignature(importDetails.filterGenericSignature(signature), declarationHandler);
     }
 
     private boolean alreadyImported(JavaClassDescriptor descriptor) {
@@ -200,7 +204,7 @@ class JavaClassProcessor extends ClassVisitor {
 
         if (name != null && desc != null) {
             JavaClassDescriptor ownerType = JavaClassDescriptorImporter.createFromAsmObjectTypeName(owner);
-            CodeUnit codeUnit = new CodeUnit(name, desc, ownerType.getFullyQualifiedClassName());
+            CodeUnit codeUnit = new CodeUnit(strings.canonicalize(name), strings.canonicalize(desc), ownerType.getFullyQualifiedClassName());
             declarationHandler.registerEnclosingCodeUnit(className, codeUnit);
         }
     }
@@ -214,7 +218,7 @@ class JavaClassProcessor extends ClassVisitor {
     }
 
     private String createTypeName(String name) {
-        return name.replace("/", ".");
+        return strings.canonicalize(name.replace("/", "."));
     }
 
     @Override
@@ -223,8 +227,10 @@ class JavaClassProcessor extends ClassVisitor {
             return super.visitField(access, name, desc, signature, value);
         }
 
+        name = strings.canonicalize(name);
+        desc = strings.canonicalize(desc);
         JavaClassDescriptor rawType = JavaClassDescriptorImporter.importAsmTypeFromDescriptor(desc);
-        Optional<JavaTypeCreationProcess<JavaField>> genericType = JavaFieldTypeSignatureImporter.parseAsmFieldTypeSignature(signature, declarationHandler);
+        Optional<JavaTypeCreationProcess<JavaField>> genericType = JavaFieldTypeSignatureImporter.parseAsmFieldTypeSignature(importDetails.filterGenericSignature(signature), declarationHandler);
         DomainBuilders.JavaFieldBuilder fieldBuilder = new DomainBuilders.JavaFieldBuilder()
                 .withName(name)
                 .withType(genericType, rawType)
@@ -240,13 +246,15 @@ class JavaClassProcessor extends ClassVisitor {
             return super.visitMethod(access, name, desc, signature, exceptions);
         }
 
+        name = strings.canonicalize(name);
+        desc = strings.canonicalize(desc);
         LOG.trace("Analyzing method {}.{}:{}", className, name, desc);
         CodeUnit codeUnit = new CodeUnit(name, desc, className);
         accessHandler.setContext(codeUnit);
 
         JavaClassDescriptor rawReturnType = JavaClassDescriptorImporter.importAsmMethodReturnType(desc);
         DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder = addCodeUnitBuilder(name, codeUnit.getRawParameterTypeNames(), rawReturnType.getFullyQualifiedClassName());
-        JavaCodeUnitSignature codeUnitSignature = JavaCodeUnitSignatureImporter.parseAsmMethodSignature(signature, declarationHandler);
+        JavaCodeUnitSignature codeUnitSignature = JavaCodeUnitSignatureImporter.parseAsmMethodSignature(importDetails.filterGenericSignature(signature), declarationHandler);
         List<JavaClassDescriptor> throwsDeclarations = typesFrom(exceptions);
         codeUnitBuilder
                 .withName(name)
@@ -255,10 +263,14 @@ class JavaClassProcessor extends ClassVisitor {
                 .withParameterTypes(codeUnitSignature.getParameterTypes(), codeUnit.getRawParameterTypes())
                 .withReturnType(codeUnitSignature.getReturnType(), rawReturnType)
                 .withDescriptor(desc)
-                .withThrowsClause(throwsDeclarations);
+                .withThrowsClause(throwsDeclarations)
+                .withCodeImported(importDetails.isCodeImported())
+                .withTryCatchBlocksImported(importDetails.areTryCatchBlocksImported())
+                .withInstanceofChecksImported(importDetails.areInstanceofChecksImported())
+                .withReferencedClassObjectsImported(importDetails.areReferencedClassObjectsImported());
         declarationHandler.onDeclaredThrowsClause(fullyQualifiedClassNamesOf(throwsDeclarations));
 
-        return new MethodProcessor(className, accessHandler, codeUnitBuilder, declarationHandler);
+        return new MethodProcessor(className, accessHandler, codeUnitBuilder, declarationHandler, importDetails);
     }
 
     private Collection<String> fullyQualifiedClassNamesOf(List<JavaClassDescriptor> classDescriptors) {
@@ -315,16 +327,19 @@ class JavaClassProcessor extends ClassVisitor {
         private final AccessHandler accessHandler;
         private final DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder;
         private final DeclarationHandler declarationHandler;
+        private final ImportDetails importDetails;
         private final Set<JavaAnnotationBuilder> annotations = new HashSet<>();
         private final SetMultimap<Integer, JavaAnnotationBuilder> parameterAnnotationsByIndex = HashMultimap.create();
         private int actualLineNumber;
 
-        MethodProcessor(String declaringClassName, AccessHandler accessHandler, DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder, DeclarationHandler declarationHandler) {
+        MethodProcessor(String declaringClassName, AccessHandler accessHandler, DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder,
+                DeclarationHandler declarationHandler, ImportDetails importDetails) {
             super(ASM_API_VERSION);
             this.declaringClassName = declaringClassName;
             this.accessHandler = accessHandler;
             this.codeUnitBuilder = codeUnitBuilder;
             this.declarationHandler = declarationHandler;
+            this.importDetails = importDetails;
             codeUnitBuilder.withParameterAnnotations(parameterAnnotationsByIndex);
         }
 
@@ -355,7 +370,7 @@ class JavaClassProcessor extends ClassVisitor {
 
         @Override
         public void visitLdcInsn(Object value) {
-            if (JavaClassDescriptorImporter.isAsmType(value)) {
+            if (importDetails.areReferencedClassObjectsImported() && JavaClassDescriptorImporter.isAsmType(value)) {
                 JavaClassDescriptor type = JavaClassDescriptorImporter.importAsmType(value);
                 accessHandler.handleReferencedClassObject(type, actualLineNumber);
                 declarationHandler.onDeclaredClassObject(type.getFullyQualifiedClassName());
@@ -364,6 +379,10 @@ class JavaClassProcessor extends ClassVisitor {
 
         @Override
         public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            if (!importDetails.areTryCatchBlocksImported()) {
+                return;
+            }
+
             if (type != null) {
                 accessHandler.handleTryCatchBlock(start, end, handler, JavaClassDescriptorImporter.createFromAsmObjectTypeName(type));
             } else {
@@ -383,7 +402,7 @@ class JavaClassProcessor extends ClassVisitor {
 
         @Override
         public void visitTypeInsn(int opcode, String type) {
-            if (opcode == Opcodes.INSTANCEOF) {
+            if (opcode == Opcodes.INSTANCEOF && importDetails.areInstanceofChecksImported()) {
                 JavaClassDescriptor instanceOfCheckType = JavaClassDescriptorImporter.createFromAsmObjectTypeName(type);
                 accessHandler.handleInstanceofCheck(instanceOfCheckType, actualLineNumber);
                 declarationHandler.onDeclaredInstanceofCheck(instanceOfCheckType.getFullyQualifiedClassName());
@@ -397,6 +416,9 @@ class JavaClassProcessor extends ClassVisitor {
 
         @Override
         public AnnotationVisitor visitAnnotationDefault() {
+            if (!importDetails.areAnnotationDefaultValuesImported()) {
+                return null;
+            }
             return new AnnotationDefaultProcessor(declaringClassName, codeUnitBuilder, declarationHandler);
         }
 
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ResolvedClassCache.ReplayingClassUriImporter;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromClasspath;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+import static java.util.Collections.emptyMap;
+import static org.objectweb.asm.ClassReader.SKIP_CODE;
+import static org.objectweb.asm.ClassReader.SKIP_FRAMES;
+import static org.objectweb.asm.Opcodes.ACC_ANNOTATION;
+
+/**
+ * A compact index of the headers (i.e. name, modifiers, supertypes, interfaces and annotations) of all classes
+ * within the packages {@code java} and {@code javax} of the running JRE. If an index has been configured via
+ * <pre><code>
+ * import.jdkTypeIndex=/path/to/jdk-type-index
+ * </code></pre>
+ * types that would otherwise be resolved from the classpath (compare {@link ClassResolverFromClasspath})
+ * are created from this index instead of looking them up and parsing their class files one by one.<br>
+ * Note that JDK types created from the index contain no members (e.g. {@code Object.toString()}),
+ * except for the methods of annotation types, which are kept to provide the default values of JDK annotations.
+ * An index can be generated via {@link #write(Path)}. It is only used if it has been generated by the same
+ * Java runtime version that runs the import.
+ */
+@PublicAPI(usage = ACCESS)
+public final class JdkTypeIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(JdkTypeIndex.class);
+
+    static final String JDK_TYPE_INDEX_PROPERTY_NAME = "import.jdkTypeIndex";
+
+    // the index contains recorded class file events, so it must be discarded as soon as their format changes
+    private static final String FORMAT_VERSION = "1." + ClassFileEvents.FORMAT_VERSION;
+    private static final List<String> INDEXED_PACKAGES = ImmutableList.of("java", "javax");
+    private static final Cache<String, Optional<JdkTypeIndex>> INDEX_CACHE = CacheBuilder.newBuilder().softValues().build();
+
+    private final Map<String, IndexedClass> classesByName;
+
+    private JdkTypeIndex(Map<String, IndexedClass> classesByName) {
+        this.classesByName = classesByName;
+    }
+
+    /**
+     * Indexes the headers of all classes within the packages {@code java} and {@code javax} of the running JRE
+     * and writes the index to the given path, so it can be configured as {@value #JDK_TYPE_INDEX_PROPERTY_NAME}.
+     *
+     * @param target The path to write the index to
+     * @throws IOException if the index cannot be written
+     */
+    @PublicAPI(usage = ACCESS)
+    public static void write(Path target) throws IOException {
+        Map<String, IndexedClass> classesByName = new LinkedHashMap<>();
+        for (String pkg : INDEXED_PACKAGES) {
+            for (Location location : Locations.ofPackage(pkg)) {
+                for (ClassFileLocation classFile : location.asClassFileSource(new ImportOptions())) {
+                    IndexedClass indexedClass = IndexedClass.record(classFile);
+                    if (!indexedClass.name.equals("module-info")) {
+                        classesByName.putIfAbsent(indexedClass.name, indexedClass);
+                    }
+                }
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(target))))) {
+            out.writeUTF(FORMAT_VERSION);
+            out.writeUTF(getRuntimeVersion());
+            out.writeInt(classesByName.size());
+            for (IndexedClass indexedClass : classesByName.values()) {
+                indexedClass.writeTo(out);
+            }
+        }
+    }
+
+    private static JdkTypeIndex read(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(source))))) {
+            String formatVersion = in.readUTF();
+            if (!formatVersion.equals(FORMAT_VERSION)) {
+                throw new IOException(String.format("Unsupported format version %s", formatVersion));
+            }
+            String runtimeVersion = in.readUTF();
+            if (!runtimeVersion.equals(getRuntimeVersion())) {
+                throw new IOException(String.format("Index was generated by Java runtime %s, but the current runtime is %s",
+                        runtimeVersion, getRuntimeVersion()));
+            }
+            int numberOfClasses = in.readInt();
+            Map<String, IndexedClass> classesByName = new HashMap<>(numberOfClasses * 4 / 3 + 1);
+            for (int i = 0; i < numberOfClasses; i++) {
+                IndexedClass indexedClass = IndexedClass.readFrom(in);
+                classesByName.put(indexedClass.name, indexedClass);
+            }
+            return new JdkTypeIndex(classesByName);
+        }
+    }
+
+    private static String getRuntimeVersion() {
+        return System.getProperty("java.vendor") + " " + System.getProperty("java.runtime.version");
+    }
+
+    boolean contains(String typeName) {
+        return classesByName.containsKey(typeName);
+    }
+
+    /**
+     * @param resolver The {@link ClassResolver} to resolve all types that are not contained in this index
+     * @param classUriImporter The {@link ReplayingClassUriImporter} to create {@link JavaClass JavaClasses} of indexed types
+     * @return A {@link ClassResolver} that consults this index before the supplied resolver
+     */
+    ClassResolver resolveBefore(ClassResolver resolver, ReplayingClassUriImporter classUriImporter) {
+        return new IndexedClassResolver(resolver, classUriImporter);
+    }
+
+    static Optional<JdkTypeIndex> fromConfiguration() {
+        String configuredPath = ArchConfiguration.get().getPropertyOrDefault(JDK_TYPE_INDEX_PROPERTY_NAME, "").trim();
+        if (configuredPath.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path path = Paths.get(configuredPath).toAbsolutePath();
+        try {
+            return INDEX_CACHE.get(path + "@" + path.toFile().lastModified(), () -> tryRead(path));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.warn(String.format("Couldn't read JDK type index from %s", path), e.getCause());
+            return Optional.empty();
+        }
+    }
+
+    // an unusable index should only be reported once, not for every import
+    private static Optional<JdkTypeIndex> tryRead(Path path) {
+        try {
+            return Optional.of(read(path));
+        } catch (IOException e) {
+            LOG.warn(String.format("Couldn't read JDK type index from %s, JDK types will be resolved as usual", path), e);
+            return Optional.empty();
+        }
+    }
+
+    private class IndexedClassResolver implements ClassResolver {
+        private final ClassResolver delegate;
+        private final ReplayingClassUriImporter classUriImporter;
+
+        IndexedClassResolver(ClassResolver delegate, ReplayingClassUriImporter classUriImporter) {
+            this.delegate = delegate;
+            this.classUriImporter = classUriImporter;
+        }
+
+        // the ClassUriImporter has already been passed on to the delegate
+        @Override
+        public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        }
+
+        @Override
+        public Optional<JavaClass> tryResolve(String typeName) {
+            IndexedClass indexedClass = classesByName.get(typeName);
+            return indexedClass != null ? indexedClass.createJavaClass(classUriImporter) : delegate.tryResolve(typeName);
+        }
+
+        @Override
+        public Map<String, JavaClass> tryResolveAll(Collection<String> typeNames) {
+            Map<String, JavaClass> result = new HashMap<>();
+            List<String> notIndexedTypeNames = new ArrayList<>();
+            for (String typeName : typeNames) {
+                IndexedClass indexedClass = classesByName.get(typeName);
+                if (indexedClass != null) {
+                    indexedClass.createJavaClass(classUriImporter).ifPresent(javaClass -> result.put(typeName, javaClass));
+                } else {
+                    notIndexedTypeNames.add(typeName);
+                }
+            }
+            result.putAll(notIndexedTypeNames.isEmpty() ? emptyMap() : delegate.tryResolveAll(notIndexedTypeNames));
+            return result;
+        }
+    }
+
+    private static class IndexedClass {
+        private final String name;
+        private final URI uri;
+        private final byte[] recordedHeaderEvents;
+
+        private IndexedClass(String name, URI uri, byte[] recordedHeaderEvents) {
+            this.name = name;
+            this.uri = uri;
+            this.recordedHeaderEvents = recordedHeaderEvents;
+        }
+
+        Optional<JavaClass> createJavaClass(ReplayingClassUriImporter classUriImporter) {
+            return classUriImporter.tryReplay(uri, recordedHeaderEvents);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(name);
+            out.writeUTF(uri.toString());
+            out.writeInt(recordedHeaderEvents.length);
+            out.write(recordedHeaderEvents);
+        }
+
+        static IndexedClass readFrom(DataInputStream in) throws IOException {
+            String name = in.readUTF();
+            URI uri = URI.create(in.readUTF());
+            byte[] recordedHeaderEvents = new byte[in.readInt()];
+            in.readFully(recordedHeaderEvents);
+            return new IndexedClass(name, uri, recordedHeaderEvents);
+        }
+
+        static IndexedClass record(ClassFileLocation classFile) throws IOException {
+            ClassReader classReader = new ClassReader(classFile.readContent());
+            ClassFileEvents.Recorder recorder = ClassFileEvents.record();
+            classReader.accept(new HeaderFilter(recorder), SKIP_CODE | SKIP_FRAMES);
+            return new IndexedClass(classReader.getClassName().replace('/', '.'), classFile.getUri(), recorder.getRecordedEvents());
+        }
+    }
+
+    private static class HeaderFilter extends ClassVisitor {
+        private boolean isAnnotation;
+
+        HeaderFilter(ClassVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            isAnnotation = (access & ACC_ANNOTATION) != 0;
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            return isAnnotation ? super.visitMethod(access, name, descriptor, signature, exceptions) : null;
+        }
+    }
+}
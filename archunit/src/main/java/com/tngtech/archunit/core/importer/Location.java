@@ -27,15 +27,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -53,6 +50,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Handles various forms of location from where classes can be imported in a consistent way. Any location
@@ -157,6 +155,14 @@ public abstract class Location {
 
     abstract Collection<NormalizedResourceName> readResourceEntries();
 
+    /**
+     * @return {@code true}, if there is a class file entry within this location that equals the given resource name
+     *         or is located beneath it (compare {@link NormalizedResourceName#startsWith(NormalizedResourceName)})
+     */
+    boolean containsEntryWithPrefix(NormalizedResourceName prefix) {
+        return streamEntries().anyMatch(name -> name.startsWith(prefix));
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(uri);
@@ -290,39 +296,35 @@ public abstract class Location {
 
         @Override
         Collection<NormalizedResourceName> readResourceEntries() {
-            return getJarFile().map(this::readJarFileContent).orElse(emptySet());
+            return getJarEntryIndex().map(this::readJarFileContent).orElse(emptySet());
+        }
+
+        @Override
+        boolean containsEntryWithPrefix(NormalizedResourceName prefix) {
+            if (!ParsedUri.from(uri).path.isEmpty()) {
+                return super.containsEntryWithPrefix(prefix);
+            }
+            return getJarEntryIndex().map(index -> index.containsClassEntry(prefix)).orElse(false);
         }
 
-        private Optional<JarFile> getJarFile() {
+        private Optional<JarEntryIndex> getJarEntryIndex() {
             try {
                 // Note: We can't use a composed JAR URL like `jar:file:/path/to/file.jar!/com/example`, because opening the connection
                 //       fails with an exception if the directory entry for this path is missing (which is possible, even if there is
                 //       a class `com.example.SomeClass` in the JAR file).
                 String baseUri = ParsedUri.from(uri).base;
                 JarURLConnection jarUrlConnection = (JarURLConnection) new URL(baseUri).openConnection();
-                return Optional.of(jarUrlConnection.getJarFile());
+                return Optional.of(JarEntryIndex.of(jarUrlConnection));
             } catch (IOException e) {
                 return Optional.empty();
             }
         }
 
-        private Collection<NormalizedResourceName> readJarFileContent(JarFile jarFile) {
-            ImmutableList.Builder<NormalizedResourceName> result = ImmutableList.builder();
+        private Collection<NormalizedResourceName> readJarFileContent(JarEntryIndex index) {
             String prefix = ParsedUri.from(uri).path;
-            result.addAll(readEntries(prefix, jarFile));
-            return result.build();
-        }
-
-        private List<NormalizedResourceName> readEntries(String prefix, JarFile jarFile) {
-            List<NormalizedResourceName> result = new ArrayList<>();
-            Enumeration<JarEntry> entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                if (entry.getName().startsWith(prefix) && entry.getName().endsWith(".class")) {
-                    result.add(NormalizedResourceName.from(entry.getName()));
-                }
-            }
-            return result;
+            return index.getClassEntriesStartingWith(prefix).stream()
+                    .map(entry -> NormalizedResourceName.from(entry.getName()))
+                    .collect(toList());
         }
 
         private static class ParsedUri {
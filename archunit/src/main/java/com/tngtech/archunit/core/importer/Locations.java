@@ -126,7 +126,7 @@ public final class Locations {
     private static Collection<Location> getResourceLocations(ClassLoader loader, NormalizedResourceName resourceName, Iterable<URL> classpath) {
         Set<Location> result = newHashSet(Locations.of(getResources(loader, resourceName)));
         for (Location location : Locations.of(classpath)) {
-            if (containsEntryWithPrefix(location, resourceName)) {
+            if (location.containsEntryWithPrefix(resourceName)) {
                 result.add(location.append(resourceName.toString()));
             }
         }
@@ -140,8 +140,4 @@ public final class Locations {
             throw new LocationException(e);
         }
     }
-
-    private static boolean containsEntryWithPrefix(Location location, NormalizedResourceName searchedJarEntryPrefix) {
-        return location.streamEntries().anyMatch(name -> name.startsWith(searchedJarEntryPrefix));
-    }
 }
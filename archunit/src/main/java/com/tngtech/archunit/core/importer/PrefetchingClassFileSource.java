@@ -0,0 +1,258 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.collect.AbstractIterator;
+import com.tngtech.archunit.ArchConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Decouples discovering class files (e.g. walking directories and filtering by {@link ImportOption ImportOptions})
+ * and reading their content from parsing them. A scanner thread iterates the underlying {@link ClassFileSource}
+ * and prefetches the content of every class file into a bounded queue, while the importer consumes the queue.
+ * This way I/O latency (e.g. of network file systems) overlaps with the CPU bound parsing, and the memory consumption
+ * stays bounded by the size of the queue.<br>
+ * The prefetching is disabled by default, it can be enabled by configuring the maximum number of prefetched class files, e.g.
+ * <pre><code>
+ * import.prefetch=256
+ * </code></pre>
+ * The source must be closed once the import has finished or failed. This stops all scanner threads that are still running
+ * (e.g. because the import failed before consuming all class files) and releases all prefetched content.
+ */
+class PrefetchingClassFileSource implements ClassFileSource, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PrefetchingClassFileSource.class);
+
+    static final String PREFETCH_PROPERTY_NAME = "import.prefetch";
+
+    private static final Object END_OF_SOURCE = new Object();
+    // how often a scanner thread waiting for space in the queue checks if it has been cancelled
+    private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+
+    private final ClassFileSource source;
+    private final int capacity;
+    private final List<Scan> scans = new CopyOnWriteArrayList<>();
+
+    private PrefetchingClassFileSource(ClassFileSource source, int capacity) {
+        this.source = source;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Iterator<ClassFileLocation> iterator() {
+        if (capacity <= 0) {
+            return source.iterator();
+        }
+        Scan scan = new Scan(new ArrayBlockingQueue<>(capacity));
+        scans.add(scan);
+        scan.start();
+        return new QueueIterator(scan.queue);
+    }
+
+    @Override
+    public void close() {
+        scans.forEach(Scan::cancel);
+        scans.clear();
+    }
+
+    /**
+     * @param source The {@link ClassFileSource} to prefetch
+     * @return The source wrapped in a {@link PrefetchingClassFileSource}, which simply passes on the class files of the source
+     *         if prefetching has not been enabled
+     */
+    static PrefetchingClassFileSource fromConfiguration(ClassFileSource source) {
+        return new PrefetchingClassFileSource(source, getConfiguredCapacity());
+    }
+
+    private static int getConfiguredCapacity() {
+        String configuredCapacity = ArchConfiguration.get().getPropertyOrDefault(PREFETCH_PROPERTY_NAME, "0");
+        try {
+            return Integer.parseInt(configuredCapacity.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Couldn't parse {}={}, falling back to import without prefetching", PREFETCH_PROPERTY_NAME, configuredCapacity);
+            return 0;
+        }
+    }
+
+    private class Scan {
+        private final BlockingQueue<Object> queue;
+        private volatile boolean cancelled;
+
+        Scan(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        void start() {
+            Thread scanner = new Thread(this::run, "archunit-class-file-prefetch");
+            scanner.setDaemon(true);
+            scanner.start();
+        }
+
+        // whatever happens, the consumer must receive a terminal element, otherwise it would wait forever
+        private void run() {
+            Object terminalElement = END_OF_SOURCE;
+            try {
+                for (ClassFileLocation location : source) {
+                    if (!enqueue(PrefetchedClassFileLocation.prefetch(location))) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                terminalElement = new ScanFailure(e);
+            } finally {
+                enqueueTerminal(terminalElement);
+            }
+        }
+
+        private boolean enqueue(Object element) throws InterruptedException {
+            while (!cancelled) {
+                if (queue.offer(element, CANCELLATION_CHECK_INTERVAL_MILLIS, MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void enqueueTerminal(Object terminalElement) {
+            boolean interrupted = Thread.interrupted();
+            try {
+                enqueue(terminalElement);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+
+    private static class QueueIterator extends AbstractIterator<ClassFileLocation> {
+        private final BlockingQueue<Object> queue;
+
+        QueueIterator(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        protected ClassFileLocation computeNext() {
+            Object next = take();
+            if (next == END_OF_SOURCE) {
+                return endOfData();
+            }
+            if (next instanceof ScanFailure) {
+                Throwable cause = ((ScanFailure) next).cause;
+                throwIfUnchecked(cause);
+                throw new IllegalStateException("Scanning class files failed", cause);
+            }
+            return (ClassFileLocation) next;
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NoSuchElementException("Interrupted while waiting for the next class file");
+            }
+        }
+    }
+
+    private static class ScanFailure {
+        private final Throwable cause;
+
+        ScanFailure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private static class PrefetchedClassFileLocation implements ClassFileLocation {
+        private final ClassFileLocation delegate;
+        private byte[] content;
+        private IOException failure;
+
+        private PrefetchedClassFileLocation(ClassFileLocation delegate, byte[] content, IOException failure) {
+            this.delegate = delegate;
+            this.content = content;
+            this.failure = failure;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return delegate.openStream();
+        }
+
+        @Override
+        public URI getUri() {
+            return delegate.getUri();
+        }
+
+        @Override
+        public Optional<String> getFingerprint() {
+            return delegate.getFingerprint();
+        }
+
+        // the prefetched content is handed out only once, so it can be garbage collected as soon as the class file has been parsed
+        @Override
+        public byte[] readContent() throws IOException {
+            if (failure != null) {
+                IOException result = failure;
+                failure = null;
+                throw result;
+            }
+            if (content != null) {
+                byte[] result = content;
+                content = null;
+                return result;
+            }
+            return delegate.readContent();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        static PrefetchedClassFileLocation prefetch(ClassFileLocation location) {
+            try {
+                return new PrefetchedClassFileLocation(location, location.readContent(), null);
+            } catch (IOException e) {
+                return new PrefetchedClassFileLocation(location, null, e);
+            } catch (RuntimeException e) {
+                return new PrefetchedClassFileLocation(location, null, new IOException(e));
+            }
+        }
+    }
+}
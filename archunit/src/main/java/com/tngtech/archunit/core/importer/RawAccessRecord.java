@@ -177,7 +177,11 @@ class RawAccessRecord implements RawCodeUnitDependency<RawAccessRecord.TargetInf
         private final int hashCode;
 
         TargetInfo(String owner, String name, String desc) {
-            this.owner = JavaClassDescriptorImporter.createFromAsmObjectTypeName(owner);
+            this(JavaClassDescriptorImporter.createFromAsmObjectTypeName(owner), name, desc);
+        }
+
+        TargetInfo(JavaClassDescriptor owner, String name, String desc) {
+            this.owner = owner;
             this.name = name;
             this.desc = desc;
             hashCode = Objects.hash(owner, name, desc);
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClassDescriptor;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Stores {@link RawAccessRecord RawAccessRecords} in a temporary file instead of the heap, if configured via
+ * <pre><code>
+ * import.spillAccessRecords=true
+ * </code></pre>
+ * For very large imports the raw records can otherwise consume more memory than the imported classes themselves.
+ * Each distinct string is only written once, all further occurrences are written as a reference to the first one.
+ * Consecutive records with the same origin (i.e. all records of the same code unit in the order ASM visits them)
+ * only write the origin once, and also share one {@link CodeUnit} instance when they are read back.<br>
+ * Note that records read back are new instances, so records that must keep their identity
+ * (e.g. because they are contained in a {@link RawTryCatchBlock}) must not be spilled.
+ * The temporary file is created on the first record and deleted by {@link #close()}.
+ */
+class RawAccessRecordSpill<RECORD extends RawAccessRecord> implements AutoCloseable {
+    static final String SPILL_ACCESS_RECORDS_PROPERTY_NAME = "import.spillAccessRecords";
+
+    private static final int FLAG_DECLARED_IN_LAMBDA = 1;
+    private static final int FLAG_SAME_ORIGIN = 1 << 1;
+    private static final int ACCESS_TYPE_SHIFT = 2;
+
+    private final String name;
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private Path file;
+    private DataOutputStream out;
+    private CodeUnit lastWrittenOrigin;
+    private int size;
+
+    RawAccessRecordSpill(String name) {
+        this.name = name;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(ArchConfiguration.get().getPropertyOrDefault(SPILL_ACCESS_RECORDS_PROPERTY_NAME, "false").trim());
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(RECORD record) {
+        try {
+            write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        size++;
+    }
+
+    private void write(RECORD record) throws IOException {
+        if (out == null) {
+            file = Files.createTempFile("archunit-" + name, ".bin");
+            file.toFile().deleteOnExit();
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+
+        boolean sameOrigin = record.getOrigin().equals(lastWrittenOrigin);
+        out.writeByte(flagsOf(record, sameOrigin));
+        if (!sameOrigin) {
+            writeString(record.getOrigin().getDeclaringClassName());
+            writeString(record.getOrigin().getName());
+            writeString(record.getOrigin().getDescriptor());
+            lastWrittenOrigin = record.getOrigin();
+        }
+        writeString(record.getTarget().getDeclaringClassName());
+        writeString(record.getTarget().getName());
+        writeString(record.getTarget().getDescriptor());
+        writeVarInt(record.getLineNumber());
+    }
+
+    private static int flagsOf(RawAccessRecord record, boolean sameOrigin) {
+        int accessType = record instanceof RawAccessRecord.ForField ? ((RawAccessRecord.ForField) record).accessType.ordinal() + 1 : 0;
+        return (record.isDeclaredInLambda() ? FLAG_DECLARED_IN_LAMBDA : 0)
+                | (sameOrigin ? FLAG_SAME_ORIGIN : 0)
+                | accessType << ACCESS_TYPE_SHIFT;
+    }
+
+    private void writeString(String string) throws IOException {
+        Integer id = stringIds.get(string);
+        if (id != null) {
+            writeVarInt(id);
+        } else {
+            stringIds.put(string, stringIds.size() + 1);
+            writeVarInt(0);
+            out.writeUTF(string);
+        }
+    }
+
+    // zig-zag encoded, so that the line number -1 (i.e. unknown) is written as one byte as well
+    private void writeVarInt(int value) throws IOException {
+        int remaining = (value << 1) ^ (value >> 31);
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads back all records added so far in the order they have been added.
+     */
+    void forEach(Consumer<RECORD> doWithRecord) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+                new Reader<RECORD>(in).forEach(doWithRecord);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            out = null;
+        }
+    }
+
+    private static class Reader<RECORD extends RawAccessRecord> {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private CodeUnit lastReadOrigin;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        void forEach(Consumer<RECORD> doWithRecord) throws IOException {
+            int flags;
+            while ((flags = readFlags()) >= 0) {
+                doWithRecord.accept(readRecord(flags));
+            }
+        }
+
+        private int readFlags() throws IOException {
+            try {
+                return in.readUnsignedByte();
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+
+        // the type of the records is an invariant of the spill they have been written to, thus the cast is safe
+        @SuppressWarnings("unchecked")
+        private RECORD readRecord(int flags) throws IOException {
+            if ((flags & FLAG_SAME_ORIGIN) == 0) {
+                String declaringClassName = readString();
+                lastReadOrigin = new CodeUnit(readString(), readString(), declaringClassName);
+            }
+            checkState(lastReadOrigin != null, "Spilled record refers to a previous origin, but there is none");
+
+            TargetInfo target = new TargetInfo(JavaClassDescriptor.From.name(readString()), readString(), readString());
+            int lineNumber = readVarInt();
+            boolean declaredInLambda = (flags & FLAG_DECLARED_IN_LAMBDA) != 0;
+            int accessType = flags >>> ACCESS_TYPE_SHIFT;
+
+            RawAccessRecord.BaseBuilder<?, ?> builder = accessType > 0
+                    ? new RawAccessRecord.ForField.Builder().withAccessType(AccessType.values()[accessType - 1])
+                    : new RawAccessRecord.Builder();
+            return (RECORD) builder
+                    .withOrigin(lastReadOrigin)
+                    .withTarget(target)
+                    .withLineNumber(lineNumber)
+                    .withDeclaredInLambda(declaredInLambda)
+                    .build();
+        }
+
+        private String readString() throws IOException {
+            int id = readVarInt();
+            if (id > 0) {
+                return strings.get(id - 1);
+            }
+            String string = in.readUTF();
+            strings.add(string);
+            return string;
+        }
+
+        private int readVarInt() throws IOException {
+            int result = 0;
+            int shift = 0;
+            int next;
+            do {
+                next = in.readUnsignedByte();
+                result |= (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            return (result >>> 1) ^ -(result & 1);
+        }
+    }
+}
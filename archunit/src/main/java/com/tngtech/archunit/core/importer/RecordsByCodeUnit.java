@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.System.identityHashCode;
+
+/**
+ * Holds the records (e.g. accesses) processed by the {@link ClassGraphCreator} grouped by their origin {@link JavaCodeUnit}.
+ * In contrast to a {@link com.google.common.collect.Multimap Multimap} this does not need any entry objects or hash tables
+ * per record. The records are appended to plain arrays and sorted by the identity hash code of their origin once,
+ * when they are first queried. Afterwards the records of each {@link JavaCodeUnit} are found via binary search.<br>
+ * The order of the records of one {@link JavaCodeUnit} is the order in which they were added.
+ * Records cannot be added anymore, once the records have been queried.
+ */
+class RecordsByCodeUnit<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private JavaCodeUnit[] origins = new JavaCodeUnit[INITIAL_CAPACITY];
+    private Object[] records = new Object[INITIAL_CAPACITY];
+    private int[] originHashes;
+    private int size = 0;
+
+    void add(JavaCodeUnit origin, T record) {
+        checkState(originHashes == null, "Records can't be added after they have been queried");
+
+        if (size == records.length) {
+            int newCapacity = size + (size >> 1);
+            origins = Arrays.copyOf(origins, newCapacity);
+            records = Arrays.copyOf(records, newCapacity);
+        }
+        origins[size] = origin;
+        records[size] = record;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked") // we only ever add records of type T
+    List<T> get(JavaCodeUnit origin) {
+        sortIfNecessary();
+
+        int originHash = identityHashCode(origin);
+        ImmutableList.Builder<T> result = ImmutableList.builder();
+        // different code units can have the same identity hash code, so we need to compare the origins as well
+        for (int i = firstIndexOf(originHash); i < size && originHashes[i] == originHash; i++) {
+            if (origins[i] == origin) {
+                result.add((T) records[i]);
+            }
+        }
+        return result.build();
+    }
+
+    private int firstIndexOf(int originHash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (originHashes[middle] < originHash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // sorting keys of (origin hash, insertion index) keeps the records of each origin in insertion order
+    private void sortIfNecessary() {
+        if (originHashes != null) {
+            return;
+        }
+
+        long[] sortKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortKeys[i] = ((long) identityHashCode(origins[i]) << 32) | i;
+        }
+        Arrays.sort(sortKeys);
+
+        JavaCodeUnit[] sortedOrigins = new JavaCodeUnit[size];
+        Object[] sortedRecords = new Object[size];
+        originHashes = new int[size];
+        for (int i = 0; i < size; i++) {
+            int index = (int) sortKeys[i];
+            sortedOrigins[i] = origins[index];
+            sortedRecords[i] = records[index];
+            originHashes[i] = (int) (sortKeys[i] >> 32);
+        }
+        origins = sortedOrigins;
+        records = sortedRecords;
+    }
+}
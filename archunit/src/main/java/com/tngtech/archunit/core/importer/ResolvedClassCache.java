@@ -0,0 +1,310 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromClasspath;
+import com.tngtech.archunit.core.importer.resolvers.SelectedClassResolverFromClasspath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.base.ClassLoaders.getCurrentClassLoader;
+import static com.tngtech.archunit.base.Suppliers.memoize;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.synchronizedMap;
+
+/**
+ * A JVM-wide cache of the types that have been resolved from the classpath during previous imports
+ * (compare {@link ClassResolverFromClasspath} and {@link SelectedClassResolverFromClasspath}).
+ * Resolving a type from the classpath means looking it up via {@link ClassLoader#getResource(String)}
+ * and importing the respective class file.<br>
+ * A {@link JavaClass} always belongs to the import that created it, so it cannot be shared between imports.
+ * Instead, the {@link URI}, the {@link ClassFileFingerprint fingerprint} and the {@link ClassFileEvents recorded events}
+ * of every resolved type are cached and replayed by subsequent imports, as long as the fingerprint of the class file
+ * is still the same. Types that could not be found on the classpath are cached as missing together with the
+ * {@link ClasspathFingerprint fingerprint of the classpath}, so subsequent imports do not need to look them up again,
+ * unless the classpath has changed in the meantime.<br>
+ * There is one cache per context {@link ClassLoader} (compare {@link ClassResolverFromClasspath}), holding at most
+ * {@value #MAX_SIZE_PROPERTY_NAME} resolved or missing types (evicting the least recently used ones). The recorded events of a single type
+ * can take tens of KB, so the cache is disabled by default (i.e. a size of {@code 0}). If the configured size changes,
+ * the cache of the respective {@link ClassLoader} is replaced by a new one on its next use.
+ */
+class ResolvedClassCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ResolvedClassCache.class);
+
+    static final String MAX_SIZE_PROPERTY_NAME = "import.resolvedClassCache.maxSize";
+    private static final long DEFAULT_MAX_SIZE = 0;
+
+    private static final Cache<ClassLoader, SizedCache> cachesByClassLoader = CacheBuilder.newBuilder().weakKeys().build();
+
+    private ResolvedClassCache() {
+    }
+
+    /**
+     * @param resolver The configured {@link ClassResolver}
+     * @param classUriImporter The {@link ReplayingClassUriImporter} to create {@link JavaClass JavaClasses} of resolved types
+     * @return A {@link ClassResolver} that consults the cache before the supplied resolver,
+     *         if the resolver is known to only resolve types from the classpath, otherwise the supplied resolver itself
+     */
+    static ClassResolver cache(ClassResolver resolver, ReplayingClassUriImporter classUriImporter) {
+        Optional<String> resolverKey = keyOf(resolver);
+        long maxSize = getConfiguredMaxSize();
+        if (!resolverKey.isPresent() || maxSize <= 0) {
+            resolver.setClassUriImporter(classUriImporter);
+            return resolver;
+        }
+        ClassLoader classLoader = getCurrentClassLoader(ClassResolverFromClasspath.class);
+        return new CachingClassResolver(resolver, resolverKey.get(), getCache(classLoader, maxSize), classLoader, classUriImporter);
+    }
+
+    private static synchronized Cache<String, CachedResolution> getCache(ClassLoader classLoader, long maxSize) {
+        SizedCache cache = cachesByClassLoader.getIfPresent(classLoader);
+        if (cache == null || cache.maxSize != maxSize) {
+            cache = new SizedCache(maxSize);
+            cachesByClassLoader.put(classLoader, cache);
+        }
+        return cache.cache;
+    }
+
+    // custom resolvers might resolve types from anywhere, so we only cache types resolved by the resolvers we know
+    private static Optional<String> keyOf(ClassResolver resolver) {
+        if (resolver instanceof ClassResolverFromClasspath) {
+            return Optional.of(ClassResolverFromClasspath.class.getName());
+        }
+        if (resolver instanceof SelectedClassResolverFromClasspath) {
+            return Optional.of(SelectedClassResolverFromClasspath.class.getName() + ArchConfiguration.get().getClassResolverArguments());
+        }
+        return Optional.empty();
+    }
+
+    private static long getConfiguredMaxSize() {
+        String configuredMaxSize = ArchConfiguration.get().getPropertyOrDefault(MAX_SIZE_PROPERTY_NAME, String.valueOf(DEFAULT_MAX_SIZE));
+        try {
+            return Long.parseLong(configuredMaxSize.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Couldn't parse {}={}, falling back to {}", MAX_SIZE_PROPERTY_NAME, configuredMaxSize, DEFAULT_MAX_SIZE);
+            return DEFAULT_MAX_SIZE;
+        }
+    }
+
+    /**
+     * @return The hit and miss (and eviction) statistics of the caches of all {@link ClassLoader ClassLoaders}
+     */
+    static CacheStats getStats() {
+        CacheStats result = new CacheStats(0, 0, 0, 0, 0, 0);
+        for (SizedCache cache : cachesByClassLoader.asMap().values()) {
+            result = result.plus(cache.cache.stats());
+        }
+        return result;
+    }
+
+    interface ReplayingClassUriImporter extends ClassResolver.ClassUriImporter {
+        /**
+         * Like {@link #tryImport(URI)}, but passes the {@link ClassFileEvents recorded events} of the imported class file
+         * to the supplied handler, if the import was successful
+         */
+        Optional<JavaClass> tryImport(URI uri, Consumer<byte[]> recordedEventsHandler);
+
+        /**
+         * Like {@link #tryImport(URI)}, but replays the supplied {@link ClassFileEvents recorded events} instead of reading the class file
+         */
+        Optional<JavaClass> tryReplay(URI uri, byte[] recordedEvents);
+    }
+
+    private static class CachingClassResolver implements ClassResolver {
+        private final ClassResolver delegate;
+        private final String resolverKey;
+        private final Cache<String, CachedResolution> cache;
+        // determined at most once per import, since the classpath is not expected to change during the import
+        private final Supplier<Optional<ClasspathFingerprint>> classpath;
+        private final ReplayingClassUriImporter classUriImporter;
+        // the delegate might import classes concurrently (compare ClassResolver.tryResolveAll(..))
+        private final Map<JavaClass, ResolvedClass> importedClasses = synchronizedMap(new IdentityHashMap<>());
+
+        CachingClassResolver(ClassResolver delegate, String resolverKey, Cache<String, CachedResolution> cache, ClassLoader classLoader,
+                ReplayingClassUriImporter classUriImporter) {
+            this.delegate = delegate;
+            this.resolverKey = resolverKey;
+            this.cache = cache;
+            this.classpath = memoize(() -> ClasspathFingerprint.of(classLoader));
+            this.classUriImporter = classUriImporter;
+            delegate.setClassUriImporter(this::tryImport);
+        }
+
+        // the fingerprint is determined before reading the class file, so a concurrent change can only cause a needless miss later on
+        private Optional<JavaClass> tryImport(URI uri) {
+            Optional<String> fingerprint = ClassFileFingerprint.of(uri);
+            if (!fingerprint.isPresent()) {
+                return classUriImporter.tryImport(uri);
+            }
+
+            AtomicReference<byte[]> recordedEvents = new AtomicReference<>();
+            Optional<JavaClass> imported = classUriImporter.tryImport(uri, recordedEvents::set);
+            imported.ifPresent(javaClass -> importedClasses.put(javaClass, new ResolvedClass(uri, fingerprint.get(), recordedEvents.get())));
+            return imported;
+        }
+
+        // the ClassUriImporter has already been passed on to the delegate on construction
+        @Override
+        public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        }
+
+        @Override
+        public Optional<JavaClass> tryResolve(String typeName) {
+            Optional<CachedResolution> cached = getUpToDate(typeName);
+            if (cached.isPresent()) {
+                return cached.get().createJavaClass(classUriImporter);
+            }
+
+            Optional<JavaClass> resolved = delegate.tryResolve(typeName);
+            cacheResolution(typeName, resolved);
+            return resolved;
+        }
+
+        @Override
+        public Map<String, JavaClass> tryResolveAll(Collection<String> typeNames) {
+            Map<String, JavaClass> result = new HashMap<>();
+            List<String> uncachedTypeNames = new ArrayList<>();
+            for (String typeName : typeNames) {
+                Optional<CachedResolution> cached = getUpToDate(typeName);
+                if (cached.isPresent()) {
+                    cached.get().createJavaClass(classUriImporter).ifPresent(javaClass -> result.put(typeName, javaClass));
+                } else {
+                    uncachedTypeNames.add(typeName);
+                }
+            }
+
+            Map<String, JavaClass> resolved = uncachedTypeNames.isEmpty() ? emptyMap() : delegate.tryResolveAll(uncachedTypeNames);
+            for (String typeName : uncachedTypeNames) {
+                cacheResolution(typeName, Optional.ofNullable(resolved.get(typeName)));
+            }
+            result.putAll(resolved);
+            return result;
+        }
+
+        private Optional<CachedResolution> getUpToDate(String typeName) {
+            String key = keyOf(typeName);
+            CachedResolution cached = cache.getIfPresent(key);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            if (!cached.isUpToDate(classpath)) {
+                cache.invalidate(key);
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        }
+
+        private void cacheResolution(String typeName, Optional<JavaClass> resolved) {
+            if (!resolved.isPresent()) {
+                classpath.get().ifPresent(it -> cache.put(keyOf(typeName), new MissingClass(typeName, it.getValue())));
+                return;
+            }
+            ResolvedClass resolvedClass = importedClasses.remove(resolved.get());
+            if (resolvedClass != null) {
+                cache.put(keyOf(typeName), resolvedClass);
+            }
+        }
+
+        private String keyOf(String typeName) {
+            return resolverKey + "|" + typeName;
+        }
+    }
+
+    private static class SizedCache {
+        private final long maxSize;
+        private final Cache<String, CachedResolution> cache;
+
+        SizedCache(long maxSize) {
+            this.maxSize = maxSize;
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(maxSize)
+                    .recordStats()
+                    .build();
+        }
+    }
+
+    private interface CachedResolution {
+        /**
+         * @param classpath The {@link ClasspathFingerprint fingerprint} of the current classpath, if it can be determined
+         */
+        boolean isUpToDate(Supplier<Optional<ClasspathFingerprint>> classpath);
+
+        Optional<JavaClass> createJavaClass(ReplayingClassUriImporter classUriImporter);
+    }
+
+    private static class ResolvedClass implements CachedResolution {
+        private final URI uri;
+        private final String fingerprint;
+        private final byte[] recordedEvents;
+
+        ResolvedClass(URI uri, String fingerprint, byte[] recordedEvents) {
+            this.uri = uri;
+            this.fingerprint = fingerprint;
+            this.recordedEvents = recordedEvents;
+        }
+
+        @Override
+        public boolean isUpToDate(Supplier<Optional<ClasspathFingerprint>> classpath) {
+            return ClassFileFingerprint.of(uri).map(fingerprint::equals).orElse(false);
+        }
+
+        @Override
+        public Optional<JavaClass> createJavaClass(ReplayingClassUriImporter classUriImporter) {
+            return classUriImporter.tryReplay(uri, recordedEvents);
+        }
+    }
+
+    private static class MissingClass implements CachedResolution {
+        private final String typeName;
+        private final String classpathFingerprint;
+
+        MissingClass(String typeName, String classpathFingerprint) {
+            this.typeName = typeName;
+            this.classpathFingerprint = classpathFingerprint;
+        }
+
+        @Override
+        public boolean isUpToDate(Supplier<Optional<ClasspathFingerprint>> classpath) {
+            return classpath.get()
+                    .filter(it -> it.getValue().equals(classpathFingerprint))
+                    .map(it -> it.isStillMissing(typeName))
+                    .orElse(false);
+        }
+
+        @Override
+        public Optional<JavaClass> createJavaClass(ReplayingClassUriImporter classUriImporter) {
+            return Optional.empty();
+        }
+    }
+}
@@ -16,21 +16,65 @@
 package com.tngtech.archunit.core.importer;
 
 import java.net.URI;
+import java.util.Optional;
 
+import com.tngtech.archunit.core.domain.DomainObjectCreationContext;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.Source.ContentHash;
+import com.tngtech.archunit.core.domain.Source.Md5sum;
+
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createDisabledMd5sum;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createMd5sum;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.readSourceContent;
+
+/**
+ * Describes where a class was imported from. If the md5 sum or a {@link ContentHash} is requested, those are
+ * computed from the bytes already read for parsing the class file (see {@link #onContentRead(byte[])}), so the
+ * class file does not need to be read a second time. Only if the class file was never read during the import
+ * (e.g. because recorded events were replayed) the content will be read again from the {@link #getUri() URI}.
+ */
 class SourceDescriptor {
     private final URI sourceUri;
     private final boolean md5InClassSourcesEnabled;
+    private final Optional<ContentHash.Algorithm> contentHashAlgorithm;
+    private boolean contentRead = false;
+    private Optional<Md5sum> md5sum = Optional.empty();
+    private Optional<ContentHash> contentHash = Optional.empty();
 
     SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled) {
+        this(sourceUri, md5InClassSourcesEnabled, Optional.empty());
+    }
+
+    SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled, Optional<ContentHash.Algorithm> contentHashAlgorithm) {
         this.sourceUri = sourceUri;
         this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
+        this.contentHashAlgorithm = contentHashAlgorithm;
     }
 
     URI getUri() {
         return sourceUri;
     }
 
-    boolean isMd5InClassSourcesEnabled() {
-        return md5InClassSourcesEnabled;
+    boolean isContentNeeded() {
+        return md5InClassSourcesEnabled || contentHashAlgorithm.isPresent();
+    }
+
+    void onContentRead(byte[] content) {
+        contentRead = true;
+        if (md5InClassSourcesEnabled) {
+            md5sum = Optional.of(createMd5sum(Optional.of(content)));
+        }
+        contentHash = contentHashAlgorithm.map(algorithm -> algorithm.hash(content));
+    }
+
+    Source createSource(Optional<String> sourceFileName) {
+        if (isContentNeeded() && !contentRead) {
+            Optional<byte[]> content = readSourceContent(sourceUri);
+            if (md5InClassSourcesEnabled) {
+                md5sum = Optional.of(createMd5sum(content));
+            }
+            contentHash = content.flatMap(bytes -> contentHashAlgorithm.map(algorithm -> algorithm.hash(bytes)));
+        }
+        return DomainObjectCreationContext.createSource(sourceUri, sourceFileName, md5sum.orElse(createDisabledMd5sum()), contentHash);
     }
 }
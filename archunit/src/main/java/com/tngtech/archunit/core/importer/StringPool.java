@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014-2024 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes the names and descriptors read from class files over the course of one import.
+ * ASM creates a new {@link String} for every occurrence of a name in every class file
+ * (e.g. {@code toString} or {@code ()V}), and many of those are retained by the imported domain objects.
+ * Passing them through the same {@link StringPool} lets all equal names share one instance.<br>
+ * The names retained by {@link com.tngtech.archunit.core.domain.JavaClassDescriptor JavaClassDescriptors}
+ * do not need to pass through the pool, since the descriptors themselves are already shared
+ * (compare {@link com.tngtech.archunit.core.domain.JavaClassDescriptor.From#name(String)}).<br>
+ * A {@link StringPool} is safe to use from multiple threads and should be discarded together with the import.
+ */
+class StringPool {
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    /**
+     * @return The instance equal to {@code string} that was first passed to this pool (or {@code null} for {@code null})
+     */
+    String canonicalize(String string) {
+        if (string == null) {
+            return null;
+        }
+        String canonical = strings.get(string);
+        if (canonical != null) {
+            return canonical;
+        }
+        canonical = strings.putIfAbsent(string, string);
+        return canonical != null ? canonical : string;
+    }
+}
@@ -114,11 +114,15 @@ class TryCatchRecorder {
         handlers.add(handler);
     }
 
-    void registerAccess(RawAccessRecord accessRecord) {
+    /**
+     * @return Whether the access is contained in any try-catch-block, i.e. has been added to any block
+     */
+    boolean registerAccess(RawAccessRecord accessRecord) {
         if (!active) {
-            return;
+            return false;
         }
         activeBlocksByEnd.values().forEach(block -> block.addRawAccessContainedInTryBlock(accessRecord));
+        return !activeBlocksByEnd.isEmpty();
     }
 
     void onEncounteredMethodEnd() {
@@ -17,8 +17,12 @@ package com.tngtech.archunit.core.importer.resolvers;
 
 import java.lang.reflect.Constructor;
 import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 import com.tngtech.archunit.ArchConfiguration;
@@ -64,6 +68,24 @@ public interface ClassResolver {
      */
     Optional<JavaClass> tryResolve(String typeName);
 
+    /**
+     * ArchUnit will call this method, to resolve all missing {@link JavaClass JavaClasses} found by one iteration
+     * of the dependency resolution at once (compare {@link #tryResolve(String)}). By default, the types are simply
+     * resolved one after the other. Implementations can override this method to resolve the types concurrently,
+     * the supplied {@link ClassUriImporter ClassUriImporter} can safely be used from multiple threads
+     * for the duration of this call.
+     *
+     * @param typeNames The type names to resolve as {@link JavaClass JavaClasses}
+     * @return A map from type name to resolved {@link JavaClass} for all types that could be successfully imported
+     */
+    default Map<String, JavaClass> tryResolveAll(Collection<String> typeNames) {
+        Map<String, JavaClass> result = new HashMap<>();
+        for (String typeName : typeNames) {
+            tryResolve(typeName).ifPresent(javaClass -> result.put(typeName, javaClass));
+        }
+        return result;
+    }
+
     /**
      * Provides a way to import a JavaClass from a given {@link URI}.
      *
@@ -90,17 +112,34 @@ public interface ClassResolver {
     @Internal
     final class Factory {
         public ClassResolver create() {
-            Optional<ClassResolver> resolver = getExplicitlyConfiguredClassResolver();
-            if (resolver.isPresent()) {
-                return resolver.get();
-            }
+            return create(Optional.empty());
+        }
 
+        /**
+         * @param executor An {@link ExecutorService} owned by the import, that the resolvers from the classpath
+         *                 will use to resolve types concurrently (compare {@link ClassResolver#tryResolveAll(Collection)})
+         */
+        public ClassResolver create(Optional<ExecutorService> executor) {
+            ClassResolver resolver = getExplicitlyConfiguredClassResolver().orElseGet(this::createDefaultResolver);
+            executor.ifPresent(it -> passExecutor(resolver, it));
+            return resolver;
+        }
+
+        private ClassResolver createDefaultResolver() {
             boolean resolveFromClasspath = ArchConfiguration.get().resolveMissingDependenciesFromClassPath();
             return resolveFromClasspath ?
                     new ClassResolverFromClasspath() :
                     new NoOpClassResolver();
         }
 
+        private static void passExecutor(ClassResolver classResolver, ExecutorService executor) {
+            if (classResolver instanceof ClassResolverFromClasspath) {
+                ((ClassResolverFromClasspath) classResolver).setExecutor(executor);
+            } else if (classResolver instanceof SelectedClassResolverFromClasspath) {
+                ((SelectedClassResolverFromClasspath) classResolver).setExecutor(executor);
+            }
+        }
+
         private Optional<ClassResolver> getExplicitlyConfiguredClassResolver() {
             Optional<String> resolverClassName = ArchConfiguration.get().getClassResolver();
             if (!resolverClassName.isPresent()) {
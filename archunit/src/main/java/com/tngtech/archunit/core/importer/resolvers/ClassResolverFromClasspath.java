@@ -18,23 +18,33 @@ package com.tngtech.archunit.core.importer.resolvers;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.tngtech.archunit.base.ArchUnitException;
 import com.tngtech.archunit.base.MayResolveTypesViaReflection;
 import com.tngtech.archunit.core.domain.JavaClass;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.Futures.getUnchecked;
 import static com.tngtech.archunit.base.ClassLoaders.getCurrentClassLoader;
 
 /**
  * A {@link ClassResolver} that tries to locate missing dependencies on the classpath.
  * I.e. uses {@link Class#getResource(String)} to find the {@link URI} of the classfile for the missing
- * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.
+ * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.<br>
+ * If the import is configured to run in parallel (i.e. {@code import.parallelism} is greater than 1),
+ * all types of {@link #tryResolveAll(Collection)} are resolved concurrently by the threads of the import.
  */
 @MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
 public final class ClassResolverFromClasspath implements ClassResolver {
     private ClassUriImporter classUriImporter;
+    private Optional<ExecutorService> executor = Optional.empty();
 
     @Override
     public void setClassUriImporter(ClassUriImporter classUriImporter) {
@@ -42,17 +52,46 @@ public final class ClassResolverFromClasspath implements ClassResolver {
                 "%s may not be null", ClassUriImporter.class.getSimpleName());
     }
 
+    /**
+     * Lets {@link #tryResolveAll(Collection)} resolve the types concurrently. The {@link ExecutorService}
+     * is owned by the import, i.e. it is shut down once the import is finished.
+     */
+    void setExecutor(ExecutorService executor) {
+        this.executor = Optional.of(executor);
+    }
+
     @Override
     public Optional<JavaClass> tryResolve(String typeName) {
+        return tryResolve(typeName, getCurrentClassLoader(getClass()));
+    }
+
+    @Override
+    public Map<String, JavaClass> tryResolveAll(Collection<String> typeNames) {
+        if (!executor.isPresent() || typeNames.size() <= 1) {
+            return ClassResolver.super.tryResolveAll(typeNames);
+        }
+
+        // the worker threads would not see the context ClassLoader of the current thread
+        ClassLoader classLoader = getCurrentClassLoader(getClass());
+        Map<String, Future<Optional<JavaClass>>> resolutions = new LinkedHashMap<>();
+        for (String typeName : typeNames) {
+            resolutions.put(typeName, executor.get().submit(() -> tryResolve(typeName, classLoader)));
+        }
+        Map<String, JavaClass> result = new HashMap<>();
+        resolutions.forEach((typeName, resolution) -> getUnchecked(resolution).ifPresent(javaClass -> result.put(typeName, javaClass)));
+        return result;
+    }
+
+    private Optional<JavaClass> tryResolve(String typeName, ClassLoader classLoader) {
         String typeFile = typeName.replace(".", "/") + ".class";
 
-        Optional<URI> uri = tryGetUriOf(typeFile);
+        Optional<URI> uri = tryGetUriOf(typeFile, classLoader);
 
         return uri.isPresent() ? classUriImporter.tryImport(uri.get()) : Optional.empty();
     }
 
-    private Optional<URI> tryGetUriOf(String typeFile) {
-        URL resource = getCurrentClassLoader(getClass()).getResource(typeFile);
+    private Optional<URI> tryGetUriOf(String typeFile, ClassLoader classLoader) {
+        URL resource = classLoader.getResource(typeFile);
         if (resource == null) {
             return Optional.empty();
         }
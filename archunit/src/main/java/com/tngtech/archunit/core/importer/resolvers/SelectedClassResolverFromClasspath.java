@@ -15,15 +15,19 @@
  */
 package com.tngtech.archunit.core.importer.resolvers;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.core.domain.JavaClass;
 
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Only resolves classes from classpath that are beneath the configured {@link #packageRoots}. E.g. useful,
@@ -48,6 +52,13 @@ public final class SelectedClassResolverFromClasspath implements ClassResolver {
         classResolverFromClasspath.setClassUriImporter(classUriImporter);
     }
 
+    /**
+     * @see ClassResolverFromClasspath#setExecutor(ExecutorService)
+     */
+    void setExecutor(ExecutorService executor) {
+        classResolverFromClasspath.setExecutor(executor);
+    }
+
     @Override
     @PublicAPI(usage = ACCESS)
     public Optional<JavaClass> tryResolve(String typeName) {
@@ -58,4 +69,13 @@ public final class SelectedClassResolverFromClasspath implements ClassResolver {
         }
         return Optional.empty();
     }
+
+    @Override
+    @PublicAPI(usage = ACCESS)
+    public Map<String, JavaClass> tryResolveAll(Collection<String> typeNames) {
+        List<String> selectedTypeNames = typeNames.stream()
+                .filter(typeName -> packageRoots.stream().anyMatch(typeName::startsWith))
+                .collect(toList());
+        return classResolverFromClasspath.tryResolveAll(selectedTypeNames);
+    }
 }
@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.Internal;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedIterable;
+import com.tngtech.archunit.core.FlightRecorderPlugin;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.properties.CanOverrideDescription;
@@ -34,6 +35,7 @@ import com.tngtech.archunit.lang.syntax.elements.GivenClasses;
 
 import static com.google.common.collect.Iterables.isEmpty;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static java.util.Collections.emptyList;
 
 /**
  * Represents a rule about a specified set of objects of interest (e.g. {@link JavaClass}).
@@ -139,6 +141,7 @@ public interface ArchRule extends CanBeEvaluated, CanOverrideDescription<ArchRul
 
         private static class SimpleArchRule<T> implements ArchRule {
             private static final String FAIL_ON_EMPTY_SHOULD_PROPERTY_NAME = "archRule.failOnEmptyShould";
+            private static final FlightRecorderPlugin flightRecorder = FlightRecorderPlugin.Loader.loadForCurrentPlatform();
 
             private final Priority priority;
             private final ClassesTransformer<T> classesTransformer;
@@ -177,16 +180,22 @@ public interface ArchRule extends CanBeEvaluated, CanOverrideDescription<ArchRul
 
             @Override
             public EvaluationResult evaluate(JavaClasses classes) {
-                Collection<T> allObjects = toCollection(classesTransformer.transform(classes));
-                verifyNoEmptyShouldIfEnabled(allObjects);
-
-                condition.init(allObjects);
+                FlightRecorderPlugin.RuleEvaluationSpan span = flightRecorder.startRuleEvaluation(this);
+                Collection<T> allObjects = emptyList();
                 ConditionEvents events = ConditionEvents.Factory.create();
-                for (T object : allObjects) {
-                    condition.check(object, events);
+                try {
+                    allObjects = toCollection(classesTransformer.transform(classes));
+                    verifyNoEmptyShouldIfEnabled(allObjects);
+
+                    condition.init(allObjects);
+                    for (T object : allObjects) {
+                        condition.check(object, events);
+                    }
+                    condition.finish(events);
+                    return new EvaluationResult(this, events, priority);
+                } finally {
+                    span.end(allObjects.size(), events.getViolating().size());
                 }
-                condition.finish(events);
-                return new EvaluationResult(this, events, priority);
             }
 
             @SuppressWarnings("unchecked")
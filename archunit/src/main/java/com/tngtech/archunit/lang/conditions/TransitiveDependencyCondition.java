@@ -15,12 +15,21 @@
  */
 package com.tngtech.archunit.lang.conditions;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.SetMultimap;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaClass;
@@ -33,6 +42,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.getLast;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.lang.ConditionEvent.createMessage;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
 
@@ -40,8 +50,8 @@ import static java.util.stream.Collectors.toSet;
 public final class TransitiveDependencyCondition extends ArchCondition<JavaClass> {
 
     private final DescribedPredicate<? super JavaClass> conditionPredicate;
-    private final TransitiveDependencyPath transitiveDependencyPath = new TransitiveDependencyPath();
-    private Collection<JavaClass> allClasses;
+    private TransitiveDependencyPath transitiveDependencyPath;
+    private Set<JavaClass> allClasses;
 
     public TransitiveDependencyCondition(DescribedPredicate<? super JavaClass> conditionPredicate) {
         super("transitively depend on classes that " + conditionPredicate.getDescription());
@@ -51,7 +61,8 @@ public final class TransitiveDependencyCondition extends ArchCondition<JavaClass
 
     @Override
     public void init(Collection<JavaClass> allObjectsToTest) {
-        this.allClasses = allObjectsToTest;
+        this.allClasses = new HashSet<>(allObjectsToTest);
+        this.transitiveDependencyPath = new TransitiveDependencyPath();
     }
 
     @Override
@@ -92,37 +103,134 @@ public final class TransitiveDependencyCondition extends ArchCondition<JavaClass
                 .collect(toSet());
     }
 
+    /**
+     * Remembers for every class analyzed during one evaluation whether, and via which class, some matching class is reachable.
+     * Thus, every class is only analyzed once, no matter how many checked classes transitively depend on it.<br>
+     * Within a cycle all classes can reach the same classes, but a depth-first search cannot tell
+     * before the whole cycle has been traversed. Thus, the classes are analyzed in strongly connected components
+     * (compare Tarjan's algorithm), and the result of a class is only remembered once its component is complete.
+     * The traversal uses explicit stacks, so long dependency chains cannot overflow the stack.
+     */
     private class TransitiveDependencyPath {
+        // Optional.empty() if there is no path to a matching class, otherwise the next class on such a path (or the class itself if it matches)
+        private final Map<JavaClass, Optional<JavaClass>> nextClassOnPath = new HashMap<>();
+
         /**
          * @return some outgoing transitive dependency path to the supplied class or empty if there is none
          */
         List<JavaClass> findPathTo(JavaClass clazz) {
+            if (!nextClassOnPath.containsKey(clazz)) {
+                new ComponentSearch().analyzeClassesReachableFrom(clazz);
+            }
+
             ImmutableList.Builder<JavaClass> transitivePath = ImmutableList.builder();
-            addDependenciesToPathFrom(clazz, transitivePath, new HashSet<>());
-            return transitivePath.build().reverse();
+            Optional<JavaClass> next = Optional.of(clazz);
+            JavaClass current;
+            do {
+                if (!next.isPresent()) {
+                    return emptyList();
+                }
+                current = next.get();
+                transitivePath.add(current);
+                next = nextClassOnPath.get(current);
+            } while (!(next.isPresent() && next.get().equals(current)));
+            return transitivePath.build();
         }
 
-        private boolean addDependenciesToPathFrom(
-                JavaClass clazz,
-                ImmutableList.Builder<JavaClass> dependencyPath,
-                Set<JavaClass> analyzedClasses
-        ) {
-            if (conditionPredicate.test(clazz)) {
-                dependencyPath.add(clazz);
-                return true;
+        private class ComponentSearch {
+            private final Map<JavaClass, Integer> discoveryIndex = new HashMap<>();
+            private final Map<JavaClass, Integer> lowLink = new HashMap<>();
+            private final Map<JavaClass, List<JavaClass>> successors = new HashMap<>();
+            private final Set<JavaClass> matchingClasses = new HashSet<>();
+            private final Deque<JavaClass> componentStack = new ArrayDeque<>();
+            private final Set<JavaClass> onComponentStack = new HashSet<>();
+            private final Deque<Map.Entry<JavaClass, Iterator<JavaClass>>> callStack = new ArrayDeque<>();
+
+            void analyzeClassesReachableFrom(JavaClass start) {
+                visit(start);
+                while (!callStack.isEmpty()) {
+                    JavaClass current = callStack.peek().getKey();
+                    Iterator<JavaClass> remainingSuccessors = callStack.peek().getValue();
+                    if (remainingSuccessors.hasNext()) {
+                        JavaClass successor = remainingSuccessors.next();
+                        if (nextClassOnPath.containsKey(successor)) {
+                            continue;  // component already complete
+                        }
+                        if (!discoveryIndex.containsKey(successor)) {
+                            visit(successor);
+                        } else if (onComponentStack.contains(successor)) {
+                            lowLink.put(current, Math.min(lowLink.get(current), discoveryIndex.get(successor)));
+                        }
+                        continue;
+                    }
+
+                    callStack.pop();
+                    if (!callStack.isEmpty()) {
+                        JavaClass caller = callStack.peek().getKey();
+                        lowLink.put(caller, Math.min(lowLink.get(caller), lowLink.get(current)));
+                    }
+                    if (lowLink.get(current).equals(discoveryIndex.get(current))) {
+                        completeComponentOf(current);
+                    }
+                }
             }
 
-            analyzedClasses.add(clazz);
+            private void visit(JavaClass clazz) {
+                discoveryIndex.put(clazz, discoveryIndex.size());
+                lowLink.put(clazz, discoveryIndex.get(clazz));
+                componentStack.push(clazz);
+                onComponentStack.add(clazz);
+
+                List<JavaClass> successorsOfClass = emptyList();
+                if (conditionPredicate.test(clazz)) {
+                    matchingClasses.add(clazz);  // a path ends at the first matching class
+                } else {
+                    successorsOfClass = ImmutableList.copyOf(getDirectDependencyTargetsOutsideOfAnalyzedClasses(clazz));
+                }
+                successors.put(clazz, successorsOfClass);
+                callStack.push(new SimpleImmutableEntry<>(clazz, successorsOfClass.iterator()));
+            }
 
-            for (JavaClass directDependency : getDirectDependencyTargetsOutsideOfAnalyzedClasses(clazz)) {
-                if (!analyzedClasses.contains(directDependency)
-                        && addDependenciesToPathFrom(directDependency, dependencyPath, analyzedClasses)) {
-                    dependencyPath.add(clazz);
-                    return true;
+            private void completeComponentOf(JavaClass root) {
+                Set<JavaClass> component = new HashSet<>();
+                JavaClass member;
+                do {
+                    member = componentStack.pop();
+                    onComponentStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(root));
+
+                Map<JavaClass, JavaClass> nextClassInComponent = new HashMap<>();
+                Deque<JavaClass> classesWithPath = new ArrayDeque<>();
+                SetMultimap<JavaClass, JavaClass> predecessorsInComponent = HashMultimap.create();
+                for (JavaClass clazz : component) {
+                    Optional<JavaClass> exit = matchingClasses.contains(clazz) ? Optional.of(clazz) : findSuccessorWithPathOutside(component, clazz);
+                    if (exit.isPresent()) {
+                        nextClassInComponent.put(clazz, exit.get());
+                        classesWithPath.add(clazz);
+                    }
+                    successors.get(clazz).stream().filter(component::contains).forEach(successor -> predecessorsInComponent.put(successor, clazz));
+                }
+                // breadth-first backwards from all classes with a path, so every class of the component is linked to its closest such class
+                while (!classesWithPath.isEmpty()) {
+                    JavaClass clazz = classesWithPath.poll();
+                    for (JavaClass predecessor : predecessorsInComponent.get(clazz)) {
+                        if (!nextClassInComponent.containsKey(predecessor)) {
+                            nextClassInComponent.put(predecessor, clazz);
+                            classesWithPath.add(predecessor);
+                        }
+                    }
+                }
+                for (JavaClass clazz : component) {
+                    nextClassOnPath.put(clazz, Optional.ofNullable(nextClassInComponent.get(clazz)));
                 }
             }
 
-            return false;
+            private Optional<JavaClass> findSuccessorWithPathOutside(Set<JavaClass> component, JavaClass clazz) {
+                return successors.get(clazz).stream()
+                        .filter(successor -> !component.contains(successor) && nextClassOnPath.get(successor).isPresent())
+                        .findFirst();
+            }
         }
     }
 }
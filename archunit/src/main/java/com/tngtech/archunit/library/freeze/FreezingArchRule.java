@@ -22,9 +22,11 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.FlightRecorderPlugin;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
@@ -118,7 +120,7 @@ public final class FreezingArchRule implements ArchRule {
     @Override
     @PublicAPI(usage = ACCESS)
     public EvaluationResult evaluate(JavaClasses classes) {
-        store.initialize(ArchConfiguration.get().getSubProperties(FREEZE_STORE_PROPERTY_NAME));
+        store.initialize(ArchConfiguration.get().getSubProperties(FREEZE_STORE_PROPERTY_NAME), delegate);
 
         EvaluationResultLineBreakAdapter result = new EvaluationResultLineBreakAdapter(delegate.evaluate(classes));
         if (!store.contains(delegate) || refreezeViolations()) {
@@ -255,26 +257,44 @@ public final class FreezingArchRule implements ArchRule {
     }
 
     private static class ViolationStoreLineBreakAdapter {
+        private static final FlightRecorderPlugin flightRecorder = FlightRecorderPlugin.Loader.loadForCurrentPlatform();
+
         private final ViolationStore store;
 
         ViolationStoreLineBreakAdapter(ViolationStore store) {
             this.store = checkNotNull(store);
         }
 
-        void initialize(Properties properties) {
-            store.initialize(properties);
+        void initialize(Properties properties, ArchRule rule) {
+            access("initialize", rule, () -> {
+                store.initialize(properties);
+                return null;
+            });
         }
 
         boolean contains(ArchRule rule) {
-            return store.contains(rule);
+            return access("contains", rule, () -> store.contains(rule));
         }
 
         List<String> getViolations(ArchRule rule) {
-            return ensureUnixLineBreaks(store.getViolations(rule));
+            return ensureUnixLineBreaks(access("getViolations", rule, () -> store.getViolations(rule)));
         }
 
         void save(ArchRule rule, List<String> violations) {
-            store.save(rule, ensureUnixLineBreaks(violations));
+            List<String> violationsToSave = ensureUnixLineBreaks(violations);
+            access("save", rule, () -> {
+                store.save(rule, violationsToSave);
+                return null;
+            });
+        }
+
+        private static <T> T access(String operation, ArchRule rule, Supplier<T> storeAccess) {
+            FlightRecorderPlugin.Span span = flightRecorder.startViolationStoreAccess(operation, rule);
+            try {
+                return storeAccess.get();
+            } finally {
+                span.end();
+            }
         }
     }
 
@@ -0,0 +1,87 @@
+package com.tngtech.archunit.core.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavaClassDescriptorCacheTest {
+    private final List<String> loadedTypeNames = new ArrayList<>();
+
+    @Test
+    public void loads_every_type_name_only_once() {
+        JavaClassDescriptorCache cache = new JavaClassDescriptorCache(100, this::load);
+
+        JavaClassDescriptor first = cache.get("com.example.SomeClass");
+        JavaClassDescriptor second = cache.get("com.example.SomeClass");
+
+        assertThat(second).isSameAs(first);
+        assertThat(loadedTypeNames).containsExactly("com.example.SomeClass");
+        assertThat(cache.getStats().hitCount()).isEqualTo(1);
+        assertThat(cache.getStats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void never_holds_more_than_twice_the_maximum_size() {
+        JavaClassDescriptorCache cache = new JavaClassDescriptorCache(10, this::load);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("com.example.SomeClass" + i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+        assertThat(cache.getStats().evictionCount()).isGreaterThanOrEqualTo(80);
+    }
+
+    @Test
+    public void keeps_frequently_used_type_names_across_generations() {
+        JavaClassDescriptorCache cache = new JavaClassDescriptorCache(10, this::load);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("com.example.Frequent");
+            cache.get("com.example.SomeClass" + i);
+        }
+
+        assertThat(loadedTypeNames).containsOnlyOnce("com.example.Frequent");
+    }
+
+    @Test
+    public void does_not_cache_anything_if_maximum_size_is_zero() {
+        JavaClassDescriptorCache cache = new JavaClassDescriptorCache(0, this::load);
+
+        cache.get("com.example.SomeClass");
+        cache.get("com.example.SomeClass");
+
+        assertThat(loadedTypeNames).containsExactly("com.example.SomeClass", "com.example.SomeClass");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void applies_changes_of_the_maximum_size_once_reconfigured() {
+        AtomicInteger configuredMaxSize = new AtomicInteger(100);
+        JavaClassDescriptorCache cache = new JavaClassDescriptorCache(configuredMaxSize::get, this::load);
+        cache.get("com.example.SomeClass");
+
+        configuredMaxSize.set(0);
+        cache.reconfigure();
+        cache.get("com.example.SomeClass");
+
+        assertThat(cache.size()).isZero();
+
+        configuredMaxSize.set(100);
+        cache.reconfigure();
+        cache.get("com.example.SomeClass");
+        cache.get("com.example.SomeClass");
+
+        assertThat(loadedTypeNames).containsExactly("com.example.SomeClass", "com.example.SomeClass", "com.example.SomeClass");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private JavaClassDescriptor load(String typeName) {
+        loadedTypeNames.add(typeName);
+        return JavaClassDescriptor.From.name(typeName);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tngtech.archunit.core.domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.tngtech.archunit.Slow;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+@Category(Slow.class)
+public class JavaClassMembersPerformanceTest {
+    private static final int NUMBER_OF_MEMBERS = 20_000;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Generated classes (e.g. clients or JOOQ tables) can have thousands of members. Looking up all of them by name
+     * (e.g. to resolve access targets) must not take time quadratic in the number of members.
+     */
+    @Test
+    public void looks_up_members_of_very_wide_class_reasonably_fast() throws IOException {
+        JavaClass wideClass = importWideClass();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_MEMBERS; i++) {
+            assertThat(wideClass.tryGetField("field" + i)).isPresent();
+            assertThat(wideClass.tryGetMethod("method" + i, int.class)).isPresent();
+            assertThat(wideClass.tryGetCodeUnitWithParameterTypeNames("method" + i, singletonList("int"))).isPresent();
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(wideClass.tryGetMethod("method0", long.class)).isEmpty();
+        assertThat(durationMillis).as("milliseconds to look up %d members of each kind", NUMBER_OF_MEMBERS).isLessThan(5_000);
+    }
+
+    private JavaClass importWideClass() throws IOException {
+        File classFile = new File(temporaryFolder.newFolder("gen"), "WideClass.class");
+        Files.write(classFile.toPath(), wideClass("gen/WideClass"));
+        return new ClassFileImporter().importPath(temporaryFolder.getRoot().toPath()).get("gen.WideClass");
+    }
+
+    // creates a class with fields `int field<i>` and methods `void method<i>(int)`
+    private static byte[] wideClass(String internalName) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(V1_6, ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        for (int i = 0; i < NUMBER_OF_MEMBERS; i++) {
+            classWriter.visitField(ACC_PUBLIC, "field" + i, "I", null, null).visitEnd();
+            MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, "method" + i, "(I)V", null, null);
+            method.visitCode();
+            method.visitInsn(RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.tngtech.archunit.core.domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import com.tngtech.archunit.Slow;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+@Category(Slow.class)
+public class JavaClassTransitiveDependenciesPerformanceTest {
+    private static final int LENGTH_OF_CHAIN = 20_000;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Deep dependency chains must neither overflow the stack when traversed for one class,
+     * nor when the transitive closure is computed for all classes at once.
+     */
+    @Test
+    public void finds_transitive_dependencies_of_very_long_dependency_chain() throws IOException {
+        JavaClasses classes = importDependencyChain();
+        JavaClass start = classes.get("gen.Link0");
+
+        Set<Dependency> fromSingleClass = start.getTransitiveDependenciesFromSelf();
+        Set<Dependency> fromAllClasses = classes.getTransitiveDependenciesFrom(start);
+
+        assertThat(fromSingleClass).hasSizeGreaterThan(LENGTH_OF_CHAIN);
+        assertThat(fromAllClasses).isEqualTo(fromSingleClass);
+        assertThat(classes.getTransitiveDependenciesFrom(classes.get("gen.Link" + (LENGTH_OF_CHAIN - 1))))
+                .isEqualTo(classes.get("gen.Link" + (LENGTH_OF_CHAIN - 1)).getTransitiveDependenciesFromSelf());
+    }
+
+    private JavaClasses importDependencyChain() throws IOException {
+        File folder = temporaryFolder.newFolder("gen");
+        for (int i = 0; i < LENGTH_OF_CHAIN; i++) {
+            Files.write(new File(folder, "Link" + i + ".class").toPath(), link(i));
+        }
+        return new ClassFileImporter().importPath(temporaryFolder.getRoot().toPath());
+    }
+
+    // creates a class `gen.Link<i>` with a field of type `gen.Link<i+1>`, except for the last link
+    private static byte[] link(int index) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V1_6, ACC_PUBLIC, "gen/Link" + index, null, "java/lang/Object", null);
+        if (index + 1 < LENGTH_OF_CHAIN) {
+            classWriter.visitField(ACC_PUBLIC, "next", "Lgen/Link" + (index + 1) + ";", null, null).visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+}
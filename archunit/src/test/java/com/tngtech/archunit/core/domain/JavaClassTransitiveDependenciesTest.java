@@ -13,6 +13,7 @@ import org.junit.runner.RunWith;
 
 import static com.tngtech.archunit.core.domain.JavaClass.Functions.GET_TRANSITIVE_DEPENDENCIES_FROM_SELF;
 import static com.tngtech.archunit.testutil.Assertions.assertThatDependencies;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(DataProviderRunner.class)
 public class JavaClassTransitiveDependenciesTest {
@@ -162,4 +163,19 @@ public class JavaClassTransitiveDependenciesTest {
                     .contain(e, String.class);
         // @formatter:on
     }
+
+    @Test
+    public void finds_the_same_transitive_dependencies_via_JavaClasses_as_for_single_classes() {
+        JavaClasses classes = new ClassFileImporter().importClasses(
+                AcyclicGraph.A.class, AcyclicGraph.B.class, AcyclicGraph.C.class, AcyclicGraph.D.class,
+                CyclicGraph.A.class, CyclicGraph.B.class, CyclicGraph.C.class, CyclicGraph.D.class, CyclicGraph.E.class);
+
+        for (JavaClass javaClass : classes) {
+            assertThat(classes.getTransitiveDependenciesFrom(javaClass))
+                    .as("transitive dependencies from %s", javaClass.getName())
+                    .isEqualTo(javaClass.getTransitiveDependenciesFromSelf());
+        }
+        JavaClass notContainedClass = classes.get(CyclicGraph.A.class).getRawSuperclass().get();
+        assertThat(classes.getTransitiveDependenciesFrom(notContainedClass)).isEqualTo(notContainedClass.getTransitiveDependenciesFromSelf());
+    }
 }
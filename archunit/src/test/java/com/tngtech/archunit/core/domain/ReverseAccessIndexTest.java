@@ -0,0 +1,97 @@
+package com.tngtech.archunit.core.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.Test;
+
+import static com.tngtech.archunit.testutil.ArchConfigurationRule.resetConfigurationAround;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReverseAccessIndexTest {
+
+    @Test
+    public void finds_accesses_to_members_via_subclasses() {
+        JavaClass base = importWithIndex().get(Base.class);
+
+        assertThat(descriptionsOf(base.getField("field").getAccessesToSelf()))
+                .containsOnly("Accessor.accessViaBase -> Base.field", "Accessor.accessViaSub -> Sub.field");
+        assertThat(descriptionsOf(base.getMethod("method").getCallsOfSelf()))
+                .containsOnly("Accessor.accessViaBase -> Base.method", "Accessor.accessViaSub -> Sub.method");
+        assertThat(descriptionsOf(base.getMethod("method").getReferencesToSelf()))
+                .containsOnly("Accessor.referenceViaBase -> Base.method");
+        assertThat(descriptionsOf(base.getConstructor().getCallsOfSelf()))
+                .containsOnly("Accessor.accessViaBase -> Base.<init>", "Sub.<init> -> Base.<init>");
+        assertThat(base.getMethod("unused").getCallsOfSelf()).isEmpty();
+    }
+
+    @Test
+    public void finds_the_same_accesses_to_members_as_without_index() {
+        JavaClasses withoutIndex = resetConfigurationAround(ReverseAccessIndexTest::importClasses);
+
+        assertThat(accessesToMembersOf(importWithIndex())).isEqualTo(accessesToMembersOf(withoutIndex));
+    }
+
+    private static Map<String, Set<String>> accessesToMembersOf(JavaClasses classes) {
+        Map<String, Set<String>> result = new HashMap<>();
+        for (JavaClass javaClass : classes) {
+            javaClass.getFields().forEach(field -> result.put(field.getFullName(), descriptionsOf(field.getAccessesToSelf())));
+            javaClass.getCodeUnits().forEach(codeUnit -> result.put(codeUnit.getFullName(), descriptionsOf(codeUnit.getAccessesToSelf())));
+        }
+        return result;
+    }
+
+    private static Set<String> descriptionsOf(Set<? extends JavaAccess<?>> accesses) {
+        return accesses.stream()
+                .map(access -> access.getOrigin().getOwner().getSimpleName() + "." + access.getOrigin().getName()
+                        + " -> " + access.getTarget().getOwner().getSimpleName() + "." + access.getTarget().getName())
+                .collect(toSet());
+    }
+
+    private static JavaClasses importWithIndex() {
+        return resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ReverseAccessIndex.INDEX_REVERSE_ACCESSES_PROPERTY_NAME, "true");
+            return importClasses();
+        });
+    }
+
+    private static JavaClasses importClasses() {
+        return new ClassFileImporter().importClasses(Base.class, Sub.class, Accessor.class);
+    }
+
+    @SuppressWarnings("unused")
+    static class Base {
+        int field;
+
+        void method() {
+        }
+
+        void unused() {
+        }
+    }
+
+    static class Sub extends Base {
+    }
+
+    @SuppressWarnings("unused")
+    static class Accessor {
+        void accessViaBase() {
+            Base base = new Base();
+            base.method();
+            int value = base.field;
+        }
+
+        void accessViaSub(Sub sub) {
+            sub.method();
+            int value = sub.field;
+        }
+
+        Runnable referenceViaBase(Base base) {
+            return base::method;
+        }
+    }
+}
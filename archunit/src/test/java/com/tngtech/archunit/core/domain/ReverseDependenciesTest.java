@@ -0,0 +1,80 @@
+package com.tngtech.archunit.core.domain;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.Test;
+
+import static com.tngtech.archunit.testutil.ArchConfigurationRule.resetConfigurationAround;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReverseDependenciesTest {
+
+    @Test
+    public void provides_code_details_if_the_code_was_imported() {
+        JavaClasses classes = new ClassFileImporter().importClasses(Caller.class, Target.class, Constants.class);
+        JavaClass target = classes.get(Target.class);
+
+        assertThat(target.getField("field").getAccessesToSelf()).hasSize(1);
+        assertThat(target.getMethod("method").getCallsOfSelf()).hasSize(1);
+        assertThat(target.getConstructor().getCallsOfSelf()).hasSize(1);
+        assertThat(target.getInstanceofChecksWithTypeOfSelf()).hasSize(1);
+        assertThat(classes.get(Constants.class).getField("VALUE").getAccessesToSelf()).isEmpty();
+    }
+
+    @Test
+    public void reports_code_details_as_unavailable_even_for_classes_without_code_units() {
+        JavaClasses classes = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty("import.detail.code", "false");
+            return new ClassFileImporter().importClasses(Caller.class, Target.class, Constants.class);
+        });
+        JavaClass constants = classes.get(Constants.class);
+        JavaClass target = classes.get(Target.class);
+
+        assertThat(constants.getCodeUnits()).isEmpty();
+        assertThatThrownBy(constants.getField("VALUE")::getAccessesToSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(constants.getField("VALUE").getFullName())
+                .hasMessageContaining("import.detail.code=false");
+        assertThatThrownBy(constants::getInstanceofChecksWithTypeOfSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(constants.getName());
+        assertThatThrownBy(target.getMethod("method")::getCallsOfSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(target.getMethod("method").getFullName());
+    }
+
+    @Test
+    public void reports_instanceof_checks_as_unavailable_if_they_were_skipped() {
+        JavaClasses classes = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty("import.detail.instanceofChecks", "false");
+            return new ClassFileImporter().importClasses(Caller.class, Target.class, Constants.class);
+        });
+
+        assertThat(classes.get(Target.class).getField("field").getAccessesToSelf()).hasSize(1);
+        assertThatThrownBy(classes.get(Constants.class)::getInstanceofChecksWithTypeOfSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("import.detail.instanceofChecks=false");
+    }
+
+    @SuppressWarnings("unused")
+    static class Target {
+        Object field;
+
+        void method() {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Caller {
+        Object call(Object object) {
+            Target target = new Target();
+            target.method();
+            return object instanceof Target ? target.field : Constants.VALUE;
+        }
+    }
+
+    interface Constants {
+        String VALUE = "value";
+    }
+}
@@ -16,6 +16,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.io.ByteStreams;
 import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.Source.ContentHash;
 import com.tngtech.archunit.core.domain.Source.Md5sum;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -142,6 +143,40 @@ public class SourceTest {
         assertThat(first).isNotEqualTo(second);
     }
 
+    @Test
+    public void uses_precalculated_md5_sum_and_content_hash() throws Exception {
+        URL url = urlOf(SourceTest.class);
+        byte[] content = bytesAt(url);
+        ContentHash contentHash = ContentHash.Algorithm.CRC32C.hash(content);
+
+        Source source = new Source(url.toURI(), Optional.empty(), Md5sum.of(Optional.of(content)), Optional.of(contentHash));
+
+        assertThat(source.getMd5sum()).isEqualTo(newSource(url).getMd5sum());
+        assertThat(source.getContentHash()).contains(contentHash);
+        assertThat(contentHash.getAlgorithm()).isEqualTo(ContentHash.Algorithm.CRC32C);
+        assertThat(contentHash.asBytes()).hasSize(4);
+        assertThat(source.toString()).endsWith(String.format(" [CRC32C='%s']", contentHash));
+    }
+
+    @DataProvider
+    public static Object[][] contentHashAlgorithms() {
+        return $$(
+                $(ContentHash.Algorithm.CRC32C, 4),
+                $(ContentHash.Algorithm.FARMHASH_FINGERPRINT_64, 8),
+                $(ContentHash.Algorithm.MURMUR3_128, 16),
+                $(ContentHash.Algorithm.SHA_256, 32));
+    }
+
+    @Test
+    @UseDataProvider("contentHashAlgorithms")
+    public void content_hashes_detect_changed_content(ContentHash.Algorithm algorithm, int expectedLength) {
+        ContentHash hash = algorithm.hash("anything".getBytes(UTF_8));
+
+        assertThat(hash.asBytes()).hasSize(expectedLength);
+        assertThat(hash).isEqualTo(algorithm.hash("anything".getBytes(UTF_8)));
+        assertThat(hash).isNotEqualTo(algorithm.hash("totallyDifferent".getBytes(UTF_8)));
+    }
+
     @Test
     public void compensates_error_on_md5_calculation() throws Exception {
         Source source = newSource(new URI("bummer"));
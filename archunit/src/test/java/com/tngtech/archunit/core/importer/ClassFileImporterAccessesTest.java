@@ -5,7 +5,9 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.Socket;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -634,6 +636,66 @@ public class ClassFileImporterAccessesTest {
                 .inLineNumber(ClassCallingDiamond.callImplementationLineNumber);
     }
 
+    @Test
+    public void resolves_the_same_members_for_all_targets_with_the_same_owner_name_and_descriptor() {
+        @SuppressWarnings("unused")
+        class CallsSameMethods {
+            void call(ArrayList<String> first, ArrayList<String> second) {
+                first.add("first");
+                second.add("second");
+                first.containsAll(second);
+                second.containsAll(first);
+            }
+        }
+
+        Set<JavaMethodCall> calls = new ClassFileImporter().importClasses(CallsSameMethods.class)
+                .get(CallsSameMethods.class).getMethodCallsFromSelf();
+
+        assertThat(resolvedTargetsOf(calls, "add")).hasSize(1);
+        assertThat(reflect(getOnlyElement(resolvedTargetsOf(calls, "add")))).isEqualTo(method(ArrayList.class, "add", Object.class));
+        assertThat(resolvedTargetsOf(calls, "containsAll")).hasSize(1);
+        assertThat(reflect(getOnlyElement(resolvedTargetsOf(calls, "containsAll"))))
+                .isEqualTo(method(AbstractCollection.class, "containsAll", Collection.class));
+    }
+
+    @Test
+    public void resolves_members_with_the_same_name_and_descriptor_separately_for_each_target_owner() {
+        @SuppressWarnings("unused")
+        class Parent {
+            Object member() {
+                return null;
+            }
+        }
+        @SuppressWarnings("unused")
+        class ChildOverridingMember extends Parent {
+            @Override
+            Object member() {
+                return null;
+            }
+        }
+        @SuppressWarnings("unused")
+        class ChildInheritingMember extends Parent {
+        }
+        @SuppressWarnings("unused")
+        class CallsMemberOnDifferentOwners {
+            void call(Parent parent, ChildOverridingMember overriding, ChildInheritingMember inheriting, Parent[] array) {
+                parent.member();
+                overriding.member();
+                inheriting.member();
+                array.clone();
+            }
+        }
+
+        JavaClasses classes = new ClassFileImporter().importClasses(
+                Parent.class, ChildOverridingMember.class, ChildInheritingMember.class, CallsMemberOnDifferentOwners.class);
+        Set<JavaMethodCall> calls = classes.get(CallsMemberOnDifferentOwners.class).getMethodCallsFromSelf();
+
+        assertThat(resolvedTargetOf(calls, Parent.class, "member")).contains(classes.get(Parent.class).getMethod("member"));
+        assertThat(resolvedTargetOf(calls, ChildOverridingMember.class, "member")).contains(classes.get(ChildOverridingMember.class).getMethod("member"));
+        assertThat(resolvedTargetOf(calls, ChildInheritingMember.class, "member")).contains(classes.get(Parent.class).getMethod("member"));
+        assertThat(resolvedTargetOf(calls, Parent[].class, "clone")).as("clone() of array").isEmpty();
+    }
+
     @Test
     public void imports_method_calls_that_return_Arrays() {
         JavaClass classThatCallsMethodReturningArray = new ClassFileImporter().importUrl(getClass().getResource("testexamples/callimport")).get(CallsMethodReturningArray.class);
@@ -1244,6 +1306,22 @@ public class ClassFileImporterAccessesTest {
                 .collect(toSet());
     }
 
+    private static Set<JavaMethod> resolvedTargetsOf(Set<JavaMethodCall> calls, String methodName) {
+        return calls.stream()
+                .map(JavaMethodCall::getTarget)
+                .filter(target -> target.getName().equals(methodName))
+                .map(target -> target.resolveMember().get())
+                .collect(toSet());
+    }
+
+    private static Optional<JavaMethod> resolvedTargetOf(Set<JavaMethodCall> calls, Class<?> targetOwner, String methodName) {
+        return getOnlyElement(calls.stream()
+                .map(JavaMethodCall::getTarget)
+                .filter(target -> target.getOwner().isEquivalentTo(targetOwner) && target.getName().equals(methodName))
+                .collect(toSet()))
+                .resolveMember();
+    }
+
     private Constructor<?> reflect(ConstructorCallTarget target) {
         return reflect(target.resolveMember().get());
     }
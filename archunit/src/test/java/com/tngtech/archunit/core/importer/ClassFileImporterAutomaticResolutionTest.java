@@ -1,10 +1,15 @@
 package com.tngtech.archunit.core.importer;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.Buffer;
 import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -44,11 +49,15 @@ import com.tngtech.archunit.core.importer.testexamples.annotationresolution.Anot
 import com.tngtech.archunit.core.importer.testexamples.annotationresolution.SomeAnnotationWithAnnotationParameter;
 import com.tngtech.archunit.core.importer.testexamples.annotationresolution.SomeAnnotationWithClassParameter;
 import com.tngtech.archunit.core.importer.testexamples.classhierarchyresolution.Child;
+import com.tngtech.archunit.testutil.ContextClassLoaderRule;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.objectweb.asm.ClassWriter;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.archunit.core.importer.DependencyResolutionProcess.MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME;
@@ -71,9 +80,16 @@ import static com.tngtech.archunit.testutil.assertion.JavaAnnotationAssertion.an
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_8;
 
 @RunWith(DataProviderRunner.class)
 public class ClassFileImporterAutomaticResolutionTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule
+    public final ContextClassLoaderRule contextClassLoaderRule = new ContextClassLoaderRule();
 
     @Test
     public void automatically_resolves_field_types() {
@@ -88,6 +104,89 @@ public class ClassFileImporterAutomaticResolutionTest {
         assertThat(javaClass.getField("field").getRawType()).as("field type").isFullyImported(true);
     }
 
+    @Test
+    public void reuses_types_resolved_from_the_classpath_by_previous_imports() {
+        @SuppressWarnings("unused")
+        class FieldTypeResolvedFromClasspath {
+            PrintStream field;
+        }
+
+        JavaClass uncached = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ResolvedClassCache.MAX_SIZE_PROPERTY_NAME, "0");
+            return new ClassFileImporter().importClass(FieldTypeResolvedFromClasspath.class).getField("field").getRawType();
+        });
+        JavaClass cached = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ResolvedClassCache.MAX_SIZE_PROPERTY_NAME, "1000");
+            new ClassFileImporter().importClass(FieldTypeResolvedFromClasspath.class);
+            long hitCountBefore = ResolvedClassCache.getStats().hitCount();
+
+            JavaClass result = new ClassFileImporter().importClass(FieldTypeResolvedFromClasspath.class).getField("field").getRawType();
+
+            assertThat(ResolvedClassCache.getStats().hitCount()).as("cache hits").isGreaterThan(hitCountBefore);
+            return result;
+        });
+
+        assertThat(cached).isFullyImported(true);
+        assertThat(cached.getSource()).isEqualTo(uncached.getSource());
+        assertThat(cached.getMethods()).hasSameSizeAs(uncached.getMethods());
+        assertThat(cached.getRawSuperclass().get().getName()).isEqualTo(uncached.getRawSuperclass().get().getName());
+    }
+
+    @Test
+    public void does_not_reuse_types_resolved_from_the_classpath_if_the_class_file_changed() throws IOException {
+        File importRoot = temporaryFolder.newFolder();
+        File classpathRoot = temporaryFolder.newFolder();
+        writeClassFile(importRoot, "generated/Importing", classWithFieldOfType("generated/Importing", "generated/Resolved"));
+        writeClassFile(classpathRoot, "generated/Resolved", classWithMethods("generated/Resolved", "first"));
+        setContextClassLoaderTo(classpathRoot);
+
+        resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ResolvedClassCache.MAX_SIZE_PROPERTY_NAME, "1000");
+            assertThat(resolvedFieldTypeOfClassIn(importRoot).getMethods()).extracting("name").containsOnly("first");
+
+            writeClassFile(classpathRoot, "generated/Resolved", classWithMethods("generated/Resolved", "first", "second"));
+
+            assertThat(resolvedFieldTypeOfClassIn(importRoot).getMethods()).extracting("name").containsOnly("first", "second");
+            return null;
+        });
+    }
+
+    @Test
+    public void resolves_types_from_the_classpath_that_were_missing_during_previous_imports() throws IOException {
+        File importRoot = temporaryFolder.newFolder();
+        File classpathRoot = temporaryFolder.newFolder();
+        writeClassFile(importRoot, "generated/Importing", classWithFieldOfType("generated/Importing", "generated/Resolved"));
+        setContextClassLoaderTo(classpathRoot);
+
+        resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ResolvedClassCache.MAX_SIZE_PROPERTY_NAME, "1000");
+            assertThat(resolvedFieldTypeOfClassIn(importRoot)).isFullyImported(false);
+
+            writeClassFile(classpathRoot, "generated/Resolved", classWithMethods("generated/Resolved", "first"));
+
+            assertThat(resolvedFieldTypeOfClassIn(importRoot)).isFullyImported(true);
+            return null;
+        });
+    }
+
+    @Test
+    public void does_not_look_up_types_again_that_were_missing_during_previous_imports() throws IOException {
+        File importRoot = temporaryFolder.newFolder();
+        writeClassFile(importRoot, "generated/Importing", classWithFieldOfType("generated/Importing", "generated/Missing"));
+        setContextClassLoaderTo(temporaryFolder.newFolder());
+
+        resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ResolvedClassCache.MAX_SIZE_PROPERTY_NAME, "1000");
+            assertThat(resolvedFieldTypeOfClassIn(importRoot)).isFullyImported(false);
+            long missCountBefore = ResolvedClassCache.getStats().missCount();
+
+            assertThat(resolvedFieldTypeOfClassIn(importRoot)).isFullyImported(false);
+
+            assertThat(ResolvedClassCache.getStats().missCount()).as("cache misses").isEqualTo(missCountBefore);
+            return null;
+        });
+    }
+
     @Test
     public void automatically_resolves_constructor_parameter_types() {
         @SuppressWarnings("unused")
@@ -921,4 +1020,40 @@ public class ClassFileImporterAutomaticResolutionTest {
 
     private static class SomeMetaMetaMetaParameterAnnotationClassParameter {
     }
+
+    private JavaClass resolvedFieldTypeOfClassIn(File importRoot) {
+        return new ClassFileImporter().importPath(importRoot.toPath()).get("generated.Importing").getField("resolved").getRawType();
+    }
+
+    private void setContextClassLoaderTo(File classpathRoot) throws MalformedURLException {
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[]{classpathRoot.toURI().toURL()}, getClass().getClassLoader()));
+    }
+
+    private static void writeClassFile(File root, String internalName, byte[] bytes) {
+        try {
+            Path classFile = root.toPath().resolve(internalName + ".class");
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, bytes);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] classWithFieldOfType(String internalName, String fieldTypeInternalName) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V1_8, ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        classWriter.visitField(ACC_PUBLIC, "resolved", "L" + fieldTypeInternalName + ";", null, null).visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static byte[] classWithMethods(String internalName, String... methodNames) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V1_8, ACC_PUBLIC | ACC_ABSTRACT, internalName, null, "java/lang/Object", null);
+        for (String methodName : methodNames) {
+            classWriter.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, methodName, "()V", null, null).visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
 }
@@ -0,0 +1,144 @@
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.importer.testexamples.SomeAnnotation;
+import com.tngtech.archunit.core.importer.testexamples.SomeClass;
+import com.tngtech.archunit.core.importer.testexamples.SomeEnum;
+import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassWithUnimportedAnnotation;
+import com.tngtech.archunit.core.importer.testexamples.instanceofcheck.ChecksInstanceofInMethod;
+import com.tngtech.archunit.core.importer.testexamples.instanceofcheck.InstanceofChecked;
+import com.tngtech.archunit.core.importer.testexamples.interfaceorder.OneGeneric;
+import com.tngtech.archunit.core.importer.testexamples.referencedclassobjects.ReferencingClassObjects;
+import com.tngtech.archunit.core.importer.testexamples.trycatch.ClassWithSimpleTryCatchBlocks;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.importer.ImportDetails.ANNOTATION_DEFAULT_VALUES_PROPERTY_NAME;
+import static com.tngtech.archunit.core.importer.ImportDetails.CODE_PROPERTY_NAME;
+import static com.tngtech.archunit.core.importer.ImportDetails.GENERIC_SIGNATURES_PROPERTY_NAME;
+import static com.tngtech.archunit.core.importer.ImportDetails.IMPORT_DETAIL_PROPERTY_PREFIX;
+import static com.tngtech.archunit.core.importer.ImportDetails.INSTANCEOF_CHECKS_PROPERTY_NAME;
+import static com.tngtech.archunit.core.importer.ImportDetails.REFERENCED_CLASS_OBJECTS_PROPERTY_NAME;
+import static com.tngtech.archunit.core.importer.ImportDetails.TRY_CATCH_BLOCKS_PROPERTY_NAME;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static com.tngtech.archunit.testutil.Assertions.assertThatDependencies;
+import static com.tngtech.archunit.testutil.Assertions.assertThatTypes;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClassFileImporterImportDetailsTest {
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+
+    @Test
+    public void imports_structure_of_classes_if_code_is_skipped() {
+        disable(CODE_PROPERTY_NAME);
+
+        JavaClasses classes = new ClassFileImporter().importClasses(SomeClass.class, SomeClass.Inner.class, SomeEnum.class);
+        JavaClass someClass = classes.get(SomeClass.class);
+
+        assertThatTypes(classes).matchInAnyOrder(SomeClass.class, SomeClass.Inner.class, SomeEnum.class);
+        assertThat(someClass.getMethod("methodWithSomeEnumReturnType", String.class).getRawReturnType()).matches(SomeEnum.class);
+        assertThat(someClass.getField("other").getRawType()).matches(SomeEnum.class);
+        assertThatDependencies(someClass.getDirectDependenciesFromSelf()).contain(SomeClass.class, SomeEnum.class);
+    }
+
+    @Test
+    public void reports_code_details_as_unavailable_if_code_is_skipped() {
+        disable(CODE_PROPERTY_NAME);
+
+        JavaClasses classes = new ClassFileImporter().importClasses(SomeClass.Inner.class, SomeEnum.class);
+        JavaMethod foo = classes.get(SomeClass.Inner.class).getMethod("foo");
+
+        assertThatThrownBy(foo::getMethodCallsFromSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(foo.getFullName())
+                .hasMessageContaining("import.detail.code=false");
+        assertThatThrownBy(classes.get(SomeClass.Inner.class)::getAccessesFromSelf)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(classes.get(SomeEnum.class)::getAccessesToSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("import.detail.code=false");
+    }
+
+    @Test
+    public void imports_code_by_default() {
+        JavaClasses classes = new ClassFileImporter().importClasses(SomeClass.Inner.class, SomeEnum.class);
+
+        assertThat(classes.get(SomeClass.Inner.class).getMethod("foo").getMethodCallsFromSelf()).hasSize(1);
+    }
+
+    @Test
+    public void skips_try_catch_blocks_but_keeps_accesses() {
+        disable(TRY_CATCH_BLOCKS_PROPERTY_NAME);
+
+        JavaMethod method = new ClassFileImporter().importClass(ClassWithSimpleTryCatchBlocks.class).getMethod("method");
+
+        assertThat(method.getMethodCallsFromSelf()).isNotEmpty();
+        assertThatThrownBy(method::getTryCatchBlocks)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(method.getFullName())
+                .hasMessageContaining("import.detail.tryCatchBlocks=false");
+    }
+
+    @Test
+    public void skips_instanceof_checks() {
+        disable(INSTANCEOF_CHECKS_PROPERTY_NAME);
+
+        JavaClasses classes = new ClassFileImporter().importClasses(ChecksInstanceofInMethod.class, InstanceofChecked.class);
+        JavaMethod method = classes.get(ChecksInstanceofInMethod.class).getMethod("method", Object.class);
+
+        assertThatThrownBy(method::getInstanceofChecks)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("import.detail.instanceofChecks=false");
+        assertThatThrownBy(classes.get(InstanceofChecked.class)::getInstanceofChecksWithTypeOfSelf)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("import.detail.instanceofChecks=false");
+        assertThatDependencies(classes.get(ChecksInstanceofInMethod.class).getDirectDependenciesFromSelf())
+                .doesNotContain(ChecksInstanceofInMethod.class, InstanceofChecked.class);
+    }
+
+    @Test
+    public void skips_referenced_class_objects() {
+        disable(REFERENCED_CLASS_OBJECTS_PROPERTY_NAME);
+
+        JavaMethod method = new ClassFileImporter().importClass(ReferencingClassObjects.class).getMethod("referencedClassObjectsInMethod");
+
+        assertThatThrownBy(method::getReferencedClassObjects)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("import.detail.referencedClassObjects=false");
+    }
+
+    @Test
+    public void imports_raw_types_if_generic_signatures_are_skipped() {
+        disable(GENERIC_SIGNATURES_PROPERTY_NAME);
+
+        JavaClasses classes = new ClassFileImporter().importClasses(OneGeneric.class, ReferencingClassObjects.class);
+        JavaField field = classes.get(ReferencingClassObjects.class).getField("referencedClassObjectsInConstructor");
+
+        assertThat(classes.get(OneGeneric.class).getTypeParameters()).isEmpty();
+        assertThat(field.getType()).isEqualTo(field.getRawType());
+    }
+
+    @Test
+    public void skips_annotation_default_values() {
+        disable(ANNOTATION_DEFAULT_VALUES_PROPERTY_NAME);
+
+        JavaAnnotation<JavaClass> annotation = new ClassFileImporter()
+                .importClasses(ClassWithUnimportedAnnotation.class, SomeAnnotation.class)
+                .get(ClassWithUnimportedAnnotation.class)
+                .getAnnotationOfType(SomeAnnotation.class.getName());
+
+        assertThat(annotation.get("mandatory")).contains("mandatory");
+        assertThat(annotation.get("optional")).isEmpty();
+    }
+
+    private void disable(String importDetail) {
+        ArchConfiguration.get().setProperty(IMPORT_DETAIL_PROPERTY_PREFIX + "." + importDetail, "false");
+    }
+}
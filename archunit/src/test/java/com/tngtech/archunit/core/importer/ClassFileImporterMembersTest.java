@@ -266,6 +266,16 @@ public class ClassFileImporterMembersTest {
         assertThat(subClass.getCodeUnitWithParameterTypes("getSomeField").getModifiers()).containsOnly(PUBLIC);
     }
 
+    @Test
+    public void shares_equal_member_names_and_descriptors_between_classes_of_the_same_import() {
+        JavaClasses classes = new ClassFileImporter().importUrl(getClass().getResource("testexamples/classhierarchyimport"));
+        JavaCodeUnit baseClassMethod = classes.get(BaseClass.class).getCodeUnitWithParameterTypes("getSomeField");
+        JavaCodeUnit subClassMethod = classes.get(Subclass.class).getCodeUnitWithParameterTypes("getSomeField");
+
+        assertThat(subClassMethod.getName()).isSameAs(baseClassMethod.getName());
+        assertThat(subClassMethod.getDescriptor()).isSameAs(baseClassMethod.getDescriptor());
+    }
+
     @Test
     public void imports_referenced_class_objects() {
         JavaClass javaClass = new ClassFileImporter().importClass(ReferencingClassObjects.class);
@@ -0,0 +1,81 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.testexamples.OtherClass;
+import com.tngtech.archunit.core.importer.testexamples.SomeClass;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.core.importer.ClassFileImporterTestUtils.fingerprintOf;
+import static com.tngtech.archunit.core.importer.IncrementalImport.INCREMENTAL_PROPERTY_NAME;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static com.tngtech.archunit.testutil.Assertions.assertThatTypes;
+import static com.tngtech.archunit.testutil.TestUtils.uriOf;
+import static java.util.Collections.singleton;
+
+public class ClassFileImporterReimportTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+
+    @Test
+    public void reimport_picks_up_added_and_removed_class_files() throws IOException {
+        Path classes = temporaryFolder.newFolder().toPath();
+        Path someClassFile = copyClassFile(SomeClass.class, classes);
+        JavaClasses previous = new ClassFileImporter().importPath(classes);
+
+        Path otherClassFile = copyClassFile(OtherClass.class, classes);
+        JavaClasses added = new ClassFileImporter().reimport(previous, singleton(Location.of(otherClassFile)));
+
+        assertThatTypes(added).matchInAnyOrder(SomeClass.class, OtherClass.class);
+
+        Files.delete(someClassFile);
+        JavaClasses removed = new ClassFileImporter().reimport(added, singleton(Location.of(someClassFile)));
+
+        assertThatTypes(removed).matchExactly(OtherClass.class);
+    }
+
+    @Test
+    public void repeated_reimports_import_the_same_classes_as_a_fresh_import() {
+        Path testExamples = Paths.get(uriOf(SomeClass.class)).getParent();
+        Set<String> expected = fingerprintOf(new ClassFileImporter().importPath(testExamples));
+        Location changed = Location.of(uriOf(SomeClass.class));
+
+        JavaClasses previous = new ClassFileImporter().importPath(testExamples);
+        JavaClasses firstReimport = new ClassFileImporter().reimport(previous, singleton(changed));
+        JavaClasses secondReimport = new ClassFileImporter().reimport(firstReimport, singleton(changed));
+
+        assertThat(fingerprintOf(firstReimport)).as("fingerprint of first reimport").isEqualTo(expected);
+        assertThat(fingerprintOf(secondReimport)).as("fingerprint of second reimport").isEqualTo(expected);
+    }
+
+    @Test
+    public void first_reimport_does_not_read_unchanged_class_files_again_if_incremental_imports_were_requested() throws IOException {
+        ArchConfiguration.get().setProperty(INCREMENTAL_PROPERTY_NAME, "true");
+        Path classes = temporaryFolder.newFolder().toPath();
+        Path someClassFile = copyClassFile(SomeClass.class, classes);
+        Path otherClassFile = copyClassFile(OtherClass.class, classes);
+        JavaClasses previous = new ClassFileImporter().importPath(classes);
+
+        // if the unchanged class file was read again, it could not be parsed anymore
+        Files.write(otherClassFile, new byte[]{1, 2, 3});
+        JavaClasses reimported = new ClassFileImporter().reimport(previous, singleton(Location.of(someClassFile)));
+
+        assertThatTypes(reimported).matchInAnyOrder(SomeClass.class, OtherClass.class);
+    }
+
+    private Path copyClassFile(Class<?> clazz, Path targetDirectory) throws IOException {
+        Path classFile = Paths.get(uriOf(clazz));
+        return Files.copy(classFile, targetDirectory.resolve(classFile.getFileName()));
+    }
+}
@@ -2,17 +2,25 @@ package com.tngtech.archunit.core.importer;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.Slow;
+import com.tngtech.archunit.core.domain.JavaAccess;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaMethod;
 import com.tngtech.archunit.core.domain.JavaPackage;
+import com.tngtech.archunit.core.domain.TryCatchBlock;
 import com.tngtech.archunit.testutil.ContextClassLoaderRule;
 import com.tngtech.archunit.testutil.SystemPropertiesRule;
 import com.tngtech.archunit.testutil.TransientCopyRule;
@@ -21,17 +29,31 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
 
+import static com.tngtech.archunit.core.importer.ClassFileImporterTestUtils.fingerprintOf;
 import static com.tngtech.archunit.core.importer.ClassFileImporterTestUtils.jarFileOf;
 import static com.tngtech.archunit.core.importer.ImportOption.Predefined.DO_NOT_INCLUDE_ARCHIVES;
 import static com.tngtech.archunit.core.importer.ImportOption.Predefined.DO_NOT_INCLUDE_TESTS;
 import static com.tngtech.archunit.core.importer.UrlSourceTest.JAVA_CLASS_PATH_PROP;
+import static com.tngtech.archunit.testutil.ArchConfigurationRule.resetConfigurationAround;
 import static com.tngtech.archunit.testutil.Assertions.assertThat;
 import static com.tngtech.archunit.testutil.Assertions.assertThatType;
 import static com.tngtech.archunit.testutil.Assertions.assertThatTypes;
 import static com.tngtech.archunit.testutil.TestUtils.urlOf;
 import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.POP2;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
 
 @Category(Slow.class)
 public class ClassFileImporterSlowTest {
@@ -136,6 +158,106 @@ public class ClassFileImporterSlowTest {
         assertThatType(classes.get(JavaClass.class)).isNotNull();
     }
 
+    @Test
+    public void parallel_import_creates_the_same_classes_as_sequential_import() {
+        String packageToImport = "com.tngtech.archunit.core";
+
+        Set<String> sequentiallyImported = fingerprintOf(resetConfigurationAround(() ->
+                new ClassFileImporter().importPackages(packageToImport)));
+        Set<String> importedInParallel = fingerprintOf(resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(ClassFileProcessor.IMPORT_PARALLELISM_PROPERTY_NAME, "4");
+            return new ClassFileImporter().importPackages(packageToImport);
+        }));
+
+        assertThat(importedInParallel).as("fingerprint of classes imported in parallel").isEqualTo(sequentiallyImported);
+    }
+
+    @Test
+    public void prefetching_import_creates_the_same_classes_as_import_without_prefetching() {
+        String packageToImport = "com.tngtech.archunit.core";
+
+        Set<String> importedWithoutPrefetching = fingerprintOf(resetConfigurationAround(() ->
+                new ClassFileImporter().importPackages(packageToImport)));
+        Set<String> importedWithPrefetching = fingerprintOf(resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(PrefetchingClassFileSource.PREFETCH_PROPERTY_NAME, "4");
+            return new ClassFileImporter().importPackages(packageToImport);
+        }));
+
+        assertThat(importedWithPrefetching).as("fingerprint of classes imported with prefetching").isEqualTo(importedWithoutPrefetching);
+    }
+
+    @Test
+    public void import_with_spilled_access_records_creates_the_same_classes_as_import_on_the_heap() {
+        String packageToImport = "com.tngtech.archunit.core";
+
+        JavaClasses importedOnTheHeap = resetConfigurationAround(() -> new ClassFileImporter().importPackages(packageToImport));
+        JavaClasses importedWithSpill = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(RawAccessRecordSpill.SPILL_ACCESS_RECORDS_PROPERTY_NAME, "true");
+            return new ClassFileImporter().importPackages(packageToImport);
+        });
+        JavaClasses importedInParallelWithSpill = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(RawAccessRecordSpill.SPILL_ACCESS_RECORDS_PROPERTY_NAME, "true");
+            ArchConfiguration.get().setProperty(ClassFileProcessor.IMPORT_PARALLELISM_PROPERTY_NAME, "4");
+            return new ClassFileImporter().importPackages(packageToImport);
+        });
+
+        assertThat(fingerprintOf(importedWithSpill)).as("fingerprint of classes imported with spill")
+                .isEqualTo(fingerprintOf(importedOnTheHeap));
+        assertThat(tryCatchBlocksOf(importedWithSpill)).as("try-catch-blocks imported with spill")
+                .isEqualTo(tryCatchBlocksOf(importedOnTheHeap));
+        assertThat(fingerprintOf(importedInParallelWithSpill)).as("fingerprint of classes imported in parallel with spill")
+                .isEqualTo(fingerprintOf(importedOnTheHeap));
+        assertThat(tryCatchBlocksOf(importedInParallelWithSpill)).as("try-catch-blocks imported in parallel with spill")
+                .isEqualTo(tryCatchBlocksOf(importedOnTheHeap));
+    }
+
+    private static Set<String> tryCatchBlocksOf(JavaClasses classes) {
+        return classes.stream()
+                .flatMap(javaClass -> javaClass.getCodeUnits().stream())
+                .flatMap(codeUnit -> codeUnit.getTryCatchBlocks().stream())
+                .map(tryCatchBlock -> tryCatchBlock.getSourceCodeLocation() + " " + tryCatchBlock.getAccessesContainedInTryBlock().stream()
+                        .map(JavaAccess::getDescription)
+                        .sorted()
+                        .collect(toList()))
+                .collect(toSet());
+    }
+
+    @Test
+    public void resolves_JDK_types_from_a_configured_JdkTypeIndex() throws Exception {
+        File index = temporaryFolder.newFile("jdk-type-index");
+        JdkTypeIndex.write(index.toPath());
+
+        JavaClass imported = resetConfigurationAround(() -> {
+            ArchConfiguration.get().setProperty(JdkTypeIndex.JDK_TYPE_INDEX_PROPERTY_NAME, index.getAbsolutePath());
+            return new ClassFileImporter().importClass(SomeDeprecatedList.class);
+        });
+
+        JavaClass arrayList = imported.getRawSuperclass().get();
+        assertThat(arrayList).matches(ArrayList.class);
+        assertThat(arrayList.getMethods()).as("methods of type from index").isEmpty();
+        assertThatTypes(arrayList.getAllRawInterfaces()).contain(List.class, RandomAccess.class);
+        assertThat(imported.getAnnotationOfType(Deprecated.class.getName()).getRawType().isAnnotatedWith(Retention.class)).isTrue();
+    }
+
+    /**
+     * Generated code (e.g. parsers) can contain methods with thousands of try-catch-blocks. Assigning the accesses
+     * of such a method to its try-catch-blocks must not take time quadratic in the number of try-catch-blocks.
+     */
+    @Test
+    public void imports_method_with_many_try_catch_blocks_reasonably_fast() throws Exception {
+        int numberOfTryCatchBlocks = 8000;
+        File classFile = new File(temporaryFolder.newFolder("gen"), "ManyTryCatchBlocks.class");
+        Files.write(classFile.toPath(), classWithTryCatchBlocks("gen/ManyTryCatchBlocks", numberOfTryCatchBlocks));
+
+        JavaMethod method = new ClassFileImporter().importPath(temporaryFolder.getRoot().toPath())
+                .get("gen.ManyTryCatchBlocks").getMethod("method");
+
+        assertThat(method.getTryCatchBlocks()).hasSize(numberOfTryCatchBlocks);
+        for (TryCatchBlock tryCatchBlock : method.getTryCatchBlocks()) {
+            assertThat(tryCatchBlock.getAccessesContainedInTryBlock()).as("accesses in try block").hasSize(1);
+        }
+    }
+
     @Test
     public void imports_classes_from_classpath_specified_in_manifest_file() {
         TestClassFile testClassFile = new TestClassFile().create();
@@ -200,4 +322,42 @@ public class ClassFileImporterSlowTest {
             return location.asURI().getScheme().equals("jrt") && location.contains("java.base");
         };
     }
+
+    // creates a static method with the given number of consecutive blocks try { System.nanoTime(); } catch (RuntimeException e) { }
+    private static byte[] classWithTryCatchBlocks(String internalName, int numberOfTryCatchBlocks) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(V1_6, ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC | ACC_STATIC, "method", "()V", null, null);
+        method.visitCode();
+        int lineNumber = 1;
+        for (int i = 0; i < numberOfTryCatchBlocks; i++) {
+            Label tryStart = new Label();
+            Label tryEnd = new Label();
+            Label handler = new Label();
+            Label afterHandler = new Label();
+            method.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/RuntimeException");
+            method.visitLabel(tryStart);
+            method.visitLineNumber(lineNumber++, tryStart);
+            method.visitMethodInsn(INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+            method.visitInsn(POP2);
+            method.visitLabel(tryEnd);
+            method.visitLineNumber(lineNumber++, tryEnd);
+            method.visitJumpInsn(GOTO, afterHandler);
+            method.visitLabel(handler);
+            method.visitLineNumber(lineNumber++, handler);
+            method.visitInsn(POP);
+            method.visitLabel(afterHandler);
+            method.visitLineNumber(lineNumber++, afterHandler);
+        }
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    @Deprecated
+    @SuppressWarnings("serial")
+    private static class SomeDeprecatedList extends ArrayList<String> {
+    }
 }
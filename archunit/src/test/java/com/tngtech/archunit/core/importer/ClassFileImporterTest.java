@@ -10,7 +10,10 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
@@ -28,6 +31,7 @@ import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.domain.JavaPackage;
 import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.Source.ContentHash;
 import com.tngtech.archunit.core.importer.testexamples.OtherClass;
 import com.tngtech.archunit.core.importer.testexamples.SomeClass;
 import com.tngtech.archunit.core.importer.testexamples.SomeEnum;
@@ -826,6 +830,24 @@ public class ClassFileImporterTest {
         assertThat(source.getMd5sum()).isEqualTo(MD5_SUM_DISABLED);
     }
 
+    @Test
+    public void class_has_configured_content_hash_of_import() throws Exception {
+        JavaClass clazz = new ClassFileImporter().importClass(ClassToImportOne.class);
+        assertThat(clazz.getSource().get().getContentHash()).isEmpty();
+
+        ArchConfiguration.get().setProperty("import.contentHash", "CRC32C");
+
+        clazz = new ClassFileImporter().importClass(ClassToImportOne.class);
+        assertThat(clazz.getSource().get().getContentHash())
+                .contains(ContentHash.Algorithm.CRC32C.hash(bytesAt(urlOf(ClassToImportOne.class))));
+
+        ArchConfiguration.get().setProperty("import.contentHash", "farmhash-fingerprint-64");
+
+        JavaClass clazzFromJar = new ClassFileImporter().importClass(Rule.class);
+        assertThat(clazzFromJar.getSource().get().getContentHash())
+                .contains(ContentHash.Algorithm.FARMHASH_FINGERPRINT_64.hash(bytesAt(urlOf(Rule.class))));
+    }
+
     @Test
     public void imports_class_objects() {
         JavaClasses classes = new ClassFileImporter().importClasses(ClassToImportOne.class, ClassToImportTwo.class);
@@ -908,6 +930,61 @@ public class ClassFileImporterTest {
         assertThat(classes).isEmpty();
     }
 
+    @Test
+    public void reports_statistics_of_import_to_listeners() {
+        List<ImportStatistics> reported = new ArrayList<>();
+
+        new ClassFileImporter()
+                .withImportListener(reported::add)
+                .importClasses(ClassToImportOne.class, ClassToImportTwo.class);
+
+        ImportStatistics statistics = getOnlyElement(reported);
+        assertThat(statistics.getNumberOfParsedClasses()).isEqualTo(2);
+        assertThat(statistics.getNumberOfDependencyResolutionRuns()).isPositive();
+        assertThat(statistics.getNumberOfResolvedClasses() + statistics.getNumberOfStubClasses()).isPositive();
+        assertThat(statistics.getNumberOfAccessRecords()).isPositive();
+        assertThat(statistics.getDescriptorCacheHitCount() + statistics.getDescriptorCacheMissCount()).isPositive();
+        Duration sumOfPhases = stream(ImportPhase.values()).map(statistics::getDuration).reduce(Duration.ZERO, Duration::plus);
+        assertThat(sumOfPhases).isEqualTo(statistics.getTotalDuration());
+    }
+
+    @Test
+    public void reports_classes_found_in_several_locations_as_parsed_only_once_if_imported_in_parallel() throws Exception {
+        String classFile = ClassToImportOne.class.getName().replace('.', '/') + ".class";
+        List<Path> locations = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Path location = temporaryFolder.newFolder().toPath();
+            Path target = location.resolve(classFile);
+            Files.createDirectories(target.getParent());
+            Files.copy(Paths.get(getClass().getResource("/" + classFile).toURI()), target);
+            locations.add(location);
+        }
+        ArchConfiguration.get().setProperty(ClassFileProcessor.IMPORT_PARALLELISM_PROPERTY_NAME, "2");
+        List<ImportStatistics> reported = new ArrayList<>();
+
+        JavaClasses classes = new ClassFileImporter()
+                .withImportListener(reported::add)
+                .importPaths(locations);
+
+        assertThatTypes(classes).matchExactly(ClassToImportOne.class);
+        assertThat(getOnlyElement(reported).getNumberOfParsedClasses()).isEqualTo(1);
+    }
+
+    @Test
+    public void reports_statistics_of_every_import_to_all_listeners() {
+        List<ImportStatistics> reportedToFirst = new ArrayList<>();
+        List<ImportStatistics> reportedToSecond = new ArrayList<>();
+        ClassFileImporter importer = new ClassFileImporter()
+                .withImportListener(reportedToFirst::add)
+                .withImportListener(reportedToSecond::add);
+
+        importer.importClasses(ClassToImportOne.class);
+        importer.importClasses(ClassToImportTwo.class);
+
+        assertThat(reportedToFirst).hasSize(2);
+        assertThat(reportedToSecond).isEqualTo(reportedToFirst);
+    }
+
     private void assertSameSimpleNameOfArchUnitAndReflection(JavaClasses classes, String className) throws ClassNotFoundException {
         assertSameSimpleNameOfArchUnitAndReflection(classes, Class.forName(className));
     }
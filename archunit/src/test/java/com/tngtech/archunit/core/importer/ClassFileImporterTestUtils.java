@@ -6,10 +6,16 @@ import java.net.URLConnection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMember;
 import com.tngtech.archunit.core.domain.JavaMethod;
 import com.tngtech.archunit.core.domain.properties.HasName;
 
@@ -17,6 +23,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.getFirst;
 import static com.tngtech.archunit.testutil.TestUtils.urlOf;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toSet;
 
 class ClassFileImporterTestUtils {
 
@@ -59,6 +67,23 @@ class ClassFileImporterTestUtils {
         return codeUnits;
     }
 
+    /**
+     * @return A set of descriptions covering the relevant imported properties of all classes, e.g. members, annotations,
+     *         accesses and dependencies. If two imports of the same classes yield different fingerprints, the imports differ.
+     */
+    static Set<String> fingerprintOf(JavaClasses classes) {
+        return classes.stream()
+                .flatMap(javaClass -> Stream.of(
+                                Stream.of(javaClass.getFullName() + " " + javaClass.getModifiers() + " " + javaClass.getSource()),
+                                javaClass.getMembers().stream().map(JavaMember::getDescription),
+                                javaClass.getAnnotations().stream().map(JavaAnnotation::getDescription),
+                                javaClass.getAccessesFromSelf().stream().map(JavaAccess::getDescription),
+                                javaClass.getDirectDependenciesFromSelf().stream().map(Dependency::getDescription),
+                                javaClass.getDirectDependenciesToSelf().stream().map(Dependency::getDescription))
+                        .flatMap(identity()))
+                .collect(toSet());
+    }
+
     static JarFile jarFileOf(Class<?> clazzInJar) throws IOException {
         URLConnection connection = urlOf(clazzInJar).openConnection();
         checkArgument(connection instanceof JarURLConnection, "Class %s is not contained in a JAR", clazzInJar.getName());
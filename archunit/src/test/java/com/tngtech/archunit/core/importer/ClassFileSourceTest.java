@@ -5,12 +5,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.jar.JarFile;
 
 import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.core.importer.testexamples.SomeClass;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -22,6 +25,9 @@ import org.junit.runner.RunWith;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.tngtech.archunit.core.domain.SourceTest.bytesAt;
+import static com.tngtech.archunit.core.importer.ImportOption.Predefined.DO_NOT_INCLUDE_TESTS;
+import static com.tngtech.archunit.testutil.TestUtils.urlOf;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -134,6 +140,59 @@ public class ClassFileSourceTest {
         checkAllElementsCanBeRead(classFileSource);
     }
 
+    @Test
+    public void reads_complete_content_of_class_files_in_JAR() throws IOException {
+        String entry = SomeClass.class.getName().replace('.', '/') + ".class";
+        JarFile jarFile = new TestJarFile()
+                .withEntry(entry)
+                .create();
+
+        ClassFileSource classFileSource = new ClassFileSource.FromJar(jarUrlOf(jarFile), "", new ImportOptions());
+
+        assertThat(getOnlyElement(classFileSource).readContent()).isEqualTo(bytesAt(urlOf(SomeClass.class)));
+    }
+
+    @Test
+    public void reads_complete_content_of_class_files_from_file_path() throws IOException {
+        File file = new File(tempDir.newFolder(), "Some.class");
+        Files.write(file.toPath(), bytesAt(urlOf(SomeClass.class)));
+
+        ClassFileSource classFileSource = new ClassFileSource.FromFilePath(file.toPath(), new ImportOptions());
+
+        assertThat(getOnlyElement(classFileSource).readContent()).isEqualTo(bytesAt(urlOf(SomeClass.class)));
+    }
+
+    @Test
+    public void does_not_walk_directories_that_cannot_contain_included_class_files() throws IOException {
+        File root = tempDir.newFolder();
+        File mainClass = writeClassFile(new File(root, "build/classes/java/main/Some.class"));
+        writeClassFile(new File(root, "build/classes/java/test/SomeTest.class"));
+        Set<String> evaluatedLocations = new HashSet<>();
+        ImportOption recordingDoNotIncludeTests = new ImportOption() {
+            @Override
+            public boolean includes(Location location) {
+                evaluatedLocations.add(location.asURI().toString());
+                return DO_NOT_INCLUDE_TESTS.includes(location);
+            }
+
+            @Override
+            public boolean mayIncludeLocationsBeneath(Location directory) {
+                return DO_NOT_INCLUDE_TESTS.mayIncludeLocationsBeneath(directory);
+            }
+        };
+
+        ClassFileSource classFileSource = new ClassFileSource.FromFilePath(root.toPath(), new ImportOptions().with(recordingDoNotIncludeTests));
+
+        assertThat(getOnlyElement(classFileSource).getUri()).isEqualTo(mainClass.toPath().toUri());
+        assertThat(evaluatedLocations).containsOnly(mainClass.toURI().toString());
+    }
+
+    private File writeClassFile(File file) throws IOException {
+        checkState(file.getParentFile().mkdirs());
+        Files.write(file.toPath(), bytesAt(urlOf(SomeClass.class)));
+        return file;
+    }
+
     @SuppressWarnings("EmptyTryBlock")
     private void checkAllElementsCanBeRead(ClassFileSource classFileSource) {
         for (ClassFileLocation location : classFileSource) {
@@ -126,6 +126,32 @@ public class ImportOptionsTest {
                 .as("includes location %s", targetFile.getAbsolutePath()).isEqualTo(expectedInclude);
     }
 
+    @DataProvider
+    public static Object[][] do_not_include_tests_and_expected_folder_patterns() {
+        List<Object[]> includeMainFolderInput = new ArrayList<>();
+        for (FolderPattern folderPattern : getFolderPatterns()) {
+            includeMainFolderInput.add($(folderPattern.folders, folderPattern.isMainFolder));
+        }
+        return crossProduct(do_not_include_tests(), includeMainFolderInput.toArray(new Object[0][]));
+    }
+
+    @Test
+    @UseDataProvider("do_not_include_tests_and_expected_folder_patterns")
+    public void skips_test_output_folders(ImportOption doNotIncludeTests, String[] folderName, boolean expectedMayInclude) throws IOException {
+        File folder = temporaryFolder.newFolder(folderName);
+
+        assertThat(doNotIncludeTests.mayIncludeLocationsBeneath(Location.of(folder.toPath())))
+                .as("may include locations beneath %s", folder.getAbsolutePath()).isEqualTo(expectedMayInclude);
+    }
+
+    @Test
+    @UseDataProvider("only_include_tests")
+    public void never_skips_folders_if_only_tests_are_included(ImportOption onlyIncludeTests) throws IOException {
+        File folder = temporaryFolder.newFolder("build", "classes", "java", "main");
+
+        assertThat(onlyIncludeTests.mayIncludeLocationsBeneath(Location.of(folder.toPath()))).isTrue();
+    }
+
     @DataProvider
     public static Object[][] data_excludes_test_fixtures() {
         return testForEach(new DoNotIncludeGradleTestFixtures(), DO_NOT_INCLUDE_TEST_FIXTURES);
@@ -143,6 +169,11 @@ public class ImportOptionsTest {
                 .as("excludes test fixture from file path").isFalse();
         assertThat(doNotIncludeTestFixtures.includes(Location.of(URI.create("jar:file:///any/build/libs/some-test-test-fixtures.jar!/com/SomeFixture"))))
                 .as("excludes test fixture from JAR path").isFalse();
+
+        assertThat(doNotIncludeTestFixtures.mayIncludeLocationsBeneath(Location.of(URI.create("file:///any/build/classes/java/test/"))))
+                .as("may include locations beneath test folder").isTrue();
+        assertThat(doNotIncludeTestFixtures.mayIncludeLocationsBeneath(Location.of(URI.create("file:///any/build/classes/java/testFixtures/"))))
+                .as("may include locations beneath test fixtures folder").isFalse();
     }
 
     @DataProvider
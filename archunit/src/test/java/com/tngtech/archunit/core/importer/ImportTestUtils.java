@@ -445,5 +445,15 @@ public class ImportTestUtils {
         public JavaClass resolveClass(String fullyQualifiedClassName) {
             throw new UnsupportedOperationException("Override me where necessary");
         }
+
+        @Override
+        public boolean isCodeImported() {
+            return true;
+        }
+
+        @Override
+        public boolean areInstanceofChecksImported() {
+            return true;
+        }
     }
 }
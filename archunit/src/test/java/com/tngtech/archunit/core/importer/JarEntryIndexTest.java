@@ -0,0 +1,58 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JarEntryIndexTest {
+    private final JarFile jarFile = new TestJarFile()
+            .withEntry("com/foo/A.class")
+            .withEntry("com/foo/bar/B.class")
+            .withEntry("com/foo-bar/C.class")
+            .withEntry("com/foobar/D.class")
+            .withEntry("com/foo/resource.txt")
+            .create();
+
+    @Test
+    public void finds_class_entries_starting_with_prefix() throws IOException {
+        JarEntryIndex index = indexOf(jarFile);
+
+        assertThat(index.getClassEntriesStartingWith("com/foo/")).extracting(JarEntry::getName)
+                .containsExactly("com/foo/A.class", "com/foo/bar/B.class");
+        assertThat(index.getClassEntriesStartingWith("com/foo")).extracting(JarEntry::getName)
+                .containsExactly("com/foo-bar/C.class", "com/foo/A.class", "com/foo/bar/B.class", "com/foobar/D.class");
+        assertThat(index.getClassEntriesStartingWith("com/foo/A.class")).extracting(JarEntry::getName)
+                .containsExactly("com/foo/A.class");
+        assertThat(index.getClassEntriesStartingWith("")).hasSize(4);
+        assertThat(index.getClassEntriesStartingWith("org/")).isEmpty();
+    }
+
+    @Test
+    public void finds_class_entries_equal_to_or_beneath_resource_name() throws IOException {
+        JarEntryIndex index = indexOf(jarFile);
+
+        assertThat(index.containsClassEntry(NormalizedResourceName.from(""))).isTrue();
+        assertThat(index.containsClassEntry(NormalizedResourceName.from("com/foo"))).isTrue();
+        assertThat(index.containsClassEntry(NormalizedResourceName.from("com/foo/bar"))).isTrue();
+        assertThat(index.containsClassEntry(NormalizedResourceName.from("com/foo/A.class"))).isTrue();
+        assertThat(index.containsClassEntry(NormalizedResourceName.from("com/fo"))).isFalse();
+        assertThat(index.containsClassEntry(NormalizedResourceName.from("com/foo/baz"))).isFalse();
+    }
+
+    @Test
+    public void reuses_index_of_unchanged_JAR_file() throws IOException {
+        assertThat(indexOf(jarFile)).isSameAs(indexOf(jarFile));
+    }
+
+    private JarEntryIndex indexOf(JarFile jarFile) throws IOException {
+        URL jarUrl = new URL("jar:" + Paths.get(jarFile.getName()).toUri().toURL() + "!/");
+        return JarEntryIndex.of((JarURLConnection) jarUrl.openConnection());
+    }
+}
@@ -0,0 +1,96 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Iterator;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.importer.PrefetchingClassFileSource.PREFETCH_PROPERTY_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrefetchingClassFileSourceTest {
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+
+    @Before
+    public void setUp() {
+        ArchConfiguration.get().setProperty(PREFETCH_PROPERTY_NAME, "2");
+    }
+
+    @Test
+    public void passes_errors_of_the_scanner_thread_on_to_the_consumer() {
+        ClassFileSource failingSource = () -> new EndlessIterator(3, new NoClassDefFoundError("scanning failed"));
+
+        try (PrefetchingClassFileSource source = PrefetchingClassFileSource.fromConfiguration(failingSource)) {
+            Iterator<ClassFileLocation> iterator = source.iterator();
+            for (int i = 0; i < 3; i++) {
+                iterator.next();
+            }
+
+            assertThatThrownBy(iterator::next).isInstanceOf(NoClassDefFoundError.class).hasMessage("scanning failed");
+        }
+    }
+
+    @Test
+    public void stops_the_scanner_thread_if_closed_before_all_class_files_were_consumed() throws InterruptedException {
+        PrefetchingClassFileSource source = PrefetchingClassFileSource.fromConfiguration(() -> new EndlessIterator(Integer.MAX_VALUE, null));
+        source.iterator().next();
+        assertThat(numberOfScannerThreads()).as("running scanner threads").isEqualTo(1);
+
+        source.close();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (numberOfScannerThreads() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(numberOfScannerThreads()).as("running scanner threads").isZero();
+    }
+
+    private static long numberOfScannerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("archunit-class-file-prefetch"))
+                .count();
+    }
+
+    private static class EndlessIterator implements Iterator<ClassFileLocation> {
+        private final int numberOfClassFiles;
+        private final Error failure;
+        private int next = 0;
+
+        EndlessIterator(int numberOfClassFiles, Error failure) {
+            this.numberOfClassFiles = numberOfClassFiles;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public ClassFileLocation next() {
+            if (next == numberOfClassFiles) {
+                throw failure;
+            }
+            URI uri = URI.create("file:/some/path/SomeClass" + next++ + ".class");
+            return new ClassFileLocation() {
+                @Override
+                public InputStream openStream() {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+
+                @Override
+                public URI getUri() {
+                    return uri;
+                }
+            };
+        }
+    }
+}
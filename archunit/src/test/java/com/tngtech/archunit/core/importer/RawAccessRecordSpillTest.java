@@ -0,0 +1,104 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.GET;
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.SET;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RawAccessRecordSpillTest {
+    private final CodeUnit someOrigin = new CodeUnit("someMethod", "(Ljava/lang/String;I)V", "com.example.SomeClass");
+    private final CodeUnit otherOrigin = new CodeUnit("<init>", "()V", "com.example.OtherClass");
+
+    @Test
+    public void reads_back_spilled_method_calls_in_order_of_addition() {
+        List<RawAccessRecord> added = new ArrayList<>();
+        added.add(methodCall(someOrigin, new TargetInfo("com/example/Target", "call", "()V"), 12, false));
+        added.add(methodCall(someOrigin, new TargetInfo("[Ljava/lang/String;", "clone", "()Ljava/lang/Object;"), -1, true));
+        added.add(methodCall(otherOrigin, new TargetInfo("com/example/Target", "call", "()V"), 100_000, false));
+        added.add(methodCall(someOrigin, new TargetInfo("com/example/Target$Inner", "call", "(I)V"), 13, false));
+
+        try (RawAccessRecordSpill<RawAccessRecord> spill = new RawAccessRecordSpill<>("method-calls")) {
+            added.forEach(spill::add);
+
+            List<RawAccessRecord> readBack = readBack(spill);
+
+            assertThat(spill.size()).isEqualTo(added.size());
+            assertThat(readBack).hasSameSizeAs(added);
+            for (int i = 0; i < added.size(); i++) {
+                assertSameContent(readBack.get(i), added.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void reads_back_spilled_field_accesses_with_access_type() {
+        try (RawAccessRecordSpill<RawAccessRecord.ForField> spill = new RawAccessRecordSpill<>("field-accesses")) {
+            spill.add(fieldAccess(someOrigin, SET));
+            spill.add(fieldAccess(someOrigin, GET));
+
+            List<RawAccessRecord.ForField> readBack = readBack(spill);
+
+            assertThat(readBack.stream().map(record -> record.accessType).collect(toList())).containsExactly(SET, GET);
+        }
+    }
+
+    @Test
+    public void shares_the_origin_of_consecutive_records() {
+        try (RawAccessRecordSpill<RawAccessRecord> spill = new RawAccessRecordSpill<>("method-calls")) {
+            spill.add(methodCall(someOrigin, new TargetInfo("com/example/Target", "first", "()V"), 1, false));
+            spill.add(methodCall(someOrigin, new TargetInfo("com/example/Target", "second", "()V"), 2, false));
+
+            List<RawAccessRecord> readBack = readBack(spill);
+
+            assertThat(readBack.get(1).getOrigin()).isSameAs(readBack.get(0).getOrigin());
+        }
+    }
+
+    @Test
+    public void reads_back_nothing_if_nothing_was_spilled() {
+        try (RawAccessRecordSpill<RawAccessRecord> spill = new RawAccessRecordSpill<>("method-calls")) {
+            assertThat(readBack(spill)).isEmpty();
+        }
+    }
+
+    private static <RECORD extends RawAccessRecord> List<RECORD> readBack(RawAccessRecordSpill<RECORD> spill) {
+        List<RECORD> result = new ArrayList<>();
+        spill.forEach(result::add);
+        return result;
+    }
+
+    private static void assertSameContent(RawAccessRecord actual, RawAccessRecord expected) {
+        assertThat(actual).isNotSameAs(expected);
+        assertThat(actual.getOrigin()).isEqualTo(expected.getOrigin());
+        assertThat(actual.getTarget()).isEqualTo(expected.getTarget());
+        assertThat(actual.getTarget().hashCode()).isEqualTo(expected.getTarget().hashCode());
+        assertThat(actual.getLineNumber()).isEqualTo(expected.getLineNumber());
+        assertThat(actual.isDeclaredInLambda()).isEqualTo(expected.isDeclaredInLambda());
+    }
+
+    private static RawAccessRecord methodCall(CodeUnit origin, TargetInfo target, int lineNumber, boolean declaredInLambda) {
+        return new RawAccessRecord.Builder()
+                .withOrigin(origin)
+                .withTarget(target)
+                .withLineNumber(lineNumber)
+                .withDeclaredInLambda(declaredInLambda)
+                .build();
+    }
+
+    private static RawAccessRecord.ForField fieldAccess(CodeUnit origin, AccessType accessType) {
+        return new RawAccessRecord.ForField.Builder()
+                .withOrigin(origin)
+                .withTarget(new TargetInfo("com/example/Target", "field", "I"))
+                .withAccessType(accessType)
+                .withLineNumber(7)
+                .build();
+    }
+}
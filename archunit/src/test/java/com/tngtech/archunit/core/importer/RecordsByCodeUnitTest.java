@@ -0,0 +1,50 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.List;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.importer.testexamples.SomeClass;
+import org.junit.Test;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RecordsByCodeUnitTest {
+
+    @Test
+    public void groups_records_by_code_unit_in_order_of_addition() {
+        List<JavaCodeUnit> codeUnits = copyOf(new ClassFileImporter().importClass(SomeClass.class).getCodeUnits());
+        JavaCodeUnit first = codeUnits.get(0);
+        JavaCodeUnit second = codeUnits.get(1);
+
+        RecordsByCodeUnit<String> records = new RecordsByCodeUnit<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(i % 2 == 0 ? first : second, "record" + i);
+        }
+
+        assertThat(records.get(first)).hasSize(50).startsWith("record0", "record2", "record4").endsWith("record98");
+        assertThat(records.get(second)).hasSize(50).startsWith("record1", "record3", "record5").endsWith("record99");
+        assertThat(records.get(codeUnits.get(2))).isEmpty();
+    }
+
+    @Test
+    public void returns_no_records_if_none_were_added() {
+        JavaClass javaClass = new ClassFileImporter().importClass(SomeClass.class);
+
+        assertThat(new RecordsByCodeUnit<String>().get(javaClass.getCodeUnits().iterator().next())).isEmpty();
+    }
+
+    @Test
+    public void rejects_records_added_after_records_have_been_queried() {
+        JavaCodeUnit codeUnit = new ClassFileImporter().importClass(SomeClass.class).getCodeUnits().iterator().next();
+        RecordsByCodeUnit<String> records = new RecordsByCodeUnit<>();
+        records.add(codeUnit, "record");
+        records.get(codeUnit);
+
+        assertThatThrownBy(() -> records.add(codeUnit, "other"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("queried");
+    }
+}
@@ -4,11 +4,17 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import com.tngtech.archunit.testutil.TestUtils;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -20,12 +26,15 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static com.tngtech.archunit.core.domain.TestUtils.importClassWithContext;
 import static com.tngtech.archunit.testutil.Assertions.assertThat;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -35,6 +44,9 @@ public class ClassResolverFromClassPathTest {
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+
     @Mock
     private ClassUriImporter uriImporter;
 
@@ -63,6 +75,35 @@ public class ClassResolverFromClassPathTest {
         verifyNoMoreInteractions(uriImporter);
     }
 
+    @Test
+    public void resolves_all_types_concurrently_via_the_executor_of_the_import() {
+        JavaClass expectedObject = importClassWithContext(Object.class);
+        JavaClass expectedString = importClassWithContext(String.class);
+        Set<Thread> importingThreads = newConcurrentHashSet();
+        when(uriImporter.tryImport(TestUtils.uriOf(Object.class))).thenAnswer(recordThread(importingThreads, expectedObject));
+        when(uriImporter.tryImport(TestUtils.uriOf(String.class))).thenAnswer(recordThread(importingThreads, expectedString));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            resolver.setExecutor(executor);
+
+            Map<String, JavaClass> result = resolver.tryResolveAll(ImmutableList.of(Object.class.getName(), String.class.getName(), "sooo.Wrong"));
+
+            assertThat(result).containsOnly(
+                    entry(Object.class.getName(), expectedObject),
+                    entry(String.class.getName(), expectedString));
+            assertThat(importingThreads).doesNotContain(Thread.currentThread());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Answer<Optional<JavaClass>> recordThread(Set<Thread> threads, JavaClass result) {
+        return invocation -> {
+            threads.add(Thread.currentThread());
+            return Optional.of(result);
+        };
+    }
+
     @DataProvider
     public static Object[][] urls_with_spaces() throws MalformedURLException, URISyntaxException {
         return $$(
@@ -1798,6 +1798,62 @@ public class ShouldClassesThatTest {
                 ));
     }
 
+    private static class TransitivelyDependOnClassesThatCyclicTestCases {
+        @SuppressWarnings("unused")
+        static class TestClassDependingOnCycleClass1 {
+            CycleClass1 cycleClass1;
+        }
+
+        @SuppressWarnings("unused")
+        static class TestClassDependingOnCycleClass2 {
+            CycleClass2 cycleClass2;
+        }
+
+        @SuppressWarnings("unused")
+        static class CycleClass1 {
+            CycleClass2 cycleClass2;
+        }
+
+        @SuppressWarnings("unused")
+        static class CycleClass2 {
+            CycleClass1 cycleClass1;
+            MatchingClass matchingClass;
+        }
+
+        static class MatchingClass {
+        }
+    }
+
+    @Test
+    public void transitivelyDependOnClassesThat_reports_transitive_dependencies_via_cycles_for_every_entry_into_the_cycle() {
+        Class<?> testClass1 = TransitivelyDependOnClassesThatCyclicTestCases.TestClassDependingOnCycleClass1.class;
+        Class<?> testClass2 = TransitivelyDependOnClassesThatCyclicTestCases.TestClassDependingOnCycleClass2.class;
+        Class<?> cycleClass1 = TransitivelyDependOnClassesThatCyclicTestCases.CycleClass1.class;
+        Class<?> cycleClass2 = TransitivelyDependOnClassesThatCyclicTestCases.CycleClass2.class;
+        Class<?> matchingClass = TransitivelyDependOnClassesThatCyclicTestCases.MatchingClass.class;
+
+        JavaClasses classes = new ClassFileImporter().importClasses(testClass1, testClass2, cycleClass1, cycleClass2, matchingClass);
+
+        ArchRule rule = noClasses().that().haveSimpleNameStartingWith("TestClass")
+                .should().transitivelyDependOnClassesThat().belongToAnyOf(matchingClass);
+
+        assertThatRule(rule).checking(classes)
+                .hasNumberOfViolations(2)
+                .hasViolationMatching(String.format(".*<%s> transitively depends on <%s> by \\[%s->%s->%s\\] in .*",
+                        quote(testClass1.getName()),
+                        quote(matchingClass.getName()),
+                        quote(cycleClass1.getName()),
+                        quote(cycleClass2.getName()),
+                        quote(matchingClass.getName())
+                ))
+                .hasViolationMatching(String.format(".*<%s> transitively depends on <%s> by \\[%s->%s\\] in .*",
+                        quote(testClass2.getName()),
+                        quote(matchingClass.getName()),
+                        quote(cycleClass2.getName()),
+                        quote(matchingClass.getName())
+                ));
+    }
+
     private static DescribedPredicate<HasName> classWithNameOf(Class<?> type) {
         return GET_NAME.is(equalTo(type.getName()));
     }